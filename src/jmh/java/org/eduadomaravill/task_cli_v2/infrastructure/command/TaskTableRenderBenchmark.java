@@ -0,0 +1,81 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.command;
+
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.domain.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per row of a task list: the {@link TaskTableRenderer} appending into a reused buffer against the
+ * {@code String.format} and {@link DateTimeFormatter} code it replaced. Run with {@code -prof gc}; its
+ * {@code gc.alloc.rate.norm} is the number of bytes allocated per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(TaskTableRenderBenchmark.ROWS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskTableRenderBenchmark {
+
+    static final int ROWS = 1_000;
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("MM/dd/yyyy hh:mm:ss a");
+
+    private final TaskTableRenderer renderer = new TaskTableRenderer();
+    private final StringBuilder buffer = new StringBuilder(ROWS * 128);
+    private List<Task> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime created = LocalDateTime.of(2025, 3, 14, 9, 26, 53);
+        tasks = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            tasks.add(new Task(10_000L + i, "Review the quarterly report for team " + i, StatusTask.values()[i % 3],
+                    created.plusMinutes(i), created.plusHours(i), i));
+        }
+    }
+
+    @Benchmark
+    public int renderer() {
+        buffer.setLength(0);
+        int count = 1;
+        for (Task task : tasks) {
+            renderer.appendListRow(buffer, count++, task);
+            buffer.append('\n');
+        }
+        return buffer.length();
+    }
+
+    @Benchmark
+    public void stringFormat(Blackhole blackhole) {
+        int count = 1;
+        for (Task task : tasks) {
+            blackhole.consume(String.format("|| %-3s | %-5d | %-25s | %-12s | %-30s | %-30s ||",
+                    count++,
+                    task.getIdTask(),
+                    task.getDescriptionTask().substring(0, Math.min(25, task.getDescriptionTask().length())),
+                    task.getStatusTask().getLabel(),
+                    task.getCreatedAt().format(FORMATTER),
+                    task.getUpdatedAt().format(FORMATTER)));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.metrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the operation metrics: recording one latency in a {@link LatencyHistogram}, alone and from
+ * four threads at once, and timing an empty operation with {@link TaskMetrics} enabled and disabled.
+ * {@link #nanoTime()} is the cost of reading the clock that every timed operation pays twice; it is also
+ * included in {@link #recordContended()}, which takes its values from the clock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LatencyHistogramBenchmark {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final TaskMetrics enabledMetrics = new TaskMetrics(true);
+    private final TaskMetrics disabledMetrics = new TaskMetrics(false);
+    private long latency = 1_000;
+
+    @Benchmark
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Benchmark
+    public void record() {
+        latency = latency * 31 % 10_000_000 + 1;
+        histogram.record(latency);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        histogram.record(System.nanoTime() & 0xFFFFF);
+    }
+
+    @Benchmark
+    public Long timeEnabled() {
+        return enabledMetrics.time(TaskOperation.GET, () -> latency);
+    }
+
+    @Benchmark
+    public Long timeDisabled() {
+        return disabledMetrics.time(TaskOperation.GET, () -> latency);
+    }
+}
@@ -0,0 +1,70 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one persisted update at each durability level, with the snapshot rewritten on every write and
+ * with the journal. The store lives in the default temporary directory, so run it on the device whose
+ * flush latency matters, for example with {@code -Djava.io.tmpdir=/data/tmp}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DurabilityBenchmark {
+
+    @Param({"none", "flush", "fsync"})
+    String durability;
+
+    @Param({"false", "true"})
+    boolean journal;
+
+    @Param({"10000"})
+    int taskCount;
+
+    private Path directory;
+    private PersistenceTaskRepository repository;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("durability-benchmark");
+        repository = TestTaskStores.fileRepository(directory, "durability=" + durability, "journal.enabled=" + journal);
+        repository.createTasks(TestTaskStores.newTasks(taskCount, "Task"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        TestTaskStores.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Optional<TaskEntity> updateStatus() {
+        nextId = nextId % taskCount + 1;
+        StatusTask status = nextId % 2 == 0 ? StatusTask.DONE : StatusTask.IN_PROGRESS;
+        return repository.updateTaskByStatus(nextId, status);
+    }
+}
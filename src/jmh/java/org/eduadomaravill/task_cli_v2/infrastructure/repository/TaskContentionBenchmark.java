@@ -0,0 +1,148 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.application.port.output.ITaskRepositoryPort;
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.domain.model.Task;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput of parallel callers in one process: status updates of different tasks, each thread working on
+ * its own IDs, and lookups by ID. Run {@link #main(String[])} to sweep the thread count from 1 to the number
+ * of processors, or to the count given as the only argument, and print the scaling of each benchmark.
+ * Updates are expected to scale only on the mapped engine; the file engine serializes its writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskContentionBenchmark {
+
+    private static final int TASKS_PER_THREAD = 1_000;
+    private static final int MAX_THREADS = 64;
+
+    @Param({"file", "mapped"})
+    String engine;
+
+    private final AtomicInteger threads = new AtomicInteger();
+    private Path directory;
+    private AutoCloseable repository;
+    private ITaskRepositoryPort port;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("contention-benchmark");
+        List<String> descriptions = Collections.nCopies(TASKS_PER_THREAD * MAX_THREADS, "Task");
+        if ("mapped".equals(engine)) {
+            MappedTaskRepository mappedRepository = TestTaskStores.mappedRepository(directory);
+            repository = mappedRepository::close;
+            port = new MappedTaskRepositoryPortAdapter(mappedRepository, new TaskMetrics(true));
+        } else {
+            PersistenceTaskRepository fileRepository = TestTaskStores.fileRepository(directory, "journal.enabled=true", "durability=none");
+            repository = fileRepository::close;
+            port = new TaskRepositoryPortAdapter(fileRepository, new TaskMetrics(true));
+        }
+        port.createTasks(descriptions);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        repository.close();
+        TestTaskStores.deleteRecursively(directory);
+    }
+
+    /**
+     * The IDs of one benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class ThreadIds {
+
+        private long firstId;
+        private long offset;
+
+        @Setup(Level.Trial)
+        public void setUp(TaskContentionBenchmark benchmark) {
+            firstId = (long) (benchmark.threads.getAndIncrement() % MAX_THREADS) * TASKS_PER_THREAD + 1;
+        }
+
+        long next() {
+            offset = (offset + 1) % TASKS_PER_THREAD;
+            return firstId + offset;
+        }
+    }
+
+    @Benchmark
+    public Optional<Task> updateStatus(ThreadIds ids) {
+        long idTask = ids.next();
+        return port.updateTaskByStatus(idTask, idTask % 2 == 0 ? StatusTask.DONE : StatusTask.IN_PROGRESS);
+    }
+
+    @Benchmark
+    public Optional<Task> getById(ThreadIds ids) {
+        return port.getTaskById(ids.next());
+    }
+
+    /**
+     * Runs the benchmarks with 1, 2, 4, ... threads up to the number of processors and prints each score
+     * relative to the single-threaded one.
+     *
+     * @param args Optionally, the highest thread count.
+     * @throws RunnerException If a benchmark failed.
+     */
+    public static void main(String[] args) throws RunnerException {
+        int maxThreads = Math.min(args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors(), MAX_THREADS);
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int count = 1; count < maxThreads; count *= 2) {
+            threadCounts.add(count);
+        }
+        threadCounts.add(maxThreads);
+        List<String> lines = new ArrayList<>();
+        Map<String, Double> singleThreaded = new HashMap<>();
+        for (int count : threadCounts) {
+            for (RunResult result : new Runner(new OptionsBuilder()
+                    .include(TaskContentionBenchmark.class.getSimpleName())
+                    .threads(count)
+                    .build()).run()) {
+                String benchmark = result.getParams().getBenchmark();
+                String name = benchmark.substring(benchmark.lastIndexOf('.') + 1) + " " + result.getParams().getParam("engine");
+                double score = result.getPrimaryResult().getScore();
+                double base = singleThreaded.computeIfAbsent(name, key -> score);
+                lines.add(String.format(Locale.ROOT, "%-20s %3d threads %12.1f %s  x%.2f", name, count, score,
+                        result.getPrimaryResult().getScoreUnit(), score / base));
+            }
+        }
+        lines.sort(null);
+        lines.forEach(System.out::println);
+    }
+}
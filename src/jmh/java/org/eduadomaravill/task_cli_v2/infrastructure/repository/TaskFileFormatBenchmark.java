@@ -0,0 +1,84 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load time of the JSON and binary snapshot formats: decoding the snapshot file alone and opening a store
+ * up to its first read. The size of each snapshot file is printed when the trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskFileFormatBenchmark {
+
+    @Param({"json", "binary"})
+    String format;
+
+    @Param({"100000"})
+    int taskCount;
+
+    private Path directory;
+    private Path snapshotFile;
+    private TaskFileFormat fileFormat;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("format-benchmark");
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, "format=" + format);
+        List<TaskEntity> tasks = TestTaskStores.newTasks(taskCount, "Review the quarterly report for team");
+        repository.createTasks(tasks);
+        repository.close();
+        fileFormat = "binary".equals(format) ? new BinaryTaskFileFormat() : new JsonTaskFileFormat(TestTaskStores.objectMapper());
+        snapshotFile = TestTaskStores.dataDirectory(directory).resolve(fileFormat.fileName());
+        System.out.printf(Locale.ROOT, "%n%s: %d tasks in %,d bytes (%.1f bytes per task)%n", snapshotFile.getFileName(), taskCount,
+                Files.size(snapshotFile), (double) Files.size(snapshotFile) / taskCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        TestTaskStores.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(snapshotFile))) {
+            fileFormat.read(inputStream, blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public int openAndLoad() {
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, "format=" + format);
+        try {
+            return repository.getAllTasks().size();
+        } finally {
+            repository.close();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.domain.model.Task;
+import org.eduadomaravill.task_cli_v2.infrastructure.command.TaskImportReader;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@code import} command for a file of one million lines: reading the descriptions and
+ * creating the tasks with a single persisted write into an empty store. Scores are per imported line, so
+ * the reciprocal is the number of lines imported per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(TaskImportBenchmark.LINES)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskImportBenchmark {
+
+    static final int LINES = 1_000_000;
+
+    @Param({"json", "binary"})
+    String format;
+
+    @Param({"false", "true"})
+    boolean journal;
+
+    private Path importFile;
+    private Path directory;
+    private TaskImportReader importReader;
+
+    @Setup(Level.Trial)
+    public void writeImportFile() throws IOException {
+        importFile = Files.createTempFile("tasks-import", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(importFile)) {
+            for (int i = 0; i < LINES; i++) {
+                writer.write("Imported task number ");
+                writer.write(Integer.toString(i));
+                writer.newLine();
+            }
+        }
+        importReader = new TaskImportReader(TestTaskStores.objectMapper());
+    }
+
+    @Setup(Level.Invocation)
+    public void createStore() throws IOException {
+        directory = Files.createTempDirectory("import-benchmark");
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteStore() throws IOException {
+        TestTaskStores.deleteRecursively(directory);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteImportFile() throws IOException {
+        Files.deleteIfExists(importFile);
+    }
+
+    @Benchmark
+    public List<Task> importLines() throws IOException {
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, "format=" + format, "journal.enabled=" + journal);
+        try {
+            List<String> descriptions = importReader.readDescriptions(importFile);
+            return new TaskRepositoryPortAdapter(repository, new TaskMetrics(true)).createTasks(descriptions);
+        } finally {
+            repository.close();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load time of a large store across decoding thread counts, from opening the store to its first read.
+ * {@code loadThreads=1} is the sequential load; pass the core counts of the machine with, for example,
+ * {@code -p loadThreads=1,2,4,8,16}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskParallelLoadBenchmark {
+
+    @Param({"json", "binary"})
+    String format;
+
+    @Param({"single", "segmented"})
+    String layout;
+
+    @Param({"1", "2", "4", "8"})
+    int loadThreads;
+
+    @Param({"1000000"})
+    int taskCount;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("parallel-load-benchmark");
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, "format=" + format, "layout=" + layout);
+        repository.createTasks(TestTaskStores.newTasks(taskCount, "Review the quarterly report for team"));
+        repository.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        TestTaskStores.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public int openAndLoad() {
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, "format=" + format, "layout=" + layout,
+                "load.threads=" + loadThreads, "load.parallel-threshold-bytes=0");
+        try {
+            return repository.getAllTasks().size();
+        } finally {
+            repository.close();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up a task by ID in the in-memory store and, for comparison, the way every lookup worked before it:
+ * parse the whole {@code tasks_cli.json} and scan it for the ID. {@link #coldGet()} measures a fresh
+ * process, which opens and loads the store before its first lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskReadBenchmark {
+
+    @Param({"10000", "100000"})
+    int taskCount;
+
+    private Path directory;
+    private Path snapshotFile;
+    private ObjectMapper objectMapper;
+    private PersistenceTaskRepository repository;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("task-read-benchmark");
+        repository = TestTaskStores.fileRepository(directory);
+        repository.createTasks(TestTaskStores.newTasks(taskCount, "Task"));
+        snapshotFile = TestTaskStores.dataDirectory(directory).resolve(JsonTaskFileFormat.FILE_NAME);
+        objectMapper = TestTaskStores.objectMapper();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        TestTaskStores.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Optional<TaskEntity> inMemoryGet() {
+        return repository.getTaskById(nextId());
+    }
+
+    @Benchmark
+    public Optional<TaskEntity> reparseGet() throws IOException {
+        long idTask = nextId();
+        List<TaskEntity> tasks = objectMapper.readValue(snapshotFile.toFile(), new TypeReference<>() {
+        });
+        return tasks.stream().filter(task -> task.getIdTaskEntity() == idTask).findFirst();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    public Optional<TaskEntity> coldGet() {
+        PersistenceTaskRepository coldRepository = TestTaskStores.fileRepository(directory);
+        try {
+            return coldRepository.getTaskById(nextId());
+        } finally {
+            coldRepository.close();
+        }
+    }
+
+    private long nextId() {
+        nextId = nextId % taskCount + 1;
+        return nextId;
+    }
+}
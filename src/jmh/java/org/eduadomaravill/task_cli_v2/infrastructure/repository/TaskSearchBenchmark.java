@@ -0,0 +1,156 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-text search through the {@link TaskSearchIndex} against a linear scan testing every description with
+ * {@link String#contains}. {@link #firstSearch()} opens the store and runs one search, which includes building
+ * the index after the load.
+ * <p>
+ * Descriptions mix common task words with a long tail of rarer words drawn with a Zipf-like skew, and end
+ * with a ticket number that occurs once, like real descriptions full of names and numbers. The queries
+ * cover one word, two words and one- and two-letter prefixes, which expand to thousands of tokens. The setup
+ * prints the heap the index retains, measured after a full collection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSearchBenchmark {
+
+    private static final String[] COMMON_WORDS = {
+            "fix", "update", "review", "report", "customer", "invoice", "meeting", "deploy", "release", "call",
+            "email", "order", "payment", "server", "test", "docs", "plan", "design", "refactor", "migrate"};
+    private static final String[] SYLLABLES = {
+            "ka", "to", "ri", "mo", "ne", "sa", "lu", "pe", "di", "ga", "fo", "ve", "bi", "zu", "ha", "je"};
+    private static final int VOCABULARY = 200_000;
+    private static final int WORDS_PER_TASK = 6;
+    private static final int LIMIT = 20;
+
+    @Param({"100000", "1000000"})
+    int taskCount;
+
+    @Param({"report", "report customer", "r", "re"})
+    String query;
+
+    private Path directory;
+    private PersistenceTaskRepository repository;
+    private String[] terms;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("search-benchmark");
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskEntity> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            StringBuilder description = new StringBuilder();
+            for (int word = 0; word < WORDS_PER_TASK; word++) {
+                description.append(word(random)).append(' ');
+            }
+            description.append('#').append(100_000 + i);
+            tasks.add(new TaskEntity(null, description.toString(), StatusTask.NOT_STARTED.getStatus(), now, now, 0));
+        }
+        repository = TestTaskStores.fileRepository(directory);
+        repository.createTasks(tasks);
+        System.out.printf(Locale.ROOT, "%nSearch index of %d tasks: %.1f MB%n", taskCount, indexBytes(repository.getAllTasks()) / 1e6);
+        repository.searchTasks(query, LIMIT);
+        terms = query.toLowerCase(Locale.ROOT).split(" ");
+    }
+
+    /**
+     * Draws a word with a Zipf-like skew: the first words, the common ones, are by far the most frequent.
+     */
+    private static String word(Random random) {
+        int rank = (int) Math.pow(VOCABULARY, random.nextDouble()) - 1;
+        if (rank < COMMON_WORDS.length) {
+            return COMMON_WORDS[rank];
+        }
+        StringBuilder word = new StringBuilder();
+        for (int rest = rank; rest > 0; rest /= SYLLABLES.length) {
+            word.append(SYLLABLES[rest % SYLLABLES.length]);
+        }
+        return word.toString();
+    }
+
+    /**
+     * Measures the heap retained by an index over the tasks, built outside the repository.
+     */
+    private static long indexBytes(List<TaskEntity> tasks) {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        TaskSearchIndex index = new TaskSearchIndex();
+        tasks.forEach(index::add);
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        Reference.reachabilityFence(index);
+        return after - before;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        TestTaskStores.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public List<TaskEntity> indexedSearch() {
+        return repository.searchTasks(query, LIMIT);
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        repository.forEachTask(task -> {
+            String description = task.getDescriptionTaskEntity().toLowerCase(Locale.ROOT);
+            for (String term : terms) {
+                if (!description.contains(term)) {
+                    return false;
+                }
+            }
+            return true;
+        }, blackhole::consume);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    public List<TaskEntity> firstSearch() {
+        PersistenceTaskRepository coldRepository = TestTaskStores.fileRepository(directory);
+        try {
+            return coldRepository.searchTasks(query, LIMIT);
+        } finally {
+            coldRepository.close();
+        }
+    }
+}
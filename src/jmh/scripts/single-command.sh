@@ -0,0 +1,56 @@
+#!/usr/bin/env bash
+# Latency per invocation of single command mode: runs each command many times against a store of 1000 tasks
+# and prints, per command, the wall time from process start to exit and the time spent in the command itself,
+# as written to standard error with --task-cli.single-command.timing=true. Run it from the project directory
+# after mvn clean package -DskipTests; set TASK_CLI to time another launcher, such as TASK_CLI=target/TaskCli.
+# Usage: src/jmh/scripts/single-command.sh [runs]    default: 50 runs per command
+# Needs GNU date for nanosecond timestamps.
+set -eo pipefail
+
+runs=${1:-50}
+
+if [ -n "$TASK_CLI" ]; then
+    read -r -a launcher <<< "$TASK_CLI"
+else
+    jar=$(ls target/task-cli-v2-*.jar 2>/dev/null | grep -v '\.original$' | head -n 1 || true)
+    if [ -z "$jar" ]; then
+        echo "Build the application first: mvn clean package -DskipTests" >&2
+        exit 1
+    fi
+    launcher=(java -jar "$jar")
+fi
+
+work=$(mktemp -d)
+trap 'rm -rf "$work"' EXIT
+settings=(--task-cli.save.task.path="$work/store" --task-cli.single-command.timing=true)
+
+for ((task = 1; task <= 1000; task++)); do
+    echo "add \"Latency benchmark task $task\""
+done > "$work/seed.txt"
+"${launcher[@]}" --task-cli.save.task.path="$work/store" --batch="$work/seed.txt" > /dev/null
+
+# Prints the percentiles of the wall time and the mean time in the command over the runs.
+measure() {
+    local name=$1
+    shift
+    local wall=() command=()
+    for ((run = 0; run < runs; run++)); do
+        local start end
+        start=$(date +%s%N)
+        "${launcher[@]}" "${settings[@]}" "$@" > /dev/null 2> "$work/timing.txt"
+        end=$(date +%s%N)
+        wall+=($(((end - start) / 1000000)))
+        command+=("$(awk '/ ms since JVM start$/ { print $2 }' "$work/timing.txt")")
+    done
+    local sorted
+    sorted=($(printf '%s\n' "${wall[@]}" | sort -n))
+    printf '%-16s wall p50 %6d ms   p90 %6d ms   max %6d ms   in command mean %8s ms\n' "$name" \
+        "${sorted[runs / 2]}" "${sorted[runs * 9 / 10]}" "${sorted[runs - 1]}" \
+        "$(printf '%s\n' "${command[@]}" | awk '{ total += $1 } END { printf "%.3f", total / NR }')"
+}
+
+measure add add "Latency benchmark"
+measure get get 500
+measure "list --limit 10" list --limit 10
+measure mark-done mark-done 500
+measure search search "task 500"
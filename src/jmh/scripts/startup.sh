@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# Time to the first command of the JVM, class data sharing and native builds: the wall time of a single
+# command run against a one-task store, from process start to exit. Run it from the project directory
+# after building what should be compared:
+#   mvn clean package -DskipTests              JVM and class data sharing (add -Paot for Spring AOT)
+#   mvn -Pnative native:compile -DskipTests    native image target/TaskCli
+# Usage: src/jmh/scripts/startup.sh [runs] [command...]    default: 20 runs of "list --limit 1"
+# Needs GNU date for nanosecond timestamps.
+set -eo pipefail
+
+runs=${1:-20}
+shift || true
+command=("$@")
+if [ ${#command[@]} -eq 0 ]; then
+    command=(list --limit 1)
+fi
+
+jar=$(ls target/task-cli-v2-*.jar 2>/dev/null | grep -v '\.original$' | head -n 1 || true)
+native=target/TaskCli
+if [ -z "$jar" ] && [ ! -x "$native" ]; then
+    echo "Build the application first: mvn clean package -DskipTests" >&2
+    exit 1
+fi
+
+work=$(mktemp -d)
+trap 'rm -rf "$work"' EXIT
+store=(--task-cli.save.task.path="$work/store")
+
+# Prints the minimum, median and maximum wall time of the command over the runs, after one unmeasured run.
+measure() {
+    local name=$1
+    shift
+    "$@" "${store[@]}" "${command[@]}" > /dev/null
+    local elapsed=()
+    for ((run = 0; run < runs; run++)); do
+        local start end
+        start=$(date +%s%N)
+        "$@" "${store[@]}" "${command[@]}" > /dev/null
+        end=$(date +%s%N)
+        elapsed+=($(((end - start) / 1000000)))
+    done
+    local sorted
+    sorted=($(printf '%s\n' "${elapsed[@]}" | sort -n))
+    printf '%-10s min %6d ms   median %6d ms   max %6d ms\n' "$name" "${sorted[0]}" "${sorted[runs / 2]}" "${sorted[runs - 1]}"
+}
+
+if [ -n "$jar" ]; then
+    java -jar "$jar" "${store[@]}" add "Startup benchmark" > /dev/null
+    aot=()
+    if jar tf "$jar" | grep -q '__ApplicationContextInitializer'; then
+        aot=(-Dspring.aot.enabled=true)
+    fi
+    measure jvm java "${aot[@]}" -jar "$jar"
+
+    java -Djarmode=tools -jar "$jar" extract --destination "$work/app" > /dev/null
+    extracted="$work/app/$(basename "$jar")"
+    java -XX:ArchiveClassesAtExit="$work/app/app.jsa" -Dspring.context.exit=onRefresh "${aot[@]}" -jar "$extracted" > /dev/null 2>&1
+    measure cds java -XX:SharedArchiveFile="$work/app/app.jsa" "${aot[@]}" -jar "$extracted"
+fi
+
+if [ -x "$native" ]; then
+    "$native" "${store[@]}" add "Startup benchmark" > /dev/null
+    measure native "$native"
+fi
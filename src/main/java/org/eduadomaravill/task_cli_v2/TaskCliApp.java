@@ -1,11 +1,20 @@
 package org.eduadomaravill.task_cli_v2;
+import org.eduadomaravill.task_cli_v2.infrastructure.command.SingleCommandRunner;
+import org.springframework.boot.Banner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Map;
+
 @SpringBootApplication
 public class TaskCliApp {
 
 	public static void main(String[] args) {
-		SpringApplication.run(TaskCliApp.class, args);
+		SpringApplication application = new SpringApplication(TaskCliApp.class);
+		if (SingleCommandRunner.isSingleCommand(args)) {
+			application.setBannerMode(Banner.Mode.OFF);
+			application.setDefaultProperties(Map.of(SingleCommandRunner.SINGLE_COMMAND_PROPERTY, "true"));
+		}
+		application.run(args);
 	}
 }
@@ -3,6 +3,7 @@ package org.eduadomaravill.task_cli_v2.application.port.input;
 
 import org.eduadomaravill.task_cli_v2.domain.model.Task;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,4 +20,12 @@ public interface ICreateTaskUseCase {
      *         or an empty {@code Optional} if the task could not be created.
      */
     Optional<Task> createTask(String descriptionTask);
+
+    /**
+     * Creates several tasks at once, persisting them together.
+     *
+     * @param descriptions The descriptions of the tasks to create, in order.
+     * @return A list of the created tasks, or an empty list if the tasks could not be created.
+     */
+    List<Task> createTasks(List<String> descriptions);
 }
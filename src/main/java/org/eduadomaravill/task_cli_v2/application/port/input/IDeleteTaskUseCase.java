@@ -1,5 +1,7 @@
 package org.eduadomaravill.task_cli_v2.application.port.input;
 
+import org.eduadomaravill.task_cli_v2.domain.model.TaskFilter;
+
 /**
  * Use case for deleting a task.
  * Implementations of this interface should define how a task is deleted.
@@ -13,5 +15,13 @@ public interface IDeleteTaskUseCase {
      * @return {@code true} if the task was successfully deleted, {@code false} otherwise.
      */
     boolean deleteTask(Long idTask);
+
+    /**
+     * Deletes every task selected by the filter as a single operation.
+     *
+     * @param filter Selects the tasks to delete.
+     * @return The number of deleted tasks, or {@code -1} if the deletions could not be saved.
+     */
+    int deleteTasks(TaskFilter filter);
 }
 
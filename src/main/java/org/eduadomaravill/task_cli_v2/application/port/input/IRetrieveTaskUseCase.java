@@ -1,9 +1,14 @@
 package org.eduadomaravill.task_cli_v2.application.port.input;
 
 
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
 import org.eduadomaravill.task_cli_v2.domain.model.Task;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskSortField;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskTimeField;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,4 +32,62 @@ public interface IRetrieveTaskUseCase {
      * @return A list of all tasks.
      */
     List<Task> getAllTasks();
+
+    /**
+     * Retrieves the tasks that are in the given status.
+     *
+     * @param statusTask The status to filter by.
+     * @return A list of the tasks in that status.
+     */
+    List<Task> getTasksByStatus(StatusTask statusTask);
+
+    /**
+     * Counts the tasks in each status.
+     *
+     * @return The number of tasks per status, with every status present.
+     */
+    Map<StatusTask, Long> countTasksByStatus();
+
+    /**
+     * Retrieves one page of tasks in ID order, optionally in a single status. Pages are addressed by the
+     * ID of the last task of the previous page, so fetching a page does not depend on how many come before it.
+     *
+     * @param statusTask The status to filter by, or {@code null} for every task.
+     * @param afterId    Only tasks with a greater ID are returned; {@code 0} to start from the first task.
+     * @param offset     Number of matching tasks to skip before the page starts.
+     * @param limit      Maximum number of tasks in the page.
+     * @return The tasks of the page, in ID order.
+     */
+    List<Task> getTasksPage(StatusTask statusTask, long afterId, int offset, int limit);
+
+    /**
+     * Retrieves the first tasks in the given order, optionally in a single status, such as the most recently
+     * updated tasks in progress. Only {@code top} tasks are kept while selecting them.
+     *
+     * @param statusTask The status to filter by, or {@code null} for every task.
+     * @param sortField  The field to order by.
+     * @param descending Whether the order is reversed, newest or highest ID first.
+     * @param top        Maximum number of tasks to return; {@code 0} for every matching task.
+     * @return The matching tasks, in the requested order.
+     */
+    List<Task> getTopTasks(StatusTask statusTask, TaskSortField sortField, boolean descending, int top);
+
+    /**
+     * Retrieves the tasks whose creation or update time falls in the given range, ordered by that time.
+     *
+     * @param field The time to filter on.
+     * @param from  Inclusive lower bound, or {@code null} for no lower bound.
+     * @param to    Inclusive upper bound, or {@code null} for no upper bound.
+     * @return A list of the tasks in the range.
+     */
+    List<Task> getTasksByTimeRange(TaskTimeField field, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Finds the tasks whose description matches the query, best match first.
+     *
+     * @param query Free text; each term matches the description words it is a prefix of.
+     * @param limit Maximum number of results.
+     * @return A list of the best matching tasks.
+     */
+    List<Task> searchTasks(String query, int limit);
 }
@@ -1,8 +1,10 @@
 package org.eduadomaravill.task_cli_v2.application.port.input;
 
 
+import org.eduadomaravill.task_cli_v2.domain.exception.TaskVersionConflictException;
 import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
 import org.eduadomaravill.task_cli_v2.domain.model.Task;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskFilter;
 
 import java.util.Optional;
 
@@ -23,5 +25,38 @@ public interface IUpdateTaskUseCase {
     Optional<Task> updateTaskByDescription(Long idTask, String descriptionTask);
 
     Optional<Task> updateTaskByStatus(Long idTask, StatusTask statusTask);
+
+    /**
+     * Updates the description of a task only if it is still at the version the change is based on.
+     *
+     * @param idTask          The ID of the task to update.
+     * @param descriptionTask The new description for the task.
+     * @param expectedVersion The version of the task the change is based on.
+     * @return An {@code Optional} containing the updated task, or an empty {@code Optional} if the task
+     *         was not found or could not be updated.
+     * @throws TaskVersionConflictException If the task was modified since that version.
+     */
+    Optional<Task> updateTaskByDescription(Long idTask, String descriptionTask, long expectedVersion);
+
+    /**
+     * Updates the status of a task only if it is still at the version the change is based on.
+     *
+     * @param idTask          The ID of the task to update.
+     * @param statusTask      The new status of the task.
+     * @param expectedVersion The version of the task the change is based on.
+     * @return An {@code Optional} containing the updated task, or an empty {@code Optional} if the task
+     *         was not found or could not be updated.
+     * @throws TaskVersionConflictException If the task was modified since that version.
+     */
+    Optional<Task> updateTaskByStatus(Long idTask, StatusTask statusTask, long expectedVersion);
+
+    /**
+     * Changes the status of every task selected by the filter as a single operation.
+     *
+     * @param filter     Selects the tasks to update.
+     * @param statusTask The new status of the tasks.
+     * @return The number of updated tasks, or {@code -1} if the changes could not be saved.
+     */
+    int updateTasksByStatus(TaskFilter filter, StatusTask statusTask);
 }
 
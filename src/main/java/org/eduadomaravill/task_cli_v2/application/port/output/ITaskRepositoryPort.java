@@ -1,9 +1,15 @@
 package org.eduadomaravill.task_cli_v2.application.port.output;
 
+import org.eduadomaravill.task_cli_v2.domain.exception.TaskVersionConflictException;
 import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
 import org.eduadomaravill.task_cli_v2.domain.model.Task;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskFilter;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskSortField;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskTimeField;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -22,6 +28,14 @@ public interface ITaskRepositoryPort {
      */
     Optional<Task> createTask(String descriptionTask);
 
+    /**
+     * Creates several tasks at once, persisting them together.
+     *
+     * @param descriptions The descriptions of the tasks to create, in order.
+     * @return A list of the created tasks, or an empty list if the tasks could not be created.
+     */
+    List<Task> createTasks(List<String> descriptions);
+
     /**
      * Deletes a task by its unique identifier.
      *
@@ -30,6 +44,14 @@ public interface ITaskRepositoryPort {
      */
     boolean deleteTask(Long idTask);
 
+    /**
+     * Deletes every task selected by the filter as a single operation.
+     *
+     * @param filter Selects the tasks to delete.
+     * @return The number of deleted tasks, or {@code -1} if the deletions could not be saved.
+     */
+    int deleteTasks(TaskFilter filter);
+
     /**
      * Retrieves a task by its unique identifier.
      *
@@ -46,6 +68,64 @@ public interface ITaskRepositoryPort {
      */
     List<Task> getAllTasks();
 
+    /**
+     * Retrieves the tasks that are in the given status.
+     *
+     * @param statusTask The status to filter by.
+     * @return A list of the tasks in that status.
+     */
+    List<Task> getTasksByStatus(StatusTask statusTask);
+
+    /**
+     * Counts the tasks in each status.
+     *
+     * @return The number of tasks per status, with every status present.
+     */
+    Map<StatusTask, Long> countTasksByStatus();
+
+    /**
+     * Retrieves one page of tasks in ID order, optionally in a single status. Pages are addressed by the
+     * ID of the last task of the previous page, so fetching a page does not depend on how many come before it.
+     *
+     * @param statusTask The status to filter by, or {@code null} for every task.
+     * @param afterId    Only tasks with a greater ID are returned; {@code 0} to start from the first task.
+     * @param offset     Number of matching tasks to skip before the page starts.
+     * @param limit      Maximum number of tasks in the page.
+     * @return The tasks of the page, in ID order.
+     */
+    List<Task> getTasksPage(StatusTask statusTask, long afterId, int offset, int limit);
+
+    /**
+     * Retrieves the first tasks in the given order, optionally in a single status, such as the most recently
+     * updated tasks in progress. Only {@code top} tasks are kept while selecting them.
+     *
+     * @param statusTask The status to filter by, or {@code null} for every task.
+     * @param sortField  The field to order by.
+     * @param descending Whether the order is reversed, newest or highest ID first.
+     * @param top        Maximum number of tasks to return; {@code 0} for every matching task.
+     * @return The matching tasks, in the requested order.
+     */
+    List<Task> getTopTasks(StatusTask statusTask, TaskSortField sortField, boolean descending, int top);
+
+    /**
+     * Retrieves the tasks whose creation or update time falls in the given range, ordered by that time.
+     *
+     * @param field The time to filter on.
+     * @param from  Inclusive lower bound, or {@code null} for no lower bound.
+     * @param to    Inclusive upper bound, or {@code null} for no upper bound.
+     * @return A list of the tasks in the range.
+     */
+    List<Task> getTasksByTimeRange(TaskTimeField field, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Finds the tasks whose description matches the query, best match first.
+     *
+     * @param query Free text; each term matches the description words it is a prefix of.
+     * @param limit Maximum number of results.
+     * @return A list of the best matching tasks.
+     */
+    List<Task> searchTasks(String query, int limit);
+
     /**
      * Updates the description of an existing task.
      *
@@ -58,5 +138,38 @@ public interface ITaskRepositoryPort {
 
     Optional<Task> updateTaskByStatus(Long idTask, StatusTask statusTask);
 
+    /**
+     * Updates the description of a task only if it is still at the version the change is based on.
+     *
+     * @param idTask          The ID of the task to update.
+     * @param description The new description for the task.
+     * @param expectedVersion The version of the task the change is based on.
+     * @return An {@code Optional} containing the updated task, or an empty {@code Optional} if the task
+     *         was not found or could not be updated.
+     * @throws TaskVersionConflictException If the task was modified since that version.
+     */
+    Optional<Task> updateTaskByDescription(Long idTask, String description, long expectedVersion);
+
+    /**
+     * Updates the status of a task only if it is still at the version the change is based on.
+     *
+     * @param idTask          The ID of the task to update.
+     * @param statusTask      The new status of the task.
+     * @param expectedVersion The version of the task the change is based on.
+     * @return An {@code Optional} containing the updated task, or an empty {@code Optional} if the task
+     *         was not found or could not be updated.
+     * @throws TaskVersionConflictException If the task was modified since that version.
+     */
+    Optional<Task> updateTaskByStatus(Long idTask, StatusTask statusTask, long expectedVersion);
+
+    /**
+     * Changes the status of every task selected by the filter as a single operation.
+     *
+     * @param filter     Selects the tasks to update.
+     * @param statusTask The new status of the tasks.
+     * @return The number of updated tasks, or {@code -1} if the changes could not be saved.
+     */
+    int updateTasksByStatus(TaskFilter filter, StatusTask statusTask);
+
 }
 
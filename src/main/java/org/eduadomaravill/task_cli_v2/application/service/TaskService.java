@@ -5,12 +5,18 @@ import org.eduadomaravill.task_cli_v2.application.port.input.ICreateTaskUseCase;
 import org.eduadomaravill.task_cli_v2.application.port.input.IDeleteTaskUseCase;
 import org.eduadomaravill.task_cli_v2.application.port.input.IRetrieveTaskUseCase;
 import org.eduadomaravill.task_cli_v2.application.port.input.IUpdateTaskUseCase;
+import org.eduadomaravill.task_cli_v2.domain.exception.TaskVersionConflictException;
 import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
 import org.eduadomaravill.task_cli_v2.domain.model.Task;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskFilter;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskSortField;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskTimeField;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -50,6 +56,17 @@ public class TaskService implements ICreateTaskUseCase, IDeleteTaskUseCase, IRet
         return createTaskUseCase.createTask(descriptionTask);
     }
 
+    /**
+     * Creates several tasks at once, persisting them together.
+     *
+     * @param descriptions The descriptions of the tasks to create, in order.
+     * @return A list of the created tasks, or an empty list if the tasks could not be created.
+     */
+    @Override
+    public List<Task> createTasks(List<String> descriptions) {
+        return createTaskUseCase.createTasks(descriptions);
+    }
+
     /**
      * Deletes a task identified by its unique ID.
      *
@@ -61,6 +78,17 @@ public class TaskService implements ICreateTaskUseCase, IDeleteTaskUseCase, IRet
         return deleteTaskUseCase.deleteTask(idTask);
     }
 
+    /**
+     * Deletes every task selected by the filter as a single operation.
+     *
+     * @param filter Selects the tasks to delete.
+     * @return The number of deleted tasks, or {@code -1} if the deletions could not be saved.
+     */
+    @Override
+    public int deleteTasks(TaskFilter filter) {
+        return deleteTaskUseCase.deleteTasks(filter);
+    }
+
     /**
      * Retrieves a task by its unique ID.
      *
@@ -83,6 +111,82 @@ public class TaskService implements ICreateTaskUseCase, IDeleteTaskUseCase, IRet
         return retrieveTaskUseCase.getAllTasks();
     }
 
+    /**
+     * Retrieves the tasks that are in the given status.
+     *
+     * @param statusTask The status to filter by.
+     * @return A list of the tasks in that status.
+     */
+    @Override
+    public List<Task> getTasksByStatus(StatusTask statusTask) {
+        return retrieveTaskUseCase.getTasksByStatus(statusTask);
+    }
+
+    /**
+     * Counts the tasks in each status.
+     *
+     * @return The number of tasks per status, with every status present.
+     */
+    @Override
+    public Map<StatusTask, Long> countTasksByStatus() {
+        return retrieveTaskUseCase.countTasksByStatus();
+    }
+
+    /**
+     * Retrieves one page of tasks in ID order, optionally in a single status. Pages are addressed by the
+     * ID of the last task of the previous page, so fetching a page does not depend on how many come before it.
+     *
+     * @param statusTask The status to filter by, or {@code null} for every task.
+     * @param afterId    Only tasks with a greater ID are returned; {@code 0} to start from the first task.
+     * @param offset     Number of matching tasks to skip before the page starts.
+     * @param limit      Maximum number of tasks in the page.
+     * @return The tasks of the page, in ID order.
+     */
+    @Override
+    public List<Task> getTasksPage(StatusTask statusTask, long afterId, int offset, int limit) {
+        return retrieveTaskUseCase.getTasksPage(statusTask, afterId, offset, limit);
+    }
+
+    /**
+     * Retrieves the first tasks in the given order, optionally in a single status, such as the most recently
+     * updated tasks in progress. Only {@code top} tasks are kept while selecting them.
+     *
+     * @param statusTask The status to filter by, or {@code null} for every task.
+     * @param sortField  The field to order by.
+     * @param descending Whether the order is reversed, newest or highest ID first.
+     * @param top        Maximum number of tasks to return; {@code 0} for every matching task.
+     * @return The matching tasks, in the requested order.
+     */
+    @Override
+    public List<Task> getTopTasks(StatusTask statusTask, TaskSortField sortField, boolean descending, int top) {
+        return retrieveTaskUseCase.getTopTasks(statusTask, sortField, descending, top);
+    }
+
+    /**
+     * Retrieves the tasks whose creation or update time falls in the given range, ordered by that time.
+     *
+     * @param field The time to filter on.
+     * @param from  Inclusive lower bound, or {@code null} for no lower bound.
+     * @param to    Inclusive upper bound, or {@code null} for no upper bound.
+     * @return A list of the tasks in the range.
+     */
+    @Override
+    public List<Task> getTasksByTimeRange(TaskTimeField field, LocalDateTime from, LocalDateTime to) {
+        return retrieveTaskUseCase.getTasksByTimeRange(field, from, to);
+    }
+
+    /**
+     * Finds the tasks whose description matches the query, best match first.
+     *
+     * @param query Free text; each term matches the description words it is a prefix of.
+     * @param limit Maximum number of results.
+     * @return A list of the best matching tasks.
+     */
+    @Override
+    public List<Task> searchTasks(String query, int limit) {
+        return retrieveTaskUseCase.searchTasks(query, limit);
+    }
+
     /**
      * Updates the description of a task identified by its unique ID.
      *
@@ -100,5 +204,47 @@ public class TaskService implements ICreateTaskUseCase, IDeleteTaskUseCase, IRet
     public Optional<Task> updateTaskByStatus(Long idTask, StatusTask statusTask) {
         return updateTaskUseCase.updateTaskByStatus(idTask, statusTask);
     }
+
+    /**
+     * Updates the description of a task only if it is still at the version the change is based on.
+     *
+     * @param idTask          The ID of the task to update.
+     * @param descriptionTask The new description for the task.
+     * @param expectedVersion The version of the task the change is based on.
+     * @return An {@code Optional} containing the updated task, or an empty {@code Optional} if the task
+     *         was not found or could not be updated.
+     * @throws TaskVersionConflictException If the task was modified since that version.
+     */
+    @Override
+    public Optional<Task> updateTaskByDescription(Long idTask, String descriptionTask, long expectedVersion) {
+        return updateTaskUseCase.updateTaskByDescription(idTask, descriptionTask, expectedVersion);
+    }
+
+    /**
+     * Updates the status of a task only if it is still at the version the change is based on.
+     *
+     * @param idTask          The ID of the task to update.
+     * @param statusTask      The new status of the task.
+     * @param expectedVersion The version of the task the change is based on.
+     * @return An {@code Optional} containing the updated task, or an empty {@code Optional} if the task
+     *         was not found or could not be updated.
+     * @throws TaskVersionConflictException If the task was modified since that version.
+     */
+    @Override
+    public Optional<Task> updateTaskByStatus(Long idTask, StatusTask statusTask, long expectedVersion) {
+        return updateTaskUseCase.updateTaskByStatus(idTask, statusTask, expectedVersion);
+    }
+
+    /**
+     * Changes the status of every task selected by the filter as a single operation.
+     *
+     * @param filter     Selects the tasks to update.
+     * @param statusTask The new status of the tasks.
+     * @return The number of updated tasks, or {@code -1} if the changes could not be saved.
+     */
+    @Override
+    public int updateTasksByStatus(TaskFilter filter, StatusTask statusTask) {
+        return updateTaskUseCase.updateTasksByStatus(filter, statusTask);
+    }
 }
 
@@ -6,6 +6,7 @@ import org.eduadomaravill.task_cli_v2.domain.model.Task;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -37,5 +38,16 @@ public class CreateTaskUseCaseImpl implements ICreateTaskUseCase {
     public Optional<Task> createTask(String descriptionTask) {
         return taskRepositoryPort.createTask(descriptionTask);
     }
+
+    /**
+     * Creates several tasks at once, persisting them together.
+     *
+     * @param descriptions The descriptions of the tasks to create, in order.
+     * @return A list of the created tasks, or an empty list if the tasks could not be created.
+     */
+    @Override
+    public List<Task> createTasks(List<String> descriptions) {
+        return taskRepositoryPort.createTasks(descriptions);
+    }
 }
 
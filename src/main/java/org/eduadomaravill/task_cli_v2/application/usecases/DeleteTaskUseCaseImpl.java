@@ -3,6 +3,7 @@ package org.eduadomaravill.task_cli_v2.application.usecases;
 
 import org.eduadomaravill.task_cli_v2.application.port.input.IDeleteTaskUseCase;
 import org.eduadomaravill.task_cli_v2.application.port.output.ITaskRepositoryPort;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskFilter;
 import org.springframework.stereotype.Component;
 
 /**
@@ -32,5 +33,16 @@ public class DeleteTaskUseCaseImpl implements IDeleteTaskUseCase {
     public boolean deleteTask(Long idTask) {
         return taskRepositoryPort.deleteTask(idTask);
     }
+
+    /**
+     * Deletes every task selected by the filter as a single operation.
+     *
+     * @param filter Selects the tasks to delete.
+     * @return The number of deleted tasks, or {@code -1} if the deletions could not be saved.
+     */
+    @Override
+    public int deleteTasks(TaskFilter filter) {
+        return taskRepositoryPort.deleteTasks(filter);
+    }
 }
 
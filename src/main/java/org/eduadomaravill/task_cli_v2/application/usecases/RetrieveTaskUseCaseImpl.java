@@ -3,11 +3,16 @@ package org.eduadomaravill.task_cli_v2.application.usecases;
 
 import org.eduadomaravill.task_cli_v2.application.port.input.IRetrieveTaskUseCase;
 import org.eduadomaravill.task_cli_v2.application.port.output.ITaskRepositoryPort;
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
 import org.eduadomaravill.task_cli_v2.domain.model.Task;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskSortField;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskTimeField;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -49,5 +54,81 @@ public class RetrieveTaskUseCaseImpl implements IRetrieveTaskUseCase {
     public List<Task> getAllTasks() {
         return taskRepositoryPort.getAllTasks();
     }
+
+    /**
+     * Retrieves the tasks that are in the given status.
+     *
+     * @param statusTask The status to filter by.
+     * @return A list of the tasks in that status.
+     */
+    @Override
+    public List<Task> getTasksByStatus(StatusTask statusTask) {
+        return taskRepositoryPort.getTasksByStatus(statusTask);
+    }
+
+    /**
+     * Counts the tasks in each status.
+     *
+     * @return The number of tasks per status, with every status present.
+     */
+    @Override
+    public Map<StatusTask, Long> countTasksByStatus() {
+        return taskRepositoryPort.countTasksByStatus();
+    }
+
+    /**
+     * Retrieves one page of tasks in ID order, optionally in a single status. Pages are addressed by the
+     * ID of the last task of the previous page, so fetching a page does not depend on how many come before it.
+     *
+     * @param statusTask The status to filter by, or {@code null} for every task.
+     * @param afterId    Only tasks with a greater ID are returned; {@code 0} to start from the first task.
+     * @param offset     Number of matching tasks to skip before the page starts.
+     * @param limit      Maximum number of tasks in the page.
+     * @return The tasks of the page, in ID order.
+     */
+    @Override
+    public List<Task> getTasksPage(StatusTask statusTask, long afterId, int offset, int limit) {
+        return taskRepositoryPort.getTasksPage(statusTask, afterId, offset, limit);
+    }
+
+    /**
+     * Retrieves the first tasks in the given order, optionally in a single status, such as the most recently
+     * updated tasks in progress. Only {@code top} tasks are kept while selecting them.
+     *
+     * @param statusTask The status to filter by, or {@code null} for every task.
+     * @param sortField  The field to order by.
+     * @param descending Whether the order is reversed, newest or highest ID first.
+     * @param top        Maximum number of tasks to return; {@code 0} for every matching task.
+     * @return The matching tasks, in the requested order.
+     */
+    @Override
+    public List<Task> getTopTasks(StatusTask statusTask, TaskSortField sortField, boolean descending, int top) {
+        return taskRepositoryPort.getTopTasks(statusTask, sortField, descending, top);
+    }
+
+    /**
+     * Retrieves the tasks whose creation or update time falls in the given range, ordered by that time.
+     *
+     * @param field The time to filter on.
+     * @param from  Inclusive lower bound, or {@code null} for no lower bound.
+     * @param to    Inclusive upper bound, or {@code null} for no upper bound.
+     * @return A list of the tasks in the range.
+     */
+    @Override
+    public List<Task> getTasksByTimeRange(TaskTimeField field, LocalDateTime from, LocalDateTime to) {
+        return taskRepositoryPort.getTasksByTimeRange(field, from, to);
+    }
+
+    /**
+     * Finds the tasks whose description matches the query, best match first.
+     *
+     * @param query Free text; each term matches the description words it is a prefix of.
+     * @param limit Maximum number of results.
+     * @return A list of the best matching tasks.
+     */
+    @Override
+    public List<Task> searchTasks(String query, int limit) {
+        return taskRepositoryPort.searchTasks(query, limit);
+    }
 }
 
@@ -3,8 +3,10 @@ package org.eduadomaravill.task_cli_v2.application.usecases;
 
 import org.eduadomaravill.task_cli_v2.application.port.input.IUpdateTaskUseCase;
 import org.eduadomaravill.task_cli_v2.application.port.output.ITaskRepositoryPort;
+import org.eduadomaravill.task_cli_v2.domain.exception.TaskVersionConflictException;
 import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
 import org.eduadomaravill.task_cli_v2.domain.model.Task;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskFilter;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
@@ -43,4 +45,46 @@ public class UpdateTaskUseCaseImpl implements IUpdateTaskUseCase {
     public Optional<Task> updateTaskByStatus(Long idTask, StatusTask statusTask) {
         return taskRepositoryPort.updateTaskByStatus(idTask,statusTask);
     }
+
+    /**
+     * Updates the description of a task only if it is still at the version the change is based on.
+     *
+     * @param idTask          The ID of the task to update.
+     * @param descriptionTask The new description for the task.
+     * @param expectedVersion The version of the task the change is based on.
+     * @return An {@code Optional} containing the updated task, or an empty {@code Optional} if the task
+     *         was not found or could not be updated.
+     * @throws TaskVersionConflictException If the task was modified since that version.
+     */
+    @Override
+    public Optional<Task> updateTaskByDescription(Long idTask, String descriptionTask, long expectedVersion) {
+        return taskRepositoryPort.updateTaskByDescription(idTask, descriptionTask, expectedVersion);
+    }
+
+    /**
+     * Updates the status of a task only if it is still at the version the change is based on.
+     *
+     * @param idTask          The ID of the task to update.
+     * @param statusTask      The new status of the task.
+     * @param expectedVersion The version of the task the change is based on.
+     * @return An {@code Optional} containing the updated task, or an empty {@code Optional} if the task
+     *         was not found or could not be updated.
+     * @throws TaskVersionConflictException If the task was modified since that version.
+     */
+    @Override
+    public Optional<Task> updateTaskByStatus(Long idTask, StatusTask statusTask, long expectedVersion) {
+        return taskRepositoryPort.updateTaskByStatus(idTask, statusTask, expectedVersion);
+    }
+
+    /**
+     * Changes the status of every task selected by the filter as a single operation.
+     *
+     * @param filter     Selects the tasks to update.
+     * @param statusTask The new status of the tasks.
+     * @return The number of updated tasks, or {@code -1} if the changes could not be saved.
+     */
+    @Override
+    public int updateTasksByStatus(TaskFilter filter, StatusTask statusTask) {
+        return taskRepositoryPort.updateTasksByStatus(filter, statusTask);
+    }
 }
@@ -0,0 +1,20 @@
+package org.eduadomaravill.task_cli_v2.domain.exception;
+
+/**
+ * Exception thrown when a task is updated on the assumption of a version that is no longer current,
+ * because the task was changed in the meantime, possibly by another process.
+ */
+public class TaskVersionConflictException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code TaskVersionConflictException} for a task.
+     *
+     * @param idTask          the ID of the task.
+     * @param expectedVersion the version the update was based on.
+     * @param currentVersion  the current version of the task.
+     */
+    public TaskVersionConflictException(Long idTask, long expectedVersion, long currentVersion) {
+        super("Task " + idTask + " was modified concurrently: expected version " + expectedVersion
+                + " but found version " + currentVersion + ". Reload the task and try again.");
+    }
+}
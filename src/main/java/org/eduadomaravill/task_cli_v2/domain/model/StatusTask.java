@@ -23,6 +23,11 @@ public enum StatusTask {
      */
     DONE(3, "done");
 
+    /**
+     * Statuses indexed by their code, so decoding a stored code is a single array access.
+     */
+    private static final StatusTask[] BY_CODE = byCode();
+
     private final int status;
     private final String label;
 
@@ -45,10 +50,8 @@ public enum StatusTask {
      * @throws InvalidStatusException If no StatusTask matches the provided status code.
      */
     public static StatusTask fromStatusCode(int statusCode) {
-        for (StatusTask status : StatusTask.values()) {
-            if (status.getStatus() == statusCode) {
-                return status;
-            }
+        if (statusCode >= 0 && statusCode < BY_CODE.length && BY_CODE[statusCode] != null) {
+            return BY_CODE[statusCode];
         }
         throw new InvalidStatusException("No StatusTask found for statusCode: " + statusCode);
     }
@@ -62,6 +65,15 @@ public enum StatusTask {
         throw new InvalidStatusException("No StatusTask found for statusLabel: " + statusLabel);
     }
 
+    private static StatusTask[] byCode() {
+        int maxCode = 0;
+        for (StatusTask status : values()) {
+            maxCode = Math.max(maxCode, status.getStatus());
+        }
+        StatusTask[] byCode = new StatusTask[maxCode + 1];
+        for (StatusTask status : values()) {
+            byCode[status.getStatus()] = status;
+        }
+        return byCode;
+    }
 }
-
-
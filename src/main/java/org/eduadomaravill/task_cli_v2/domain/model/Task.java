@@ -40,4 +40,9 @@ public class Task {
      * Date and time of the last task update.
      */
     private LocalDateTime updatedAt;
+
+    /**
+     * Number of times the task has been written; used to detect concurrent updates.
+     */
+    private long version;
 }
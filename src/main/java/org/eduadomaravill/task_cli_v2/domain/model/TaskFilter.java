@@ -0,0 +1,56 @@
+package org.eduadomaravill.task_cli_v2.domain.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Selects the tasks affected by a bulk operation.
+ * Every criterion that is set must match; criteria left {@code null} match any task.
+ */
+@Getter //Generates the "Getter" methods of the fields.
+@Builder //Generates a builder to set only the criteria needed.
+public class TaskFilter {
+    /**
+     * Lowest task ID to include.
+     */
+    private final Long fromId;
+
+    /**
+     * Highest task ID to include.
+     */
+    private final Long toId;
+
+    /**
+     * Status the tasks must be in.
+     */
+    private final StatusTask status;
+
+    /**
+     * Tasks must have been last updated before this date and time.
+     */
+    private final LocalDateTime updatedBefore;
+
+    /**
+     * Checks whether a task meets every criterion of this filter.
+     *
+     * @param idTask     The ID of the task.
+     * @param statusTask The status of the task.
+     * @param updatedAt  The date and time of the last task update.
+     * @return {@code true} if the task is selected by this filter.
+     */
+    public boolean matches(long idTask, StatusTask statusTask, LocalDateTime updatedAt) {
+        return (fromId == null || idTask >= fromId)
+                && (toId == null || idTask <= toId)
+                && (status == null || status == statusTask)
+                && (updatedBefore == null || (updatedAt != null && updatedAt.isBefore(updatedBefore)));
+    }
+
+    /**
+     * @return {@code true} if no criterion is set, so the filter would select every task.
+     */
+    public boolean isEmpty() {
+        return fromId == null && toId == null && status == null && updatedBefore == null;
+    }
+}
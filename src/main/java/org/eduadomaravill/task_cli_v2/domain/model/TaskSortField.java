@@ -0,0 +1,71 @@
+package org.eduadomaravill.task_cli_v2.domain.model;
+
+import lombok.Getter;
+import org.eduadomaravill.task_cli_v2.domain.exception.InvalidCommandException;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+@Getter // Generates the "Getter" methods for the fields.
+public enum TaskSortField {
+    /**
+     * The ID of the task, which follows the creation order.
+     */
+    ID("id", null),
+
+    /**
+     * The date and time when the task was created.
+     */
+    CREATED("created", TaskTimeField.CREATED),
+
+    /**
+     * The date and time of the last task update.
+     */
+    UPDATED("updated", TaskTimeField.UPDATED);
+
+    private final String label;
+
+    /**
+     * The time this field sorts by, or {@code null} when it sorts by ID.
+     */
+    private final TaskTimeField timeField;
+
+    /**
+     * Constructs a TaskSortField with the specified label.
+     *
+     * @param label     The string label associated with the field.
+     * @param timeField The time this field sorts by, or {@code null} when it sorts by ID.
+     */
+    TaskSortField(String label, TaskTimeField timeField) {
+        this.label = label;
+        this.timeField = timeField;
+    }
+
+    /**
+     * Returns the ascending order of this field; tasks with the same time are ordered by ID.
+     *
+     * @return A comparator of tasks by this field.
+     */
+    public Comparator<Task> comparator() {
+        Comparator<Task> byId = Comparator.comparing(Task::getIdTask);
+        return timeField == null
+                ? byId
+                : Comparator.<Task, LocalDateTime>comparing(timeField::valueOf, Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(byId);
+    }
+
+    /**
+     * Returns the TaskSortField corresponding to the given label.
+     *
+     * @param fieldLabel The label to match.
+     * @return The TaskSortField corresponding to the label.
+     * @throws InvalidCommandException If no TaskSortField matches the provided label.
+     */
+    public static TaskSortField fromLabel(String fieldLabel) {
+        for (TaskSortField field : TaskSortField.values()) {
+            if (field.getLabel().equalsIgnoreCase(fieldLabel)) {
+                return field;
+            }
+        }
+        throw new InvalidCommandException("No TaskSortField found for label: " + fieldLabel);
+    }
+}
@@ -0,0 +1,56 @@
+package org.eduadomaravill.task_cli_v2.domain.model;
+
+import lombok.Getter;
+import org.eduadomaravill.task_cli_v2.domain.exception.InvalidCommandException;
+
+import java.time.LocalDateTime;
+
+@Getter // Generates the "Getter" methods for the fields.
+public enum TaskTimeField {
+    /**
+     * The date and time when the task was created.
+     */
+    CREATED("created"),
+
+    /**
+     * The date and time of the last task update.
+     */
+    UPDATED("updated");
+
+    private final String label;
+
+    /**
+     * Constructs a TaskTimeField with the specified label.
+     *
+     * @param label The string label associated with the field.
+     */
+    TaskTimeField(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the value of this field for the given task.
+     *
+     * @param task The task to read.
+     * @return The creation or update time of the task.
+     */
+    public LocalDateTime valueOf(Task task) {
+        return this == CREATED ? task.getCreatedAt() : task.getUpdatedAt();
+    }
+
+    /**
+     * Returns the TaskTimeField corresponding to the given label.
+     *
+     * @param fieldLabel The label to match.
+     * @return The TaskTimeField corresponding to the label.
+     * @throws InvalidCommandException If no TaskTimeField matches the provided label.
+     */
+    public static TaskTimeField fromLabel(String fieldLabel) {
+        for (TaskTimeField field : TaskTimeField.values()) {
+            if (field.getLabel().equalsIgnoreCase(fieldLabel)) {
+                return field;
+            }
+        }
+        throw new InvalidCommandException("No TaskTimeField found for label: " + fieldLabel);
+    }
+}
@@ -0,0 +1,174 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.command;
+
+import org.eduadomaravill.task_cli_v2.application.service.TaskService;
+import org.eduadomaravill.task_cli_v2.infrastructure.repository.PersistenceTaskRepository;
+import org.jline.terminal.Terminal;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs a file of task commands without the interactive shell, started with
+ * {@code task-cli --batch=commands.txt} (or {@code --batch=-} to read standard input).
+ * <p>
+ * Every line is split into words and dispatched straight to {@link TaskService} by the
+ * {@link TaskCommandDispatcher}, skipping JLine and Spring Shell command resolution. Blank lines and lines starting with {@code #} are ignored.
+ * With the file engine, writes are deferred for the whole run: changes stay in memory and are written
+ * once at the end, and every {@code task-cli.batch.checkpoint} commands so a failed run keeps its progress.
+ * A summary with the latency of each command and the overall throughput is printed at the end, and the
+ * application exits with status 1 if any line failed.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class BatchCommandRunner implements ApplicationRunner {
+
+    private static final String BATCH_OPTION = "batch";
+    private static final String STANDARD_INPUT = "-";
+
+    private final TaskCommandDispatcher taskCommandDispatcher;
+    private final ObjectProvider<PersistenceTaskRepository> persistenceTaskRepository;
+    private final ConfigurableApplicationContext context;
+    private final Terminal terminal;
+    private final int checkpointInterval;
+
+    /**
+     * Constructs a BatchCommandRunner component.
+     *
+     * @param taskCommandDispatcher     Executes the command of each line.
+     * @param persistenceTaskRepository The file repository, when the file engine is active, used to defer writes.
+     * @param context                   The application context, closed when the run ends.
+     * @param terminal                  The terminal where errors and the summary are written.
+     * @param checkpointInterval        Number of commands after which deferred changes are written; 0 writes only at the end.
+     */
+    @Autowired
+    public BatchCommandRunner(TaskCommandDispatcher taskCommandDispatcher,
+                              ObjectProvider<PersistenceTaskRepository> persistenceTaskRepository,
+                              ConfigurableApplicationContext context, Terminal terminal,
+                              @Value("${task-cli.batch.checkpoint:10000}") int checkpointInterval) {
+        this.taskCommandDispatcher = taskCommandDispatcher;
+        this.persistenceTaskRepository = persistenceTaskRepository;
+        this.context = context;
+        this.terminal = terminal;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(BATCH_OPTION)) {
+            return;
+        }
+        List<String> values = args.getOptionValues(BATCH_OPTION);
+        String source = values.isEmpty() || values.getFirst().isBlank()
+                ? (args.getNonOptionArgs().isEmpty() ? STANDARD_INPUT : args.getNonOptionArgs().getFirst())
+                : values.getFirst();
+        int failures = runBatch(source);
+        System.exit(SpringApplication.exit(context, () -> failures == 0 ? 0 : 1));
+    }
+
+    /**
+     * Executes every command of the source and prints the summary.
+     *
+     * @param source A file path, or {@code -} for standard input.
+     * @return The number of lines that failed.
+     */
+    private int runBatch(String source) {
+        PrintWriter out = terminal.writer();
+        PersistenceTaskRepository repository = persistenceTaskRepository.getIfAvailable();
+        if (repository != null) {
+            repository.setWritesDeferred(true);
+        }
+        Map<String, CommandStatistics> statistics = new TreeMap<>();
+        int lineNumber = 0;
+        int executed = 0;
+        int failures = 0;
+        long started = System.nanoTime();
+        try (BufferedReader reader = STANDARD_INPUT.equals(source)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(source), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                long commandStarted = System.nanoTime();
+                String command = "invalid";
+                String error;
+                try {
+                    List<String> words = CommandArguments.tokenize(trimmed);
+                    command = words.getFirst();
+                    error = taskCommandDispatcher.execute(command, words.subList(1, words.size()), out, false);
+                } catch (RuntimeException e) {
+                    error = e.getMessage();
+                }
+                statistics.computeIfAbsent(command, key -> new CommandStatistics()).record(System.nanoTime() - commandStarted);
+                if (error != null) {
+                    failures++;
+                    out.println("Line " + lineNumber + ": " + error);
+                }
+                executed++;
+                if (repository != null && checkpointInterval > 0 && executed % checkpointInterval == 0 && repository.flush() < 0) {
+                    out.println("Line " + lineNumber + ": checkpoint could not be written, changes stay queued.");
+                }
+            }
+        } catch (IOException e) {
+            out.println("Error: could not read " + source + ": " + e.getLocalizedMessage());
+            failures++;
+        } finally {
+            if (repository != null && repository.setWritesDeferred(false) < 0) {
+                out.println("Error: the changes of the batch could not be written.");
+                failures++;
+            }
+        }
+        printSummary(out, statistics, executed, failures, System.nanoTime() - started);
+        out.flush();
+        return failures;
+    }
+
+    private static void printSummary(PrintWriter out, Map<String, CommandStatistics> statistics, int executed,
+                                     int failures, long elapsedNanos) {
+        out.println("-".repeat(72));
+        out.println(String.format(Locale.ROOT, "%-18s %10s %14s %14s %12s", "Command", "Count", "Total ms", "Mean µs", "Max µs"));
+        statistics.forEach((command, stats) -> out.println(String.format(Locale.ROOT, "%-18s %10d %14.1f %14.1f %12.1f",
+                command, stats.count, stats.totalNanos / 1e6, stats.totalNanos / 1e3 / stats.count, stats.maxNanos / 1e3)));
+        double seconds = elapsedNanos / 1e9;
+        out.println("-".repeat(72));
+        out.println(String.format(Locale.ROOT, "%d commands, %d failed, %.2f s, %.0f commands/s",
+                executed, failures, seconds, seconds > 0 ? executed / seconds : 0));
+    }
+
+    /**
+     * Latency totals of one command.
+     */
+    private static final class CommandStatistics {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private void record(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+    }
+}
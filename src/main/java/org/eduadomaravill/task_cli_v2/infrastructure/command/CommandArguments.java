@@ -0,0 +1,140 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.command;
+
+import org.eduadomaravill.task_cli_v2.domain.model.TaskFilter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parsing helpers shared by the shell commands and the batch runner.
+ */
+final class CommandArguments {
+
+    static final String ID_RANGE_SEPARATOR = "..";
+
+    private CommandArguments() {
+    }
+
+    /**
+     * @param value The ID or range argument.
+     * @return {@code true} if the argument is an ID range such as {@code 100..250}.
+     */
+    static boolean isIdRange(String value) {
+        return value.contains(ID_RANGE_SEPARATOR);
+    }
+
+    /**
+     * Parses a task ID argument.
+     *
+     * @param value The argument.
+     * @return The ID, or {@code null} if the argument is not a number.
+     */
+    static Long parseId(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sets the ID bounds of a filter from a single ID or an inclusive range such as {@code 100..250}.
+     * Either side of a range may be left out, so {@code 100..} selects every ID from 100 on.
+     *
+     * @param filter The filter to update.
+     * @param value  The ID or range argument.
+     * @return {@code false} if the argument is not a valid ID or range.
+     */
+    static boolean applyIdRange(TaskFilter.TaskFilterBuilder filter, String value) {
+        int separator = value.indexOf(ID_RANGE_SEPARATOR);
+        if (separator < 0) {
+            Long idTask = parseId(value);
+            filter.fromId(idTask).toId(idTask);
+            return idTask != null;
+        }
+        String from = value.substring(0, separator).trim();
+        String to = value.substring(separator + ID_RANGE_SEPARATOR.length()).trim();
+        Long fromId = from.isEmpty() ? null : parseId(from);
+        Long toId = to.isEmpty() ? null : parseId(to);
+        if ((!from.isEmpty() && fromId == null) || (!to.isEmpty() && toId == null)) {
+            return false;
+        }
+        filter.fromId(fromId).toId(toId);
+        return true;
+    }
+
+    /**
+     * Parses an age such as {@code 30d}: a number followed by {@code m} (minutes), {@code h} (hours),
+     * {@code d} (days) or {@code w} (weeks).
+     *
+     * @param value The age argument.
+     * @return The age, or {@code null} if the argument is not valid.
+     */
+    static Duration parseAge(String value) {
+        String age = value.trim().toLowerCase(Locale.ROOT);
+        if (age.length() < 2) {
+            return null;
+        }
+        long amount;
+        try {
+            amount = Long.parseLong(age.substring(0, age.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return switch (age.charAt(age.length() - 1)) {
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            case 'd' -> Duration.ofDays(amount);
+            case 'w' -> Duration.ofDays(amount * 7);
+            default -> null;
+        };
+    }
+
+    /**
+     * Splits a command line into words. Words are separated by whitespace; text in single or double
+     * quotes is kept as one word, and a backslash escapes the next character inside double quotes.
+     *
+     * @param line The command line.
+     * @return The words of the line, without quotes.
+     * @throws IllegalArgumentException If a quote is not closed.
+     */
+    static List<String> tokenize(String line) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        boolean inWord = false;
+        char quote = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char character = line.charAt(i);
+            if (quote != 0) {
+                if (character == quote) {
+                    quote = 0;
+                } else if (character == '\\' && quote == '"' && i + 1 < line.length()) {
+                    word.append(line.charAt(++i));
+                } else {
+                    word.append(character);
+                }
+            } else if (character == '"' || character == '\'') {
+                quote = character;
+                inWord = true;
+            } else if (Character.isWhitespace(character)) {
+                if (inWord) {
+                    words.add(word.toString());
+                    word.setLength(0);
+                    inWord = false;
+                }
+            } else {
+                word.append(character);
+                inWord = true;
+            }
+        }
+        if (quote != 0) {
+            throw new IllegalArgumentException("Unclosed quote in: " + line);
+        }
+        if (inWord) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+}
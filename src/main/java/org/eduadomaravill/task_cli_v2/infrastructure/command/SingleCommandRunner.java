@@ -0,0 +1,133 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.command;
+
+import org.eduadomaravill.task_cli_v2.domain.exception.InvalidCommandException;
+import org.eduadomaravill.task_cli_v2.domain.exception.InvalidStatusException;
+import org.jline.terminal.Terminal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs one task command given as program arguments, such as {@code task-cli add "Buy milk"}, without the
+ * interactive shell, and exits.
+ * <p>
+ * The arguments are dispatched straight to the task service by the {@link TaskCommandDispatcher}. In this
+ * mode the application starts without banners and with a dumb terminal (see
+ * {@link #SINGLE_COMMAND_PROPERTY}), and prints only the result: the tasks read or changed, one per line as
+ * tab-separated ID, status and description, the deleted ID or the number of tasks changed. Errors are
+ * written to standard error and the exit status is {@code 0} on success, {@code 1} if the command failed and
+ * {@code 2} if its arguments were not valid. With {@code task-cli.single-command.timing=true} the time spent
+ * in the command and since the JVM started is written to standard error.
+ * <p>
+ * Storage commands and the built-in shell commands still run through Spring Shell.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SingleCommandRunner implements ApplicationRunner {
+
+    /**
+     * Set by the application when it is started with a single task command.
+     */
+    public static final String SINGLE_COMMAND_PROPERTY = "task-cli.single-command";
+
+    private static final int EXIT_FAILED = 1;
+    private static final int EXIT_INVALID_ARGUMENTS = 2;
+
+    private final TaskCommandDispatcher taskCommandDispatcher;
+    private final ConfigurableApplicationContext context;
+    private final Terminal terminal;
+    private final boolean timing;
+
+    /**
+     * Constructs a SingleCommandRunner component.
+     *
+     * @param taskCommandDispatcher Executes the command.
+     * @param context               The application context, closed when the command ends.
+     * @param terminal              The terminal the result is written to.
+     * @param timing                Whether the command latency is written to standard error.
+     */
+    @Autowired
+    public SingleCommandRunner(TaskCommandDispatcher taskCommandDispatcher, ConfigurableApplicationContext context,
+                               Terminal terminal, @Value("${task-cli.single-command.timing:false}") boolean timing) {
+        this.taskCommandDispatcher = taskCommandDispatcher;
+        this.context = context;
+        this.terminal = terminal;
+        this.timing = timing;
+    }
+
+    /**
+     * Tells whether the program arguments are a task command run by this runner: the first argument that is
+     * not a {@code --property=value} setting names a task command.
+     *
+     * @param args The program arguments.
+     * @return {@code true} if the application should run the command and exit.
+     */
+    public static boolean isSingleCommand(String... args) {
+        int command = commandIndex(args);
+        return command < args.length && TaskCommandDispatcher.COMMANDS.contains(args[command]);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String[] sourceArgs = args.getSourceArgs();
+        if (!isSingleCommand(sourceArgs)) {
+            return;
+        }
+        int command = commandIndex(sourceArgs);
+        List<String> arguments = Arrays.asList(sourceArgs).subList(command + 1, sourceArgs.length);
+        int status = runCommand(sourceArgs[command], arguments);
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+
+    /**
+     * Executes the command and writes its result.
+     *
+     * @param command   The command name.
+     * @param arguments The arguments following the command name.
+     * @return The exit status.
+     */
+    private int runCommand(String command, List<String> arguments) {
+        PrintWriter out = terminal.writer();
+        long started = System.nanoTime();
+        int status;
+        try {
+            String error = taskCommandDispatcher.execute(command, arguments, out, true);
+            if (error != null) {
+                System.err.println("Error: " + error);
+            }
+            status = error == null ? 0 : EXIT_FAILED;
+        } catch (IllegalArgumentException | InvalidStatusException | InvalidCommandException e) {
+            System.err.println("Error: " + e.getMessage());
+            status = EXIT_INVALID_ARGUMENTS;
+        } catch (RuntimeException e) {
+            System.err.println("Error: " + e.getMessage());
+            status = EXIT_FAILED;
+        }
+        out.flush();
+        if (timing) {
+            System.err.println(String.format(Locale.ROOT, "%s: %.3f ms, %d ms since JVM start",
+                    command, (System.nanoTime() - started) / 1e6, ManagementFactory.getRuntimeMXBean().getUptime()));
+        }
+        return status;
+    }
+
+    private static int commandIndex(String[] args) {
+        int index = 0;
+        while (index < args.length && args[index].startsWith("--") && args[index].contains("=")) {
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,70 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.command;
+
+import org.eduadomaravill.task_cli_v2.application.service.TaskService;
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.LatencyHistogram;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskMetrics;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskOperation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Shows where the time of the session went: the latency of each {@link TaskOperation} recorded by the
+ * {@link TaskMetrics}, the bytes read from and written to the store files, and how many tasks are in each status.
+ */
+@ShellComponent
+public class StatsCommands {
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final TaskService taskService;
+    private final TaskMetrics taskMetrics;
+
+    /**
+     * Constructs a StatsCommands component.
+     *
+     * @param taskService The service counting the tasks per status.
+     * @param taskMetrics The metrics recorded since the application started.
+     */
+    @Autowired
+    public StatsCommands(TaskService taskService, TaskMetrics taskMetrics) {
+        this.taskService = taskService;
+        this.taskMetrics = taskMetrics;
+    }
+
+    /**
+     * Shows the operation latencies, the bytes moved to and from disk and the task counts per status.
+     *
+     * @return The statistics.
+     */
+    @ShellMethod(key = "stats", value = "Show operation latencies, bytes read and written and task counts,\tExample: stats")
+    public String stats() {
+        StringBuilder stats = new StringBuilder();
+        if (!taskMetrics.isEnabled()) {
+            stats.append("Metrics are disabled (task-cli.metrics.enabled=false).\n");
+        } else {
+            stats.append(String.format(Locale.ROOT, "%-10s %10s %12s %12s %12s%n", "Operation", "Count", "p50 (ms)", "p99 (ms)", "max (ms)"));
+            for (TaskOperation operation : TaskOperation.values()) {
+                LatencyHistogram.Snapshot latency = taskMetrics.latency(operation);
+                stats.append(String.format(Locale.ROOT, "%-10s %10d %12.3f %12.3f %12.3f%n", operation.getLabel(), latency.getCount(),
+                        latency.percentile(50) / NANOS_PER_MILLI, latency.percentile(99) / NANOS_PER_MILLI,
+                        latency.getMaxNanos() / NANOS_PER_MILLI));
+            }
+            stats.append(String.format(Locale.ROOT, "%nBytes read:    %,d%nBytes written: %,d%n", taskMetrics.getBytesRead(), taskMetrics.getBytesWritten()));
+        }
+        Map<StatusTask, Long> counts = taskService.countTasksByStatus();
+        long total = 0;
+        stats.append("Tasks:        ");
+        for (StatusTask statusTask : StatusTask.values()) {
+            long count = counts.getOrDefault(statusTask, 0L);
+            total += count;
+            stats.append(' ').append(statusTask.getLabel()).append(' ').append(count).append(',');
+        }
+        stats.setLength(stats.length() - 1);
+        return stats.append(" (total ").append(total).append(')').toString();
+    }
+}
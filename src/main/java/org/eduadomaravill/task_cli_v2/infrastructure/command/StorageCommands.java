@@ -0,0 +1,101 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.command;
+
+import org.eduadomaravill.task_cli_v2.infrastructure.repository.PersistenceTaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+
+import java.nio.file.Path;
+
+/**
+ * Commands that operate on the task store itself rather than on individual tasks,
+ * such as converting it to and from JSON or backing it up.
+ */
+@ShellComponent
+@ConditionalOnProperty(name = "task-cli.save.task.engine", havingValue = "file", matchIfMissing = true)
+public class StorageCommands {
+
+    private final PersistenceTaskRepository persistenceTaskRepository;
+
+    /**
+     * Constructs a StorageCommands component.
+     *
+     * @param persistenceTaskRepository The repository holding the task store.
+     */
+    @Autowired
+    public StorageCommands(PersistenceTaskRepository persistenceTaskRepository) {
+        this.persistenceTaskRepository = persistenceTaskRepository;
+    }
+
+    /**
+     * Writes every task of the store to a JSON file.
+     *
+     * @param path The JSON file to write.
+     * @return A message indicating how many tasks were exported.
+     */
+    @ShellMethod(key = "export-json", value = "Export all tasks to a JSON file,\tExample: export-json tasks.json")
+    public String exportJson(String path) {
+        int exported = persistenceTaskRepository.exportToJson(Path.of(path));
+        return exported < 0 ? "Tasks could not be exported." : "Exported " + exported + " tasks to " + path;
+    }
+
+    /**
+     * Replaces the store with the tasks of a JSON file, written in the configured storage format.
+     *
+     * @param path The JSON file to read.
+     * @return A message indicating how many tasks were imported.
+     */
+    @ShellMethod(key = "import-json", value = "Replace all tasks with a JSON file,\tExample: import-json tasks.json")
+    public String importJson(String path) {
+        int imported = persistenceTaskRepository.importFromJson(Path.of(path));
+        return imported < 0 ? "Tasks could not be imported." : "Imported " + imported + " tasks from " + path;
+    }
+
+    /**
+     * Writes a point-in-time copy of the store to an archive, as JSON Lines or binary and optionally gzip-compressed.
+     *
+     * @param path The archive to write; {@code .bin} selects the binary format and {@code .gz} compression.
+     * @return A message indicating how many tasks were exported.
+     */
+    @ShellMethod(key = "export", value = "Export all tasks to a JSON Lines or binary archive, gzip-compressed if it ends with .gz,\tExample: export backup.jsonl.gz")
+    public String export(String path) {
+        int exported = persistenceTaskRepository.exportArchive(Path.of(path));
+        return exported < 0 ? "Tasks could not be exported." : "Exported " + exported + " tasks to " + path;
+    }
+
+    /**
+     * Writes a compressed, timestamped archive of the store to its {@code snapshots} directory.
+     *
+     * @return A message indicating where the snapshot was written.
+     */
+    @ShellMethod(key = "snapshot", value = "Write a compressed archive of all tasks to the snapshots directory of the store,\tExample: snapshot")
+    public String snapshot() {
+        Path target = persistenceTaskRepository.newSnapshotPath();
+        int exported = persistenceTaskRepository.exportArchive(target);
+        return exported < 0 ? "Snapshot could not be written." : "Wrote snapshot of " + exported + " tasks to " + target;
+    }
+
+    /**
+     * Replaces the store with the tasks of an archive written by {@code export} or {@code snapshot}, or of a JSON export.
+     *
+     * @param path The archive to read.
+     * @return A message indicating how many tasks were restored.
+     */
+    @ShellMethod(key = "restore", value = "Replace all tasks with an export or snapshot archive,\tExample: restore backup.jsonl.gz")
+    public String restore(String path) {
+        int restored = persistenceTaskRepository.restoreArchive(Path.of(path));
+        return restored < 0 ? "Tasks could not be restored." : "Restored " + restored + " tasks from " + path;
+    }
+
+    /**
+     * Writes the changes queued by the asynchronous writer right away.
+     *
+     * @return A message indicating how many queued changes were written.
+     */
+    @ShellMethod(key = "flush", value = "Write queued changes to disk now (asynchronous writes),\tExample: flush")
+    public String flush() {
+        int written = persistenceTaskRepository.flush();
+        return written < 0 ? "Queued changes could not be written, they will be retried." : "Wrote " + written + " queued changes.";
+    }
+}
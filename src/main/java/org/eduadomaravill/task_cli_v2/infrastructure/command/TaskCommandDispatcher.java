@@ -0,0 +1,357 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.command;
+
+import org.eduadomaravill.task_cli_v2.application.service.TaskService;
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.domain.model.Task;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskFilter;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskSortField;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Executes task commands given as words straight on {@link TaskService}, without Spring Shell command
+ * resolution. Used by the batch runner for every line of a command file and by the single command runner
+ * for the program arguments.
+ * <p>
+ * Tasks are written one per line as tab-separated ID, status and description, so the output can be
+ * processed by other programs, or in the {@link TaskOutputFormat} given with {@code --format}.
+ */
+@Component
+class TaskCommandDispatcher {
+
+    /**
+     * The commands this dispatcher executes.
+     */
+    static final Set<String> COMMANDS = Set.of("add", "import", "update", "mark-done", "mark-in-progress",
+            "update-status", "delete", "get", "list", "search");
+
+    private static final int LIST_PAGE_SIZE = 500;
+
+    private final TaskService taskService;
+    private final TaskImportReader taskImportReader;
+    private final TaskOutputWriter taskOutputWriter;
+
+    /**
+     * Constructs a TaskCommandDispatcher component.
+     *
+     * @param taskService      The service responsible for task operations.
+     * @param taskImportReader Reads the files passed to {@code import}.
+     * @param taskOutputWriter Writes tasks in the format given with {@code --format}.
+     */
+    @Autowired
+    public TaskCommandDispatcher(TaskService taskService, TaskImportReader taskImportReader, TaskOutputWriter taskOutputWriter) {
+        this.taskService = taskService;
+        this.taskImportReader = taskImportReader;
+        this.taskOutputWriter = taskOutputWriter;
+    }
+
+    /**
+     * Executes one command.
+     *
+     * @param command      The command name.
+     * @param arguments    The words following the command name.
+     * @param out          Where the results of read commands are written.
+     * @param printChanges Whether commands that change tasks also write the changed task, the deleted ID or,
+     *                     for commands changing several tasks, their number.
+     * @return {@code null} if the command succeeded, otherwise the error to report.
+     * @throws IllegalArgumentException If the arguments are not valid for the command.
+     */
+    String execute(String command, List<String> arguments, PrintWriter out, boolean printChanges) {
+        CommandLine line = CommandLine.parse(arguments);
+        String format = line.option("format");
+        Output output = new Output(format == null ? TaskOutputFormat.TABLE : TaskOutputFormat.fromLabel(format), out);
+        try {
+            return execute(command, line, output, printChanges);
+        } catch (IOException e) {
+            return "could not write the output: " + e.getLocalizedMessage();
+        }
+    }
+
+    private String execute(String command, CommandLine line, Output out, boolean printChanges) throws IOException {
+        switch (command) {
+            case "add" -> {
+                Optional<Task> task = taskService.createTask(line.positional(0, "Empty task"));
+                return out.printed(task, printChanges) ? null : "task could not be created";
+            }
+            case "import" -> {
+                List<String> descriptions;
+                try {
+                    descriptions = taskImportReader.readDescriptions(Path.of(line.required(0)));
+                } catch (IOException e) {
+                    return "could not read " + line.required(0) + ": " + e.getLocalizedMessage();
+                }
+                if (descriptions.isEmpty()) {
+                    return out.printedCount("imported", 0, printChanges);
+                }
+                List<Task> tasks = taskService.createTasks(descriptions);
+                return tasks.isEmpty() ? "tasks could not be imported" : out.printedCount("imported", tasks.size(), printChanges);
+            }
+            case "update" -> {
+                Long idTask = requireId(line.required(0));
+                String description = line.required(1);
+                String ifVersion = line.option("if-version");
+                Optional<Task> task = ifVersion == null
+                        ? taskService.updateTaskByDescription(idTask, description)
+                        : taskService.updateTaskByDescription(idTask, description, Long.parseLong(ifVersion));
+                return out.printed(task, printChanges) ? null : "task " + idTask + " not found or could not be updated";
+            }
+            case "mark-done" -> {
+                return markStatus(line, StatusTask.DONE, out, printChanges);
+            }
+            case "mark-in-progress" -> {
+                return markStatus(line, StatusTask.IN_PROGRESS, out, printChanges);
+            }
+            case "update-status" -> {
+                TaskFilter.TaskFilterBuilder filter = TaskFilter.builder().status(StatusTask.fromStatusLabel(line.requiredOption("from")));
+                if (line.option("ids") != null && !CommandArguments.applyIdRange(filter, line.option("ids"))) {
+                    return "invalid ID range: " + line.option("ids");
+                }
+                int updated = taskService.updateTasksByStatus(filter.build(), StatusTask.fromStatusLabel(line.requiredOption("to")));
+                return updated < 0 ? "tasks could not be updated" : out.printedCount("updated", updated, printChanges);
+            }
+            case "delete" -> {
+                return delete(line, out, printChanges);
+            }
+            case "get" -> {
+                Optional<Task> task = taskService.getTaskById(requireId(line.required(0)));
+                return out.printed(task, true) ? null : "task not found";
+            }
+            case "list" -> {
+                String status = line.positional(0, "all");
+                StatusTask statusTask = status.equalsIgnoreCase("all") ? null : StatusTask.fromStatusLabel(status);
+                if (line.option("sort") != null || line.option("desc") != null || line.option("top") != null) {
+                    TaskSortField sortField = line.option("sort") == null ? TaskSortField.ID : TaskSortField.fromLabel(line.option("sort"));
+                    int top = line.option("top") == null ? 0 : Integer.parseInt(line.option("top"));
+                    out.printAll(taskService.getTopTasks(statusTask, sortField, line.option("desc") != null, top));
+                    return null;
+                }
+                int limit = line.option("limit") == null ? 0 : Integer.parseInt(line.option("limit"));
+                int remaining = limit == 0 ? Integer.MAX_VALUE : limit;
+                int offset = line.option("offset") == null ? 0 : Integer.parseInt(line.option("offset"));
+                long cursor = line.option("after") == null ? 0 : Long.parseLong(line.option("after"));
+                try (TaskOutputWriter.TaskSink sink = out.open()) {
+                    while (remaining > 0) {
+                        int pageSize = Math.min(LIST_PAGE_SIZE, remaining);
+                        List<Task> page = taskService.getTasksPage(statusTask, cursor, offset, pageSize);
+                        for (Task task : page) {
+                            sink.write(task);
+                        }
+                        if (page.size() < pageSize) {
+                            break;
+                        }
+                        cursor = page.get(page.size() - 1).getIdTask();
+                        remaining -= page.size();
+                        offset = 0;
+                    }
+                }
+                return null;
+            }
+            case "search" -> {
+                String limit = line.option("limit");
+                out.printAll(taskService.searchTasks(line.required(0), limit == null ? 20 : Integer.parseInt(limit)));
+                return null;
+            }
+            default -> {
+                return "unknown command: " + command;
+            }
+        }
+    }
+
+    private String markStatus(CommandLine line, StatusTask statusTask, Output out, boolean printChanges) throws IOException {
+        String arg = line.required(0);
+        if (CommandArguments.isIdRange(arg)) {
+            TaskFilter.TaskFilterBuilder filter = TaskFilter.builder();
+            if (!CommandArguments.applyIdRange(filter, arg)) {
+                return "invalid ID range: " + arg;
+            }
+            int updated = taskService.updateTasksByStatus(filter.build(), statusTask);
+            return updated < 0 ? "tasks could not be updated" : out.printedCount("updated", updated, printChanges);
+        }
+        Long idTask = requireId(arg);
+        String ifVersion = line.option("if-version");
+        Optional<Task> task = ifVersion == null
+                ? taskService.updateTaskByStatus(idTask, statusTask)
+                : taskService.updateTaskByStatus(idTask, statusTask, Long.parseLong(ifVersion));
+        return out.printed(task, printChanges) ? null : "task " + idTask + " not found or could not be updated";
+    }
+
+    private String delete(CommandLine line, Output out, boolean printChanges) throws IOException {
+        String arg = line.positional(0, null);
+        String status = line.option("status");
+        String olderThan = line.option("older-than");
+        if (arg == null && status == null && olderThan == null) {
+            return "delete needs an ID, a range or a filter";
+        }
+        if (status == null && olderThan == null && !CommandArguments.isIdRange(arg)) {
+            Long idTask = requireId(arg);
+            if (!taskService.deleteTask(idTask)) {
+                return "task " + idTask + " not found or could not be deleted";
+            }
+            return out.printedDeletedId(idTask, printChanges);
+        }
+        TaskFilter.TaskFilterBuilder filter = TaskFilter.builder();
+        if (arg != null && !CommandArguments.applyIdRange(filter, arg)) {
+            return "invalid ID range: " + arg;
+        }
+        if (status != null) {
+            filter.status(StatusTask.fromStatusLabel(status));
+        }
+        if (olderThan != null) {
+            Duration age = CommandArguments.parseAge(olderThan);
+            if (age == null) {
+                return "invalid age: " + olderThan;
+            }
+            filter.updatedBefore(LocalDateTime.now().minus(age));
+        }
+        int deleted = taskService.deleteTasks(filter.build());
+        return deleted < 0 ? "tasks could not be deleted" : out.printedCount("deleted", deleted, printChanges);
+    }
+
+    private static Long requireId(String value) {
+        Long idTask = CommandArguments.parseId(value);
+        if (idTask == null) {
+            throw new IllegalArgumentException("invalid task ID: " + value);
+        }
+        return idTask;
+    }
+
+    /**
+     * Writes the results of one command in its output format; the table format stands for the plain
+     * tab-separated lines.
+     */
+    private final class Output {
+        private final TaskOutputFormat format;
+        private final PrintWriter out;
+
+        private Output(TaskOutputFormat format, PrintWriter out) {
+            this.format = format;
+            this.out = out;
+        }
+
+        TaskOutputWriter.TaskSink open() throws IOException {
+            return format == TaskOutputFormat.TABLE ? new LineSink(out) : taskOutputWriter.open(format, out);
+        }
+
+        void printAll(List<Task> tasks) throws IOException {
+            try (TaskOutputWriter.TaskSink sink = open()) {
+                for (Task task : tasks) {
+                    sink.write(task);
+                }
+            }
+        }
+
+        boolean printed(Optional<Task> task, boolean print) throws IOException {
+            if (print && task.isPresent()) {
+                printAll(List.of(task.get()));
+            }
+            return task.isPresent();
+        }
+
+        String printedCount(String name, int count, boolean print) throws IOException {
+            if (print) {
+                if (format == TaskOutputFormat.TABLE) {
+                    out.println(count);
+                } else {
+                    taskOutputWriter.writeCount(format, out, name, count);
+                }
+            }
+            return null;
+        }
+
+        String printedDeletedId(Long idTask, boolean print) throws IOException {
+            if (print && format == TaskOutputFormat.TABLE) {
+                out.println(idTask);
+                return null;
+            }
+            return printedCount("deleted", 1, print);
+        }
+    }
+
+    /**
+     * Writes tasks as tab-separated ID, status and description.
+     */
+    private static final class LineSink implements TaskOutputWriter.TaskSink {
+        private final PrintWriter out;
+
+        private LineSink(PrintWriter out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(Task task) {
+            out.append(String.valueOf(task.getIdTask())).append('\t').append(task.getStatusTask().getLabel())
+                    .append('\t').append(task.getDescriptionTask()).println();
+        }
+
+        @Override
+        public void flush() {
+            out.flush();
+        }
+
+        @Override
+        public void close() {
+            // The writer belongs to the caller.
+        }
+    }
+
+    /**
+     * The positional arguments and {@code --name value} or {@code --name=value} options of a command line.
+     */
+    private record CommandLine(List<String> positionals, Map<String, String> options) {
+
+        static CommandLine parse(List<String> words) {
+            List<String> positionals = new ArrayList<>();
+            Map<String, String> options = new HashMap<>();
+            for (int i = 0; i < words.size(); i++) {
+                String word = words.get(i);
+                if (word.startsWith("--") && word.length() > 2) {
+                    int equals = word.indexOf('=');
+                    if (equals > 2) {
+                        options.put(word.substring(2, equals), word.substring(equals + 1));
+                        continue;
+                    }
+                    boolean hasValue = i + 1 < words.size() && !words.get(i + 1).startsWith("--");
+                    options.put(word.substring(2), hasValue ? words.get(++i) : "");
+                } else {
+                    positionals.add(word);
+                }
+            }
+            return new CommandLine(positionals, options);
+        }
+
+        String positional(int index, String defaultValue) {
+            return index < positionals.size() ? positionals.get(index) : defaultValue;
+        }
+
+        String required(int index) {
+            if (index >= positionals.size()) {
+                throw new IllegalArgumentException("missing argument " + (index + 1));
+            }
+            return positionals.get(index);
+        }
+
+        String option(String name) {
+            return options.get(name);
+        }
+
+        String requiredOption(String name) {
+            String value = options.get(name);
+            if (value == null || value.isEmpty()) {
+                throw new IllegalArgumentException("missing option --" + name);
+            }
+            return value;
+        }
+    }
+}
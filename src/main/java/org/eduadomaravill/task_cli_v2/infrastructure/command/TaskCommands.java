@@ -3,6 +3,11 @@ package org.eduadomaravill.task_cli_v2.infrastructure.command;
 import org.eduadomaravill.task_cli_v2.application.service.TaskService;
 import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
 import org.eduadomaravill.task_cli_v2.domain.model.Task;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskFilter;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskSortField;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskTimeField;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskMetrics;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskOperation;
 import org.jline.terminal.Terminal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,7 +15,14 @@ import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellOption;
 
-import java.time.format.DateTimeFormatter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,21 +34,41 @@ import java.util.Optional;
 @ShellComponent
 public class TaskCommands {
 
-    private static final String PATTERN_PRINT_TASK = "| %-12s: %-25s |";
     private final TaskService taskService;
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("MM/dd/yyyy hh:mm:ss a");
+    private final TaskImportReader taskImportReader;
+    private final TaskTableRenderer taskTableRenderer;
+    private final TaskOutputWriter taskOutputWriter;
+    private final TaskMetrics taskMetrics;
     private static final String ERROR_MESSAGE = "Error: invalid arguments provided.";
+    private static final int LIST_PAGE_SIZE = 500;
+    private final Terminal terminal;
 
     /**
      * Constructs a TaskCommands component.
      *
-     * @param taskService The service responsible for task operations.
-     * @param filePath    The file path where tasks are stored.
+     * @param taskService      The service responsible for task operations.
+     * @param taskImportReader Reads the descriptions of files passed to {@code import}.
+     * @param taskTableRenderer Renders the task cards and lists.
+     * @param taskOutputWriter Writes tasks in the machine-readable {@code --format}s.
+     * @param taskMetrics      Records the time spent rendering and writing command output.
+     * @param filePath         The file path where tasks are stored.
+     * @param terminal         The terminal long lists are streamed to.
+     * @param singleCommand    Whether the application runs a single command, in which case no welcome is shown.
      */
     @Autowired
-    public TaskCommands(TaskService taskService, @Value("${task-cli.save.task.path}") String filePath,Terminal terminal) {
+    public TaskCommands(TaskService taskService, TaskImportReader taskImportReader, TaskTableRenderer taskTableRenderer, TaskOutputWriter taskOutputWriter,
+                        TaskMetrics taskMetrics,
+                        @Value("${task-cli.save.task.path}") String filePath,Terminal terminal,
+                        @Value("${" + SingleCommandRunner.SINGLE_COMMAND_PROPERTY + ":false}") boolean singleCommand) {
         this.taskService = taskService;
-        terminal.writer().println("-----------------------------------------🖋️¡WELCOME TASK CLI!🖋️-----------------------------------------");
+        this.taskImportReader = taskImportReader;
+        this.taskTableRenderer = taskTableRenderer;
+        this.taskOutputWriter = taskOutputWriter;
+        this.taskMetrics = taskMetrics;
+        this.terminal = terminal;
+        if (!singleCommand) {
+            terminal.writer().println("-----------------------------------------🖋️¡WELCOME TASK CLI!🖋️-----------------------------------------");
+        }
     }
 
     /**
@@ -52,203 +84,509 @@ public class TaskCommands {
     /**
      * Adds a new task with the specified description.
      *
-     * @param arg  The task description.
-     * @param args Additional arguments (should not be provided).
+     * @param arg    The task description.
+     * @param format Output format: "table", "json", "jsonl" or "csv".
+     * @param args   Additional arguments (should not be provided).
      * @return A message indicating whether the task was successfully added.
      */
     @ShellMethod(key = "add", value = "Add a new task,\t\tExample: add \"Buy milk\"")
-    public String addTask(@ShellOption(defaultValue = "Empty task") String arg, String... args) {
+    public String addTask(@ShellOption(defaultValue = "Empty task") String arg,
+                          @ShellOption(defaultValue = "table") String format, String... args) {
         if (args != null && args.length > 0) {
             return errorExtraArgument();
         }
+        TaskOutputFormat outputFormat = TaskOutputFormat.fromLabel(format);
         Optional<Task> taskOptional = taskService.createTask(arg);
-        return taskOptional.map(task -> "----------Task Added Successfully----------\n" + printTask(task) +
-                "-".repeat(43)).orElse("Task could not be created.");
+        if (outputFormat != TaskOutputFormat.TABLE && taskOptional.isPresent()) {
+            return writeTasks(outputFormat, List.of(taskOptional.get()));
+        }
+        return taskOptional.map(task -> "----------Task Added Successfully----------\n" + renderCard(task)).orElse("Task could not be created.");
+    }
+
+    /**
+     * Adds one task per description found in a file, persisting all of them with a single write.
+     *
+     * @param path   The file to import: one description per line, a CSV file or a JSON array.
+     * @param format Output format: "table", "json", "jsonl" or "csv".
+     * @return A message indicating how many tasks were added.
+     */
+    @ShellMethod(key = "import", value = "Add a task per line of a text, CSV or JSON file,\tExample: import tasks.txt")
+    public String importTasks(String path, @ShellOption(defaultValue = "table") String format) {
+        TaskOutputFormat outputFormat = TaskOutputFormat.fromLabel(format);
+        List<String> descriptions;
+        try {
+            descriptions = taskImportReader.readDescriptions(Path.of(path));
+        } catch (IOException e) {
+            return "Error: could not read " + path + ": " + e.getLocalizedMessage();
+        }
+        if (descriptions.isEmpty()) {
+            return outputFormat == TaskOutputFormat.TABLE ? "No tasks found in " + path : writeCount(outputFormat, "imported", 0);
+        }
+        List<Task> tasks = taskService.createTasks(descriptions);
+        if (outputFormat != TaskOutputFormat.TABLE && !tasks.isEmpty()) {
+            return writeCount(outputFormat, "imported", tasks.size());
+        }
+        return tasks.isEmpty()
+                ? "Tasks could not be imported."
+                : "Imported " + tasks.size() + " tasks (ID " + tasks.getFirst().getIdTask() + " to " + tasks.getLast().getIdTask() + ").";
     }
 
     /**
      * Retrieves a task by its ID.
      *
-     * @param arg  The task ID.
-     * @param args Additional arguments (should not be provided).
+     * @param arg    The task ID.
+     * @param format Output format: "table", "json", "jsonl" or "csv".
+     * @param args   Additional arguments (should not be provided).
      * @return The task details if found, otherwise an error message.
      */
-    @ShellMethod(key = "get", value = "Retrieve a task with ID,\tExample: get 2")
-    public String getTask(@ShellOption(defaultValue = "0") Long arg, String... args) {
+    @ShellMethod(key = "get", value = "Retrieve a task with ID,\tExample: get 2 or get 2 --format json")
+    public String getTask(@ShellOption(defaultValue = "0") Long arg,
+                          @ShellOption(defaultValue = "table") String format, String... args) {
         if (args != null && args.length > 0) {
             return errorExtraArgument();
         }
+        TaskOutputFormat outputFormat = TaskOutputFormat.fromLabel(format);
         Optional<Task> taskOptional = taskService.getTaskById(arg);
-        return taskOptional.map(task -> "-----------------Task Found----------------\n" + printTask(task) +
-                "-".repeat(43)).orElse("Task not found.");
+        if (outputFormat != TaskOutputFormat.TABLE && taskOptional.isPresent()) {
+            return writeTasks(outputFormat, List.of(taskOptional.get()));
+        }
+        return taskOptional.map(task -> "-----------------Task Found----------------\n" + renderCard(task)).orElse("Task not found.");
     }
 
     /**
      * Lists all tasks or filters them by status.
+     * <p>
+     * Rows are fetched in pages of {@value #LIST_PAGE_SIZE} tasks, each page starting after the last ID of
+     * the previous one, and written to the terminal as soon as they are formatted, so memory use does not
+     * grow with the number of tasks listed. The machine-readable formats are streamed the same way, without
+     * the table header, footer and continuation hint.
      *
      * @param status The status filter (e.g., "all", "done", "in-progress").
-     * @return A formatted list of tasks.
+     * @param limit  Maximum number of tasks to list; {@code 0} lists every task.
+     * @param offset Number of matching tasks to skip.
+     * @param after  Only list tasks with a greater ID, the cursor printed at the end of a limited listing.
+     * @param sort   Order the tasks by "id", "created" or "updated" instead of paging them.
+     * @param desc   Reverse the order: highest ID or newest first.
+     * @param top    Only list the first tasks in that order; {@code 0} lists every task.
+     * @param format Output format: "table", "json", "jsonl" or "csv".
+     * @return The end of the list, or a message if there are no tasks.
      */
-    @ShellMethod(key = "list", value = "List all tasks without or with status,\tExample: 'list' or 'list done' or 'list in-progress'")
-    public String listTasks(@ShellOption(defaultValue = "all") String status) {
-        int marginLength = 126;
+    @ShellMethod(key = "list", value = "List all tasks without or with status,\tExample: 'list' or 'list done' or 'list --limit 50 --after 120' or 'list in-progress --sort updated --desc --top 20' or 'list --format jsonl'")
+    public String listTasks(@ShellOption(defaultValue = "all") String status,
+                            @ShellOption(defaultValue = "0") int limit,
+                            @ShellOption(defaultValue = "0") int offset,
+                            @ShellOption(defaultValue = "0") long after,
+                            @ShellOption(defaultValue = ShellOption.NULL) String sort,
+                            @ShellOption(defaultValue = "false") boolean desc,
+                            @ShellOption(defaultValue = "0") int top,
+                            @ShellOption(defaultValue = "table") String format) {
+        if (limit < 0 || offset < 0 || after < 0 || top < 0) {
+            return ERROR_MESSAGE;
+        }
+        TaskOutputFormat outputFormat = TaskOutputFormat.fromLabel(format);
         StatusTask statusTask = status.equalsIgnoreCase("all") ? null : StatusTask.fromStatusLabel(status);
-        List<Task> tasks = taskService.getAllTasks();
-        if (statusTask != null) {
-            tasks = tasks.stream().filter(task -> task.getStatusTask().equals(statusTask)).toList();
-        }
-        String tasksListText = "Tasks List";
-        int totalSpaces = marginLength - tasksListText.length() - 2;
-        int leftSpaces = totalSpaces / 2;
-        int rightSpaces = totalSpaces - leftSpaces;
-        String centeredTasksList = "|" + "-".repeat(leftSpaces) + tasksListText + "-".repeat(rightSpaces) + "|";
+        if (sort != null || desc || top > 0) {
+            if (limit > 0 || offset > 0 || after > 0) {
+                return "Error: --sort, --desc and --top cannot be combined with --limit, --offset or --after.";
+            }
+            TaskSortField sortField = sort == null ? TaskSortField.ID : TaskSortField.fromLabel(sort);
+            List<Task> tasks = taskService.getTopTasks(statusTask, sortField, desc, top);
+            return outputFormat == TaskOutputFormat.TABLE ? renderList(tasks) : writeTasks(outputFormat, tasks);
+        }
+        if (outputFormat != TaskOutputFormat.TABLE) {
+            return streamTasks(outputFormat, statusTask, limit, offset, after);
+        }
+        PrintWriter writer = terminal.writer();
+        StringBuilder chunk = new StringBuilder();
+        int remaining = limit == 0 ? Integer.MAX_VALUE : limit;
+        int skip = offset;
+        long cursor = after;
+        int count = 0;
+        boolean exhausted = false;
+        while (remaining > 0 && !exhausted) {
+            int pageSize = Math.min(LIST_PAGE_SIZE, remaining);
+            List<Task> page = taskService.getTasksPage(statusTask, cursor, skip, pageSize);
+            long started = taskMetrics.start();
+            chunk.setLength(0);
+            if (count == 0 && !page.isEmpty()) {
+                chunk.append(taskTableRenderer.listHeader());
+            }
+            for (Task task : page) {
+                count++;
+                taskTableRenderer.appendListRow(chunk, offset + count, task);
+                chunk.append('\n');
+            }
+            writer.append(chunk);
+            writer.flush();
+            taskMetrics.record(TaskOperation.RENDER, started);
+            if (!page.isEmpty()) {
+                cursor = page.get(page.size() - 1).getIdTask();
+            }
+            exhausted = page.size() < pageSize;
+            remaining -= page.size();
+            skip = 0;
+        }
+        if (count == 0) {
+            return "No tasks found.";
+        }
+        String footer = taskTableRenderer.listFooter();
+        if (!exhausted && !taskService.getTasksPage(statusTask, cursor, 0, 1).isEmpty()) {
+            footer += "\nMore tasks available, continue with: --after " + cursor;
+        }
+        return footer;
+    }
 
-        return tasks.isEmpty()
-                ? "No tasks found."
-                : centeredTasksList + "\n" + printTaskList(tasks, marginLength) + "-".repeat(marginLength);
+    /**
+     * Lists the tasks created or updated within a time range.
+     *
+     * @param field The time to filter on ("created" or "updated").
+     * @param from  Start of the range as a date (yyyy-MM-dd) or date-time (yyyy-MM-ddTHH:mm[:ss]), inclusive.
+     * @param to    End of the range as a date or date-time, inclusive.
+     * @return A formatted list of tasks ordered by the chosen time.
+     */
+    @ShellMethod(key = "list-range", value = "List tasks created or updated in a time range,\tExample: list-range --field updated --from 2025-02-01 --to 2025-02-10")
+    public String listTasksInRange(@ShellOption(defaultValue = "created") String field,
+                                   @ShellOption(defaultValue = ShellOption.NULL) String from,
+                                   @ShellOption(defaultValue = ShellOption.NULL) String to) {
+        LocalDateTime fromDateTime;
+        LocalDateTime toDateTime;
+        try {
+            fromDateTime = parseDateTime(from, false);
+            toDateTime = parseDateTime(to, true);
+        } catch (DateTimeParseException e) {
+            return "Error: invalid date, use yyyy-MM-dd or yyyy-MM-ddTHH:mm:ss.";
+        }
+        return renderList(taskService.getTasksByTimeRange(TaskTimeField.fromLabel(field), fromDateTime, toDateTime));
+    }
+
+    /**
+     * Searches the task descriptions.
+     *
+     * @param query The words to search for; each word also matches longer words it starts.
+     * @param limit The maximum number of results.
+     * @return A formatted list of the best matching tasks, best match first.
+     */
+    @ShellMethod(key = "search", value = "Search tasks by description,\tExample: search \"buy milk\" --limit 10")
+    public String searchTasks(String query, @ShellOption(defaultValue = "20") int limit) {
+        if (query == null || query.isBlank()) {
+            return errorExtraArgument();
+        }
+        return renderList(taskService.searchTasks(query, limit));
     }
 
     /**
-     * Deletes a task by its ID.
+     * Deletes a task by its ID, or every task selected by an ID range and filters with a single write.
      *
-     * @param arg  The task ID.
-     * @param args Additional arguments (should not be provided).
-     * @return A message indicating whether the task was deleted.
+     * @param arg       The task ID or an inclusive ID range such as {@code 100..250}; optional when a filter is given.
+     * @param status    Only delete tasks with this status.
+     * @param olderThan Only delete tasks last updated longer ago than this age, such as {@code 30d}, {@code 12h} or {@code 2w}.
+     * @param format    Output format: "table", "json", "jsonl" or "csv".
+     * @param args      Additional arguments (should not be provided).
+     * @return A message indicating whether or how many tasks were deleted.
      */
-    @ShellMethod(key = "delete", value = "Delete a task with ID,\tExample: delete 2")
-    public String deleteTask(@ShellOption(defaultValue = "0") Long arg, String... args) {
+    @ShellMethod(key = "delete", value = "Delete a task with ID or the tasks matching filters,\tExample: 'delete 2' or 'delete 10..20' or 'delete --status done --older-than 30d'")
+    public String deleteTask(@ShellOption(defaultValue = ShellOption.NULL) String arg,
+                             @ShellOption(defaultValue = ShellOption.NULL) String status,
+                             @ShellOption(defaultValue = ShellOption.NULL) String olderThan,
+                             @ShellOption(defaultValue = "table") String format,
+                             String... args) {
         if (args != null && args.length > 0) {
             return errorExtraArgument();
         }
-        return taskService.deleteTask(arg) ? "\n\t----Task Deleted Successfully----\n" : "Task not found or could not be deleted.";
+        TaskOutputFormat outputFormat = TaskOutputFormat.fromLabel(format);
+        if (arg == null && status == null && olderThan == null) {
+            return errorExtraArgument();
+        }
+        if (status == null && olderThan == null && !CommandArguments.isIdRange(arg)) {
+            Long idTask = CommandArguments.parseId(arg);
+            if (idTask == null) {
+                return errorExtraArgument();
+            }
+            if (!taskService.deleteTask(idTask)) {
+                return "Task not found or could not be deleted.";
+            }
+            return outputFormat == TaskOutputFormat.TABLE ? "\n\t----Task Deleted Successfully----\n" : writeCount(outputFormat, "deleted", 1);
+        }
+        TaskFilter.TaskFilterBuilder filter = TaskFilter.builder();
+        if (arg != null && !CommandArguments.applyIdRange(filter, arg)) {
+            return errorExtraArgument();
+        }
+        if (status != null) {
+            filter.status(StatusTask.fromStatusLabel(status));
+        }
+        if (olderThan != null) {
+            Duration age = CommandArguments.parseAge(olderThan);
+            if (age == null) {
+                return "Error: invalid age, use a number followed by m, h, d or w (e.g. 30d).";
+            }
+            filter.updatedBefore(LocalDateTime.now().minus(age));
+        }
+        int deleted = taskService.deleteTasks(filter.build());
+        if (deleted < 0) {
+            return "Tasks could not be deleted.";
+        }
+        return outputFormat == TaskOutputFormat.TABLE ? "Deleted " + deleted + " tasks." : writeCount(outputFormat, "deleted", deleted);
     }
 
-    @ShellMethod(key = "update", value = "Update a task with ID,\tExample: update 2 \"Buy eggs\"")
-    public String updateTask(@ShellOption(defaultValue = "0") Long arg, String description, String... args) {
+    /**
+     * Updates the description of a task.
+     *
+     * @param arg         The task ID.
+     * @param description The new description.
+     * @param ifVersion   Only update the task if it is still at this version.
+     * @param format      Output format: "table", "json", "jsonl" or "csv".
+     * @param args        Additional arguments (should not be provided).
+     * @return A message indicating whether the task was updated.
+     */
+    @ShellMethod(key = "update", value = "Update a task with ID,\tExample: update 2 \"Buy eggs\" or update 2 \"Buy eggs\" --if-version 3")
+    public String updateTask(@ShellOption(defaultValue = "0") Long arg, String description,
+                             @ShellOption(defaultValue = ShellOption.NULL) Long ifVersion,
+                             @ShellOption(defaultValue = "table") String format, String... args) {
         if (args != null && args.length > 1 || description == null) {
             return errorExtraArgument();
         }
-        Optional<Task> taskOptional = taskService.updateTaskByDescription(arg, description);
+        TaskOutputFormat outputFormat = TaskOutputFormat.fromLabel(format);
+        Optional<Task> taskOptional = ifVersion == null
+                ? taskService.updateTaskByDescription(arg, description)
+                : taskService.updateTaskByDescription(arg, description, ifVersion);
+        if (outputFormat != TaskOutputFormat.TABLE && taskOptional.isPresent()) {
+            return writeTasks(outputFormat, List.of(taskOptional.get()));
+        }
 
-        return taskOptional.map(task -> "---------Task Updated Successfully---------\n" + printTask(task) +
-                "-".repeat(43)).orElse("Task not found or could not be updated.");
+        return taskOptional.map(task -> "---------Task Updated Successfully---------\n" + renderCard(task)).orElse("Task not found or could not be updated.");
     }
 
     /**
-     * Marks a task as done.
+     * Marks a task, or every task in an ID range, as done.
      *
-     * @param arg  The task ID.
-     * @param args Additional arguments (should not be provided).
-     * @return A message indicating whether the task was marked as done.
+     * @param arg       The task ID or an inclusive ID range such as {@code 100..250}.
+     * @param ifVersion Only update a single task if it is still at this version.
+     * @param format    Output format: "table", "json", "jsonl" or "csv".
+     * @param args      Additional arguments (should not be provided).
+     * @return A message indicating whether or how many tasks were marked as done.
      */
-    @ShellMethod(key = "mark-done", value = "Mark a task as done with ID,\tExample: mark-done 4")
-    public String markAsDone(@ShellOption(defaultValue = "0") Long arg, String... args) {
+    @ShellMethod(key = "mark-done", value = "Mark a task or an ID range as done,\tExample: 'mark-done 4' or 'mark-done 100..250'")
+    public String markAsDone(@ShellOption(defaultValue = "0") String arg,
+                             @ShellOption(defaultValue = ShellOption.NULL) Long ifVersion,
+                             @ShellOption(defaultValue = "table") String format, String... args) {
         if (args != null && args.length > 0) {
             return errorExtraArgument();
         }
-        Optional<Task> taskOptional = taskService.updateTaskByStatus(arg, StatusTask.DONE);
-        return taskOptional.map(task -> "------Task Marked as Done Successfully-----\n" + printTask(task) +
-                "-".repeat(43)).orElse("Task not found or could not be updated.");
+        TaskOutputFormat outputFormat = TaskOutputFormat.fromLabel(format);
+        if (CommandArguments.isIdRange(arg)) {
+            return ifVersion == null ? markRange(arg, StatusTask.DONE, outputFormat) : errorExtraArgument();
+        }
+        Long idTask = CommandArguments.parseId(arg);
+        if (idTask == null) {
+            return errorExtraArgument();
+        }
+        Optional<Task> taskOptional = ifVersion == null
+                ? taskService.updateTaskByStatus(idTask, StatusTask.DONE)
+                : taskService.updateTaskByStatus(idTask, StatusTask.DONE, ifVersion);
+        if (outputFormat != TaskOutputFormat.TABLE && taskOptional.isPresent()) {
+            return writeTasks(outputFormat, List.of(taskOptional.get()));
+        }
+        return taskOptional.map(task -> "------Task Marked as Done Successfully-----\n" + renderCard(task)).orElse("Task not found or could not be updated.");
     }
 
     /**
-     * Marks a task as in progress by its ID.
+     * Marks a task, or every task in an ID range, as in progress.
      *
-     * @param arg  The ID of the task to be updated.
-     * @param args Extra arguments (should be empty).
-     * @return A message indicating whether the update was successful or not.
+     * @param arg       The task ID or an inclusive ID range such as {@code 100..250}.
+     * @param ifVersion Only update a single task if it is still at this version.
+     * @param format    Output format: "table", "json", "jsonl" or "csv".
+     * @param args      Extra arguments (should be empty).
+     * @return A message indicating whether the update was successful or how many tasks were updated.
      */
-    @ShellMethod(key = "mark-in-progress", value = "Mark a task as in progress with ID,\tExample: mark-in-progress 4")
-    public String markAsInProgress(@ShellOption(defaultValue = "0") Long arg, String... args) {
+    @ShellMethod(key = "mark-in-progress", value = "Mark a task or an ID range as in progress,\tExample: 'mark-in-progress 4' or 'mark-in-progress 100..250'")
+    public String markAsInProgress(@ShellOption(defaultValue = "0") String arg,
+                                   @ShellOption(defaultValue = ShellOption.NULL) Long ifVersion,
+                                   @ShellOption(defaultValue = "table") String format, String... args) {
         if (args != null && args.length > 0) {
             return errorExtraArgument();
         }
-        Optional<Task> taskOptional = taskService.updateTaskByStatus(arg, StatusTask.IN_PROGRESS);
-        return taskOptional.map(task -> "--Task Marked as In Progress Successfully--\n" + printTask(task) +
-                "-".repeat(43)).orElse("Task not found or could not be marked as in progress.");
+        TaskOutputFormat outputFormat = TaskOutputFormat.fromLabel(format);
+        if (CommandArguments.isIdRange(arg)) {
+            return ifVersion == null ? markRange(arg, StatusTask.IN_PROGRESS, outputFormat) : errorExtraArgument();
+        }
+        Long idTask = CommandArguments.parseId(arg);
+        if (idTask == null) {
+            return errorExtraArgument();
+        }
+        Optional<Task> taskOptional = ifVersion == null
+                ? taskService.updateTaskByStatus(idTask, StatusTask.IN_PROGRESS)
+                : taskService.updateTaskByStatus(idTask, StatusTask.IN_PROGRESS, ifVersion);
+        if (outputFormat != TaskOutputFormat.TABLE && taskOptional.isPresent()) {
+            return writeTasks(outputFormat, List.of(taskOptional.get()));
+        }
+        return taskOptional.map(task -> "--Task Marked as In Progress Successfully--\n" + renderCard(task)).orElse("Task not found or could not be marked as in progress.");
+    }
+
+    /**
+     * Moves every task with one status, optionally limited to an ID range, to another status with a single write.
+     *
+     * @param from The current status of the tasks to update.
+     * @param to   The new status.
+     * @param ids    Optional inclusive ID range such as {@code 100..250}, or a single ID.
+     * @param format Output format: "table", "json", "jsonl" or "csv".
+     * @return A message indicating how many tasks were updated.
+     */
+    @ShellMethod(key = "update-status", value = "Change the status of every task with a status,\tExample: update-status --from in-progress --to todo")
+    public String updateStatus(String from, String to, @ShellOption(defaultValue = ShellOption.NULL) String ids,
+                               @ShellOption(defaultValue = "table") String format) {
+        TaskOutputFormat outputFormat = TaskOutputFormat.fromLabel(format);
+        TaskFilter.TaskFilterBuilder filter = TaskFilter.builder().status(StatusTask.fromStatusLabel(from));
+        if (ids != null && !CommandArguments.applyIdRange(filter, ids)) {
+            return errorExtraArgument();
+        }
+        return updateStatus(filter, StatusTask.fromStatusLabel(to), outputFormat);
+    }
+
+    /**
+     * Changes the status of every task in an ID range.
+     *
+     * @param range        The inclusive ID range.
+     * @param statusTask   The new status.
+     * @param outputFormat The output format.
+     * @return A message indicating how many tasks were updated.
+     */
+    private String markRange(String range, StatusTask statusTask, TaskOutputFormat outputFormat) {
+        TaskFilter.TaskFilterBuilder filter = TaskFilter.builder();
+        if (!CommandArguments.applyIdRange(filter, range)) {
+            return errorExtraArgument();
+        }
+        return updateStatus(filter, statusTask, outputFormat);
+    }
+
+    /**
+     * Changes the status of every task selected by a filter.
+     *
+     * @param filter       The tasks to update.
+     * @param statusTask   The new status.
+     * @param outputFormat The output format.
+     * @return A message indicating how many tasks were updated, or {@code null} once the count was written.
+     */
+    private String updateStatus(TaskFilter.TaskFilterBuilder filter, StatusTask statusTask, TaskOutputFormat outputFormat) {
+        int updated = taskService.updateTasksByStatus(filter.build(), statusTask);
+        if (updated < 0) {
+            return "Tasks could not be updated.";
+        }
+        return outputFormat == TaskOutputFormat.TABLE
+                ? "Marked " + updated + " tasks as " + statusTask.getLabel() + "."
+                : writeCount(outputFormat, "updated", updated);
     }
 
     /**
-     * Formats and prints a single task.
+     * Streams the tasks of a listing to the terminal in a machine-readable format, page by page.
      *
-     * @param task The task to be formatted.
-     * @return A formatted string representing the task details.
+     * @param outputFormat The output format.
+     * @param statusTask   Only list tasks with this status, or {@code null} for every task.
+     * @param limit        Maximum number of tasks to list; {@code 0} lists every task.
+     * @param offset       Number of matching tasks to skip.
+     * @param after        Only list tasks with a greater ID.
+     * @return {@code null} once the tasks were written, otherwise an error message.
      */
-    private String printTask(Task task) {
-        String formattedCreatedAt = task.getCreatedAt().format(FORMATTER);
-        String formattedUpdatedAt = task.getUpdatedAt().format(FORMATTER);
-        String description = justifyText(task.getDescriptionTask());
-        return "===========================================" + "\n" +
-                String.format(PATTERN_PRINT_TASK, "ID", task.getIdTask()) +
-                "\n" +
-                "| Description : " + description  +
-                "\n" +
-                String.format(PATTERN_PRINT_TASK, "Status", task.getStatusTask().getLabel()) +
-                "\n" +
-                String.format(PATTERN_PRINT_TASK, "Created At", formattedCreatedAt) +
-                "\n" +
-                String.format(PATTERN_PRINT_TASK, "Updated At", formattedUpdatedAt) +
-                "\n" +
-                "===========================================" +
-                "\n";
+    private String streamTasks(TaskOutputFormat outputFormat, StatusTask statusTask, int limit, int offset, long after) {
+        int remaining = limit == 0 ? Integer.MAX_VALUE : limit;
+        int skip = offset;
+        long cursor = after;
+        try (TaskOutputWriter.TaskSink sink = taskOutputWriter.open(outputFormat, terminal.writer())) {
+            while (remaining > 0) {
+                int pageSize = Math.min(LIST_PAGE_SIZE, remaining);
+                List<Task> page = taskService.getTasksPage(statusTask, cursor, skip, pageSize);
+                long started = taskMetrics.start();
+                for (Task task : page) {
+                    sink.write(task);
+                }
+                sink.flush();
+                taskMetrics.record(TaskOperation.RENDER, started);
+                if (page.size() < pageSize) {
+                    break;
+                }
+                cursor = page.get(page.size() - 1).getIdTask();
+                remaining -= page.size();
+                skip = 0;
+            }
+        } catch (IOException e) {
+            return "Error: could not write the tasks: " + e.getLocalizedMessage();
+        }
+        return null;
     }
 
     /**
-     * Formats and prints description task
+     * Writes tasks to the terminal in a machine-readable format.
      *
-     * @param text The description to be formatted.
-     * @return A formatted string representing the task details.
+     * @param outputFormat The output format.
+     * @param tasks        The tasks to write.
+     * @return {@code null} once the tasks were written, otherwise an error message.
      */
-    private String justifyText(String text) {
-        StringBuilder justifiedText = new StringBuilder();
-        if (text.length() > 25){
-            justifiedText.append(text, 0, 25);
-            justifiedText.append(" |\n");
-            for (int i = 25; i < text.length(); i += 25) {
-                int end = Math.min(i + 25, text.length());
-                justifiedText.append(String.format(PATTERN_PRINT_TASK," ",text.substring(i,end)));
-                justifiedText.append("\n");
+    private String writeTasks(TaskOutputFormat outputFormat, List<Task> tasks) {
+        long started = taskMetrics.start();
+        try (TaskOutputWriter.TaskSink sink = taskOutputWriter.open(outputFormat, terminal.writer())) {
+            for (Task task : tasks) {
+                sink.write(task);
             }
-        }else{
-            justifiedText.append(String.format("%-25s |",text));
+        } catch (IOException e) {
+            return "Error: could not write the tasks: " + e.getLocalizedMessage();
+        } finally {
+            taskMetrics.record(TaskOperation.RENDER, started);
         }
-        return justifiedText.toString().trim();
+        return null;
+    }
+
+    /**
+     * Renders the card of a task for the shell.
+     *
+     * @param task The task.
+     * @return The card, followed by its footer.
+     */
+    private String renderCard(Task task) {
+        return taskMetrics.time(TaskOperation.RENDER, () -> taskTableRenderer.renderTask(task) + taskTableRenderer.cardFooter());
     }
 
+    /**
+     * Renders a list of tasks as a table for the shell.
+     *
+     * @param tasks The tasks.
+     * @return The table, or a message if there are no tasks.
+     */
+    private String renderList(List<Task> tasks) {
+        return taskMetrics.time(TaskOperation.RENDER, () -> taskTableRenderer.renderList(tasks));
+    }
+
+    /**
+     * Writes the number of tasks changed by a command to the terminal in a machine-readable format.
+     *
+     * @param outputFormat The output format.
+     * @param name         What was counted.
+     * @param count        The number of tasks.
+     * @return {@code null} once the count was written, otherwise an error message.
+     */
+    private String writeCount(TaskOutputFormat outputFormat, String name, int count) {
+        try {
+            taskOutputWriter.writeCount(outputFormat, terminal.writer(), name, count);
+        } catch (IOException e) {
+            return "Error: could not write the result: " + e.getLocalizedMessage();
+        }
+        return null;
+    }
 
     /**
-     * Formats and prints a list of tasks with a given margin length.
+     * Parses a date or date-time argument.
      *
-     * @param tasks        The list of tasks to be formatted.
-     * @param marginLength The margin length for formatting.
-     * @return A formatted string representing the list of tasks.
+     * @param value     The argument, or {@code null}.
+     * @param endOfDay  Whether a plain date stands for the end of that day instead of its start.
+     * @return The parsed date-time, or {@code null} if no value was given.
      */
-    private String printTaskList(List<Task> tasks, int marginLength) {
-        StringBuilder sb = new StringBuilder();
-        int count = 1;
-        sb.append("=".repeat(marginLength));
-        sb.append("\n");
-        sb.append(String.format("|| %-3s | %-5s | %-25s | %-12s | %-30s | %-30s ||", "N°", "ID", "Description", "Status", "Created At", "Updated At"));
-        sb.append("\n");
-        sb.append("=".repeat(marginLength));
-        sb.append("\n");
-        for (Task task : tasks) {
-            String formattedCreatedAt = task.getCreatedAt().format(FORMATTER);
-            String formattedUpdatedAt = task.getUpdatedAt().format(FORMATTER);
-            sb.append(String.format("|| %-3s | %-5d | %-25s | %-12s | %-30s | %-30s ||",
-                    count,
-                    task.getIdTask(),
-                    task.getDescriptionTask().substring(0, Math.min(25, task.getDescriptionTask().length())),
-                    task.getStatusTask().getLabel(),
-                    formattedCreatedAt,
-                    formattedUpdatedAt
-            ));
-            sb.append("\n");
-            count++;
-        }
-        sb.append("=".repeat(marginLength));
-        sb.append("\n");
-        return sb.toString();
+    private LocalDateTime parseDateTime(String value, boolean endOfDay) {
+        if (value == null) {
+            return null;
+        }
+        if (value.contains("T")) {
+            return LocalDateTime.parse(value);
+        }
+        LocalDate date = LocalDate.parse(value);
+        return endOfDay ? date.atTime(LocalTime.MAX) : date.atStartOfDay();
     }
 
     /**
@@ -0,0 +1,120 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.command;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads task descriptions to import from a file.
+ * <ul>
+ *     <li>{@code .json}: an array of strings, or of objects with a {@code description},
+ *     {@code descriptionTask} or {@code descriptionTaskEntity} field.</li>
+ *     <li>{@code .csv}: the first column of every row; a header row named {@code description} is skipped.</li>
+ *     <li>Anything else: one description per line.</li>
+ * </ul>
+ * Blank descriptions are skipped.
+ */
+@Component
+public class TaskImportReader {
+
+    private static final String[] JSON_DESCRIPTION_FIELDS = {"description", "descriptionTask", "descriptionTaskEntity"};
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public TaskImportReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the descriptions of the given file.
+     *
+     * @param path The file to read.
+     * @return The descriptions in file order.
+     * @throws IOException If the file cannot be read or parsed.
+     */
+    public List<String> readDescriptions(Path path) throws IOException {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".json")) {
+            return readJson(path);
+        }
+        boolean csv = name.endsWith(".csv");
+        List<String> descriptions = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            boolean firstLine = true;
+            while ((line = reader.readLine()) != null) {
+                String description = csv ? firstCsvColumn(line) : line.strip();
+                if (csv && firstLine && description.equalsIgnoreCase("description")) {
+                    description = "";
+                }
+                firstLine = false;
+                if (!description.isBlank()) {
+                    descriptions.add(description);
+                }
+            }
+        }
+        return descriptions;
+    }
+
+    private List<String> readJson(Path path) throws IOException {
+        List<String> descriptions = new ArrayList<>();
+        try (MappingIterator<JsonNode> iterator = objectMapper.readerFor(JsonNode.class).readValues(path.toFile())) {
+            while (iterator.hasNextValue()) {
+                JsonNode node = iterator.nextValue();
+                String description = node.isTextual() ? node.asText() : descriptionField(node);
+                if (description != null && !description.isBlank()) {
+                    descriptions.add(description.strip());
+                }
+            }
+        }
+        return descriptions;
+    }
+
+    private static String descriptionField(JsonNode node) {
+        for (String field : JSON_DESCRIPTION_FIELDS) {
+            JsonNode value = node.get(field);
+            if (value != null && value.isTextual()) {
+                return value.asText();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the first column of a CSV row, honouring double quotes and {@code ""} escapes.
+     */
+    private static String firstCsvColumn(String line) {
+        String row = line.strip();
+        if (!row.startsWith("\"")) {
+            int comma = row.indexOf(',');
+            return (comma < 0 ? row : row.substring(0, comma)).strip();
+        }
+        StringBuilder column = new StringBuilder();
+        for (int i = 1; i < row.length(); i++) {
+            char character = row.charAt(i);
+            if (character == '"') {
+                if (i + 1 < row.length() && row.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else {
+                    break;
+                }
+            } else {
+                column.append(character);
+            }
+        }
+        return column.toString().strip();
+    }
+}
@@ -0,0 +1,57 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.command;
+
+import lombok.Getter;
+import org.eduadomaravill.task_cli_v2.domain.exception.InvalidCommandException;
+
+/**
+ * Output format of the task commands, selected with {@code --format}.
+ */
+@Getter // Generates the "Getter" methods for the fields.
+public enum TaskOutputFormat {
+    /**
+     * The decorated tables and cards of the shell.
+     */
+    TABLE("table"),
+
+    /**
+     * A single JSON array of task objects.
+     */
+    JSON("json"),
+
+    /**
+     * One JSON task object per line (JSON Lines).
+     */
+    JSONL("jsonl"),
+
+    /**
+     * Comma-separated values with a header line.
+     */
+    CSV("csv");
+
+    private final String label;
+
+    /**
+     * Constructs a TaskOutputFormat with the specified label.
+     *
+     * @param label The value of {@code --format} selecting this format.
+     */
+    TaskOutputFormat(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the TaskOutputFormat corresponding to the given label.
+     *
+     * @param formatLabel The label to match.
+     * @return The TaskOutputFormat corresponding to the label.
+     * @throws InvalidCommandException If no TaskOutputFormat matches the provided label.
+     */
+    public static TaskOutputFormat fromLabel(String formatLabel) {
+        for (TaskOutputFormat format : TaskOutputFormat.values()) {
+            if (format.getLabel().equalsIgnoreCase(formatLabel)) {
+                return format;
+            }
+        }
+        throw new InvalidCommandException("No output format found for label: " + formatLabel);
+    }
+}
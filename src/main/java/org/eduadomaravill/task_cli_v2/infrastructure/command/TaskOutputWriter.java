@@ -0,0 +1,222 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.command;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eduadomaravill.task_cli_v2.domain.model.Task;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes tasks in the machine-readable {@link TaskOutputFormat}s straight to a {@link Writer}.
+ * <p>
+ * JSON and JSON Lines are written field by field with a streaming {@link JsonGenerator} of the application's
+ * {@link ObjectMapper}, and CSV values are escaped while they are written, so no task is turned into an
+ * intermediate string or tree and a listing of any length is written as it is read. Every format has the
+ * same fields: {@code id}, {@code description}, {@code status}, {@code createdAt}, {@code updatedAt} and
+ * {@code version}, with ISO-8601 timestamps as stored in the JSON snapshot.
+ */
+@Component
+public class TaskOutputWriter {
+
+    private static final String CSV_HEADER = "id,description,status,createdAt,updatedAt,version\n";
+
+    private final JsonFactory jsonFactory;
+
+    /**
+     * Constructs a new {@link TaskOutputWriter}.
+     *
+     * @param objectMapper The application's object mapper, whose factory creates the JSON generators.
+     */
+    @Autowired
+    public TaskOutputWriter(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Starts writing tasks in the given format.
+     *
+     * @param format The output format; {@link TaskOutputFormat#TABLE} is rendered by {@link TaskTableRenderer} instead.
+     * @param writer The destination; it is flushed but not closed.
+     * @return The sink receiving the tasks, to be closed after the last one.
+     * @throws IOException If the start of the output could not be written.
+     */
+    public TaskSink open(TaskOutputFormat format, Writer writer) throws IOException {
+        return switch (format) {
+            case JSON -> new JsonSink(generator(writer), true);
+            case JSONL -> new JsonSink(generator(writer), false);
+            case CSV -> new CsvSink(writer);
+            case TABLE -> throw new IllegalArgumentException("Tables are rendered by TaskTableRenderer");
+        };
+    }
+
+    /**
+     * Writes the number of tasks changed by a command, such as {@code {"updated":12}}.
+     *
+     * @param format The output format.
+     * @param writer The destination; it is flushed but not closed.
+     * @param name   What was counted, such as {@code updated} or {@code deleted}.
+     * @param count  The number of tasks.
+     * @throws IOException If the count could not be written.
+     */
+    public void writeCount(TaskOutputFormat format, Writer writer, String name, long count) throws IOException {
+        if (format == TaskOutputFormat.CSV) {
+            writer.append(name).append('\n').append(Long.toString(count)).append('\n');
+            writer.flush();
+            return;
+        }
+        try (JsonGenerator generator = generator(writer)) {
+            generator.writeStartObject();
+            generator.writeNumberField(name, count);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+    }
+
+    private JsonGenerator generator(Writer writer) throws IOException {
+        // JSON Lines separates the objects with the line breaks alone, not the default space.
+        return jsonFactory.createGenerator(writer).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET).setRootValueSeparator(null);
+    }
+
+    /**
+     * Receives the tasks of one command output. Closing it completes the output and flushes it.
+     */
+    public interface TaskSink extends Closeable {
+
+        /**
+         * Writes one task.
+         *
+         * @param task The task.
+         * @throws IOException If the task could not be written.
+         */
+        void write(Task task) throws IOException;
+
+        /**
+         * Passes the tasks written so far on to the destination, for example after each page of a listing.
+         *
+         * @throws IOException If the tasks could not be written.
+         */
+        void flush() throws IOException;
+    }
+
+    private static final class JsonSink implements TaskSink {
+        private final JsonGenerator generator;
+        private final boolean array;
+
+        private JsonSink(JsonGenerator generator, boolean array) throws IOException {
+            this.generator = generator;
+            this.array = array;
+            if (array) {
+                generator.writeStartArray();
+            }
+        }
+
+        @Override
+        public void write(Task task) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", task.getIdTask());
+            generator.writeStringField("description", task.getDescriptionTask());
+            generator.writeStringField("status", task.getStatusTask().getLabel());
+            writeTime("createdAt", task.getCreatedAt());
+            writeTime("updatedAt", task.getUpdatedAt());
+            generator.writeNumberField("version", task.getVersion());
+            generator.writeEndObject();
+            if (!array) {
+                generator.writeRaw('\n');
+            }
+        }
+
+        private void writeTime(String name, LocalDateTime time) throws IOException {
+            if (time == null) {
+                generator.writeNullField(name);
+            } else {
+                generator.writeStringField(name, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(time));
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (array) {
+                generator.writeEndArray();
+                generator.writeRaw('\n');
+            }
+            generator.close();
+        }
+    }
+
+    private static final class CsvSink implements TaskSink {
+        private final Writer writer;
+
+        private CsvSink(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+        }
+
+        @Override
+        public void write(Task task) throws IOException {
+            writer.append(String.valueOf(task.getIdTask())).append(',');
+            writeValue(task.getDescriptionTask());
+            writer.append(',').append(task.getStatusTask().getLabel()).append(',');
+            writeTime(task.getCreatedAt());
+            writer.append(',');
+            writeTime(task.getUpdatedAt());
+            writer.append(',').append(Long.toString(task.getVersion())).append('\n');
+        }
+
+        /**
+         * Writes a value, quoted with inner quotes doubled if it contains a separator, quote or line break.
+         */
+        private void writeValue(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quoted = false;
+            for (int i = 0; i < value.length() && !quoted; i++) {
+                char character = value.charAt(i);
+                quoted = character == ',' || character == '"' || character == '\n' || character == '\r';
+            }
+            if (!quoted) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            int start = 0;
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) == '"') {
+                    writer.write(value, start, i + 1 - start);
+                    writer.write('"');
+                    start = i + 1;
+                }
+            }
+            writer.write(value, start, value.length() - start);
+            writer.write('"');
+        }
+
+        private void writeTime(LocalDateTime time) throws IOException {
+            if (time != null) {
+                DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(time, writer);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
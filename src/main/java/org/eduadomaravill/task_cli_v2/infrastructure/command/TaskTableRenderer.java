@@ -0,0 +1,243 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.command;
+
+import org.eduadomaravill.task_cli_v2.domain.model.Task;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Renders tasks as the tables and cards printed by the shell.
+ * <p>
+ * Columns are padded while they are appended to a caller-supplied {@link StringBuilder}, so a row costs no
+ * format strings, intermediate strings or timestamp formatter calls; rules and headers never change and
+ * are rendered once. Callers that print many rows reuse one builder, resetting it between chunks.
+ */
+@Component
+public class TaskTableRenderer {
+
+    private static final int LIST_WIDTH = 126;
+    private static final int CARD_WIDTH = 43;
+    private static final int CARD_LABEL_WIDTH = 12;
+    private static final int DESCRIPTION_WIDTH = 25;
+    private static final String LIST_TITLE = "Tasks List";
+
+    private final String listHeader;
+    private final String listFooter;
+    private final String cardRule;
+    private final String cardFooter;
+    private final String amMarker;
+    private final String pmMarker;
+
+    /**
+     * Constructs a new {@link TaskTableRenderer} and renders the fixed parts of the tables.
+     */
+    public TaskTableRenderer() {
+        String listRule = "=".repeat(LIST_WIDTH);
+        int totalSpaces = LIST_WIDTH - LIST_TITLE.length() - 2;
+        int leftSpaces = totalSpaces / 2;
+        StringBuilder header = new StringBuilder(LIST_WIDTH * 4);
+        header.append('|').append("-".repeat(leftSpaces)).append(LIST_TITLE).append("-".repeat(totalSpaces - leftSpaces)).append("|\n");
+        header.append(listRule).append('\n');
+        appendListColumns(header, "N°", "ID", "Description", "Status", "Created At", "Updated At");
+        header.append('\n').append(listRule).append('\n');
+        this.listHeader = header.toString();
+        this.listFooter = listRule + "\n" + "-".repeat(LIST_WIDTH);
+        this.cardRule = "=".repeat(CARD_WIDTH);
+        this.cardFooter = "-".repeat(CARD_WIDTH);
+        // Same markers as the "a" pattern letter in the default locale.
+        DateTimeFormatter marker = DateTimeFormatter.ofPattern("a");
+        this.amMarker = LocalTime.MIDNIGHT.format(marker);
+        this.pmMarker = LocalTime.NOON.format(marker);
+    }
+
+    /**
+     * @return The title and column headers of a task list, ending with a line break.
+     */
+    public String listHeader() {
+        return listHeader;
+    }
+
+    /**
+     * @return The closing rules of a task list, without a trailing line break.
+     */
+    public String listFooter() {
+        return listFooter;
+    }
+
+    /**
+     * @return The rule closing a task card, without a trailing line break.
+     */
+    public String cardFooter() {
+        return cardFooter;
+    }
+
+    /**
+     * Renders a complete task list.
+     *
+     * @param tasks The tasks to render.
+     * @return The table, or a message if there are no tasks.
+     */
+    public String renderList(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return "No tasks found.";
+        }
+        StringBuilder sb = new StringBuilder(listHeader.length() + (tasks.size() + 2) * (LIST_WIDTH + 1));
+        sb.append(listHeader);
+        int count = 1;
+        for (Task task : tasks) {
+            appendListRow(sb, count++, task);
+            sb.append('\n');
+        }
+        return sb.append(listFooter).toString();
+    }
+
+    /**
+     * Appends one row of a task list, without a line break.
+     *
+     * @param sb    The buffer to append to.
+     * @param count The row number.
+     * @param task  The task of the row.
+     */
+    public void appendListRow(StringBuilder sb, int count, Task task) {
+        String description = task.getDescriptionTask();
+        sb.append("|| ");
+        int mark = sb.length();
+        sb.append(count);
+        pad(sb, mark, 3).append(" | ");
+        mark = sb.length();
+        sb.append(task.getIdTask().longValue());
+        pad(sb, mark, 5).append(" | ");
+        mark = sb.length();
+        sb.append(description, 0, Math.min(DESCRIPTION_WIDTH, description.length()));
+        pad(sb, mark, DESCRIPTION_WIDTH).append(" | ");
+        mark = sb.length();
+        sb.append(task.getStatusTask().getLabel());
+        pad(sb, mark, 12).append(" | ");
+        mark = sb.length();
+        appendTimestamp(sb, task.getCreatedAt());
+        pad(sb, mark, 30).append(" | ");
+        mark = sb.length();
+        appendTimestamp(sb, task.getUpdatedAt());
+        pad(sb, mark, 30).append(" ||");
+    }
+
+    /**
+     * Renders the detail card of a task, ending with a line break.
+     *
+     * @param task The task to render.
+     * @return The card.
+     */
+    public String renderTask(Task task) {
+        StringBuilder sb = new StringBuilder(CARD_WIDTH * (8 + task.getDescriptionTask().length() / DESCRIPTION_WIDTH));
+        appendTask(sb, task);
+        return sb.toString();
+    }
+
+    /**
+     * Appends the detail card of a task, ending with a line break. Descriptions longer than a cell
+     * continue on the following lines.
+     *
+     * @param sb   The buffer to append to.
+     * @param task The task to render.
+     */
+    public void appendTask(StringBuilder sb, Task task) {
+        sb.append(cardRule).append('\n');
+        appendCardLabel(sb, "ID");
+        int mark = sb.length();
+        sb.append(task.getIdTask().longValue());
+        closeCardLine(sb, mark);
+        String description = task.getDescriptionTask().strip();
+        appendCardLabel(sb, "Description");
+        int end = Math.min(DESCRIPTION_WIDTH, description.length());
+        mark = sb.length();
+        sb.append(description, 0, end);
+        closeCardLine(sb, mark);
+        while (end < description.length()) {
+            int start = end;
+            end = Math.min(start + DESCRIPTION_WIDTH, description.length());
+            appendCardLabel(sb, " ");
+            mark = sb.length();
+            sb.append(description, start, end);
+            closeCardLine(sb, mark);
+        }
+        appendCardLabel(sb, "Status");
+        mark = sb.length();
+        sb.append(task.getStatusTask().getLabel());
+        closeCardLine(sb, mark);
+        appendCardLabel(sb, "Created At");
+        mark = sb.length();
+        appendTimestamp(sb, task.getCreatedAt());
+        closeCardLine(sb, mark);
+        appendCardLabel(sb, "Updated At");
+        mark = sb.length();
+        appendTimestamp(sb, task.getUpdatedAt());
+        closeCardLine(sb, mark);
+        appendCardLabel(sb, "Version");
+        mark = sb.length();
+        sb.append(task.getVersion());
+        closeCardLine(sb, mark);
+        sb.append(cardRule).append('\n');
+    }
+
+    /**
+     * Appends a timestamp as {@code MM/dd/yyyy hh:mm:ss a}.
+     *
+     * @param sb   The buffer to append to.
+     * @param time The timestamp.
+     */
+    private void appendTimestamp(StringBuilder sb, LocalDateTime time) {
+        appendTwoDigits(sb, time.getMonthValue()).append('/');
+        appendTwoDigits(sb, time.getDayOfMonth()).append('/');
+        int year = time.getYear();
+        if (year >= 0 && year < 1000) {
+            sb.append(year < 10 ? "000" : year < 100 ? "00" : "0");
+        }
+        sb.append(year).append(' ');
+        int hour = time.getHour() % 12;
+        appendTwoDigits(sb, hour == 0 ? 12 : hour).append(':');
+        appendTwoDigits(sb, time.getMinute()).append(':');
+        appendTwoDigits(sb, time.getSecond()).append(' ');
+        sb.append(time.getHour() < 12 ? amMarker : pmMarker);
+    }
+
+    private void appendCardLabel(StringBuilder sb, String label) {
+        sb.append("| ");
+        int mark = sb.length();
+        sb.append(label);
+        pad(sb, mark, CARD_LABEL_WIDTH).append(": ");
+    }
+
+    private void closeCardLine(StringBuilder sb, int mark) {
+        pad(sb, mark, DESCRIPTION_WIDTH).append(" |\n");
+    }
+
+    private static void appendListColumns(StringBuilder sb, String... columns) {
+        int[] widths = {3, 5, DESCRIPTION_WIDTH, 12, 30, 30};
+        sb.append("|| ");
+        for (int i = 0; i < columns.length; i++) {
+            int mark = sb.length();
+            sb.append(columns[i]);
+            pad(sb, mark, widths[i]).append(i < columns.length - 1 ? " | " : " ||");
+        }
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder sb, int value) {
+        if (value < 10) {
+            sb.append('0');
+        }
+        return sb.append(value);
+    }
+
+    /**
+     * Pads the value appended since {@code mark} with spaces up to the given width.
+     */
+    private static StringBuilder pad(StringBuilder sb, int mark, int width) {
+        for (int i = sb.length() - mark; i < width; i++) {
+            sb.append(' ');
+        }
+        return sb;
+    }
+}
@@ -1,6 +1,8 @@
 package org.eduadomaravill.task_cli_v2.infrastructure.config;
 
+import org.eduadomaravill.task_cli_v2.infrastructure.repository.PersistenceTaskRepository;
 import org.jline.terminal.Terminal;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
@@ -10,15 +12,21 @@ import org.springframework.stereotype.Component;
 class TaskCliShutdownHook implements ApplicationRunner {
 
     private final Terminal terminal;
+    private final ObjectProvider<PersistenceTaskRepository> persistenceTaskRepository;
 
     @Autowired
-    public TaskCliShutdownHook(Terminal terminal) {
+    public TaskCliShutdownHook(Terminal terminal, ObjectProvider<PersistenceTaskRepository> persistenceTaskRepository) {
         this.terminal = terminal;
+        this.persistenceTaskRepository = persistenceTaskRepository;
     }
 
     @Override
     public void run(ApplicationArguments args) {
+        PersistenceTaskRepository repository = persistenceTaskRepository.getIfAvailable();
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (repository != null) {
+                repository.flush();
+            }
             terminal.writer().println("\n----------------------------👋 ¡Thanks for using Task CLI! See you later. 🚀----------------------------");
             terminal.flush();
         }));
@@ -0,0 +1,49 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.config;
+
+import org.eduadomaravill.task_cli_v2.infrastructure.command.SingleCommandRunner;
+import org.jline.terminal.Terminal;
+import org.jline.terminal.TerminalBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NativeDetector;
+import org.springframework.shell.boot.TerminalCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the terminal with a single JLine provider instead of letting JLine probe every provider on the
+ * classpath, which loads and initializes each of them before one is chosen.
+ * <p>
+ * The provider is set with {@code task-cli.terminal.provider}; when it is blank, {@code ffm} is used on the
+ * JVM and {@code jni} in a native image. {@code auto} keeps JLine's own probing.
+ * <p>
+ * A single command run by {@link SingleCommandRunner} only prints plain lines, so it gets a dumb terminal
+ * and no provider is loaded at all.
+ */
+@Component
+class TerminalProviderCustomizer implements TerminalCustomizer {
+
+    private static final String AUTO = "auto";
+
+    private final String provider;
+    private final boolean singleCommand;
+
+    @Autowired
+    public TerminalProviderCustomizer(@Value("${task-cli.terminal.provider:}") String provider,
+                                      @Value("${" + SingleCommandRunner.SINGLE_COMMAND_PROPERTY + ":false}") boolean singleCommand) {
+        String configured = provider.trim();
+        if (configured.isEmpty()) {
+            configured = NativeDetector.inNativeImage() ? TerminalBuilder.PROP_PROVIDER_JNI : TerminalBuilder.PROP_PROVIDER_FFM;
+        }
+        this.provider = configured;
+        this.singleCommand = singleCommand;
+    }
+
+    @Override
+    public void customize(TerminalBuilder terminalBuilder) {
+        if (singleCommand) {
+            terminalBuilder.type(Terminal.TYPE_DUMB);
+        } else if (!AUTO.equalsIgnoreCase(provider)) {
+            terminalBuilder.provider(provider);
+        }
+    }
+}
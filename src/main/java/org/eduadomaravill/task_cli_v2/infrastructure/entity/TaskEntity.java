@@ -27,6 +27,7 @@ public class TaskEntity implements Serializable {
     private int statusCode;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private long version;
 
     @JsonCreator
     public TaskEntity(
@@ -34,20 +35,26 @@ public class TaskEntity implements Serializable {
             @JsonProperty("descriptionTaskEntity") String descriptionTaskEntity,
             @JsonProperty("statusCode") int statusCode,
             @JsonProperty("createdAt") LocalDateTime createdAt,
-            @JsonProperty("updatedAt") LocalDateTime updatedAt
+            @JsonProperty("updatedAt") LocalDateTime updatedAt,
+            @JsonProperty("version") long version
     ) {
         this.idTaskEntity = idTaskEntity;
         this.descriptionTaskEntity = descriptionTaskEntity;
         this.statusCode = statusCode;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
     }
 
     public static TaskEntity taskEntityFromDomainModel(Task task){
-        return new TaskEntity(task.getIdTask(),task.getDescriptionTask(),task.getStatusTask().getStatus(),task.getCreatedAt(),task.getUpdatedAt());
+        return new TaskEntity(task.getIdTask(),task.getDescriptionTask(),task.getStatusTask().getStatus(),task.getCreatedAt(),task.getUpdatedAt(),task.getVersion());
+    }
+
+    public TaskEntity copy(){
+        return new TaskEntity(this.idTaskEntity, this.descriptionTaskEntity, this.statusCode, this.createdAt, this.updatedAt, this.version);
     }
 
     public Task toDomainModel(){
-        return new Task(this.idTaskEntity, this.descriptionTaskEntity, StatusTask.fromStatusCode(this.statusCode), this.createdAt, this.updatedAt);
+        return new Task(this.idTaskEntity, this.descriptionTaskEntity, StatusTask.fromStatusCode(this.statusCode), this.createdAt, this.updatedAt, this.version);
     }
 }
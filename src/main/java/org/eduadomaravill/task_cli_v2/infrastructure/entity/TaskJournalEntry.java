@@ -0,0 +1,52 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.entity;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+
+/**
+ * A single mutation recorded in the task journal.
+ * A {@code PUT} entry carries the full state of the created or updated task,
+ * a {@code DELETE} entry only carries the ID of the removed task.
+ */
+@Getter
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterReflectionForBinding(TaskJournalEntry.class)
+public class TaskJournalEntry {
+
+    public static final String PUT = "PUT";
+    public static final String DELETE = "DELETE";
+
+    private final String op;
+    private final Long id;
+    private final TaskEntity task;
+
+    @JsonCreator
+    public TaskJournalEntry(
+            @JsonProperty("op") String op,
+            @JsonProperty("id") Long id,
+            @JsonProperty("task") TaskEntity task
+    ) {
+        this.op = op;
+        this.id = id;
+        this.task = task;
+    }
+
+    public static TaskJournalEntry put(TaskEntity task) {
+        return new TaskJournalEntry(PUT, task.getIdTaskEntity(), task);
+    }
+
+    public static TaskJournalEntry delete(Long idTask) {
+        return new TaskJournalEntry(DELETE, idTask, null);
+    }
+
+    public boolean isDelete() {
+        return DELETE.equals(op);
+    }
+}
@@ -0,0 +1,138 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with logarithmic buckets in the manner of HdrHistogram: every power of two is split into
+ * {@value #SUB_BUCKETS} linear buckets, so a percentile is reported within 1/16 of the recorded value over the
+ * whole range of {@code long} nanoseconds, with a fixed array of 960 counters.
+ * <p>
+ * Recording is lock-free: one atomic increment of a bucket, one add to the total and, for a new maximum, a
+ * compare-and-set. Percentiles are computed from a {@link Snapshot} of the counters when they are read.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos The latency in nanoseconds; negative values count as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(value));
+        totalNanos.add(value);
+        if (value > maxNanos.get()) {
+            maxNanos.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Copies the counters, so percentiles can be read while latencies are still recorded.
+     *
+     * @return The recorded latencies at this moment.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, totalNanos.sum(), maxNanos.get());
+    }
+
+    /**
+     * Values below {@code 2 * SUB_BUCKETS} have a bucket of their own; above that, the bucket is given by the
+     * position of the highest bit and the {@value #SUB_BUCKET_BITS} bits below it.
+     */
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * @param bucket The bucket index.
+     * @return The highest value counted in the bucket.
+     */
+    static long highestValue(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * The latencies recorded by a {@link LatencyHistogram} up to the moment it was taken.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private Snapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * @return The number of recorded latencies.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The sum of the recorded latencies in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return The highest recorded latency in nanoseconds, or {@code 0} if none was recorded.
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Returns the latency below which the given share of the recorded latencies fall, rounded up to the
+         * highest value of its bucket and never above the maximum.
+         *
+         * @param percentile The percentile, from 0 to 100.
+         * @return The latency in nanoseconds, or {@code 0} if none was recorded.
+         */
+        public long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValue(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Counters and latency histograms of the task operations, shown by the {@code stats} command and, with
+ * {@code task-cli.metrics.jmx.enabled}, published as MXBeans.
+ * <p>
+ * Each {@link TaskOperation} has a {@link LatencyHistogram}, and the bytes read from and written to the store
+ * files are summed. Everything is lock-free, so recording from the repositories and commands costs two
+ * {@link System#nanoTime()} calls and a few atomic adds. With {@code task-cli.metrics.enabled=false} nothing is
+ * timed or counted.
+ */
+@Component
+public class TaskMetrics {
+
+    private final boolean enabled;
+    private final Map<TaskOperation, LatencyHistogram> latencies = new EnumMap<>(TaskOperation.class);
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+
+    /**
+     * Constructs a new {@link TaskMetrics}.
+     *
+     * @param enabled Whether operations are timed and bytes counted.
+     */
+    @Autowired
+    public TaskMetrics(@Value("${task-cli.metrics.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        for (TaskOperation operation : TaskOperation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * @return {@code true} if operations are timed and bytes counted.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts timing an operation, to be ended with {@link #record(TaskOperation, long)}.
+     *
+     * @return The start time, or {@code 0} when metrics are disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the latency of an operation started with {@link #start()}.
+     *
+     * @param operation The operation.
+     * @param started   The value returned by {@link #start()}.
+     */
+    public void record(TaskOperation operation, long started) {
+        if (enabled) {
+            latencies.get(operation).record(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Runs an action and records its latency, whether it returns or throws.
+     *
+     * @param operation The operation.
+     * @param action    The action to time.
+     * @param <T>       The result type.
+     * @return The result of the action.
+     */
+    public <T> T time(TaskOperation operation, Supplier<T> action) {
+        long started = start();
+        try {
+            return action.get();
+        } finally {
+            record(operation, started);
+        }
+    }
+
+    /**
+     * @param bytes Number of bytes read from the store files.
+     */
+    public void addBytesRead(long bytes) {
+        if (enabled) {
+            bytesRead.add(bytes);
+        }
+    }
+
+    /**
+     * @param bytes Number of bytes written to the store files.
+     */
+    public void addBytesWritten(long bytes) {
+        if (enabled) {
+            bytesWritten.add(bytes);
+        }
+    }
+
+    /**
+     * @param operation The operation.
+     * @return The latencies recorded for the operation so far.
+     */
+    public LatencyHistogram.Snapshot latency(TaskOperation operation) {
+        return latencies.get(operation).snapshot();
+    }
+
+    /**
+     * @return The number of bytes read from the store files so far.
+     */
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    /**
+     * @return The number of bytes written to the store files so far.
+     */
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+}
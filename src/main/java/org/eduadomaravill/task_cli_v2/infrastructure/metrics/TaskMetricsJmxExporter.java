@@ -0,0 +1,140 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.metrics;
+
+import jakarta.annotation.PreDestroy;
+import org.jline.terminal.Terminal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publishes the {@link TaskMetrics} on the platform MBean server when {@code task-cli.metrics.jmx.enabled} is
+ * set, so a long-running shell can be watched with JConsole or any JMX client: one
+ * {@code org.eduadomaravill.task_cli_v2:type=Operation,name=<operation>} bean per {@link TaskOperation} and a
+ * {@code org.eduadomaravill.task_cli_v2:type=Store} bean with the bytes read and written.
+ */
+@Component
+public class TaskMetricsJmxExporter {
+
+    private static final String DOMAIN = "org.eduadomaravill.task_cli_v2";
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final MBeanServer server;
+    private final List<ObjectName> registered = new ArrayList<>();
+
+    /**
+     * Constructs a TaskMetricsJmxExporter and registers the beans if enabled.
+     *
+     * @param taskMetrics The metrics to publish.
+     * @param terminal    The terminal registration errors are written to.
+     * @param enabled     Whether the metrics are published.
+     */
+    @Autowired
+    public TaskMetricsJmxExporter(TaskMetrics taskMetrics, Terminal terminal,
+                                  @Value("${task-cli.metrics.jmx.enabled:false}") boolean enabled) {
+        this.server = enabled ? ManagementFactory.getPlatformMBeanServer() : null;
+        if (!enabled) {
+            return;
+        }
+        try {
+            for (TaskOperation operation : TaskOperation.values()) {
+                register(new ObjectName(DOMAIN + ":type=Operation,name=" + operation.getLabel()), new OperationMetrics(taskMetrics, operation));
+            }
+            register(new ObjectName(DOMAIN + ":type=Store"), new StoreMetrics(taskMetrics));
+        } catch (JMException e) {
+            terminal.writer().println("Failed to publish the metrics over JMX: " + e.getLocalizedMessage());
+        }
+    }
+
+    private void register(ObjectName name, Object bean) throws JMException {
+        server.registerMBean(bean, name);
+        registered.add(name);
+    }
+
+    /**
+     * Removes the beans when the application context closes.
+     */
+    @PreDestroy
+    public void close() {
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException e) {
+                // Already gone, nothing left to remove.
+            }
+        }
+        registered.clear();
+    }
+
+    /**
+     * Latencies of one {@link TaskOperation}, in milliseconds.
+     */
+    public interface OperationMetricsMXBean {
+        long getCount();
+
+        double getMeanMillis();
+
+        double getP50Millis();
+
+        double getP99Millis();
+
+        double getMaxMillis();
+    }
+
+    /**
+     * Bytes moved between the task store and its files.
+     */
+    public interface StoreMetricsMXBean {
+        long getBytesRead();
+
+        long getBytesWritten();
+    }
+
+    private record OperationMetrics(TaskMetrics taskMetrics, TaskOperation operation) implements OperationMetricsMXBean {
+
+        @Override
+        public long getCount() {
+            return taskMetrics.latency(operation).getCount();
+        }
+
+        @Override
+        public double getMeanMillis() {
+            LatencyHistogram.Snapshot latency = taskMetrics.latency(operation);
+            return latency.getCount() == 0 ? 0 : latency.getTotalNanos() / NANOS_PER_MILLI / latency.getCount();
+        }
+
+        @Override
+        public double getP50Millis() {
+            return taskMetrics.latency(operation).percentile(50) / NANOS_PER_MILLI;
+        }
+
+        @Override
+        public double getP99Millis() {
+            return taskMetrics.latency(operation).percentile(99) / NANOS_PER_MILLI;
+        }
+
+        @Override
+        public double getMaxMillis() {
+            return taskMetrics.latency(operation).getMaxNanos() / NANOS_PER_MILLI;
+        }
+    }
+
+    private record StoreMetrics(TaskMetrics taskMetrics) implements StoreMetricsMXBean {
+
+        @Override
+        public long getBytesRead() {
+            return taskMetrics.getBytesRead();
+        }
+
+        @Override
+        public long getBytesWritten() {
+            return taskMetrics.getBytesWritten();
+        }
+    }
+}
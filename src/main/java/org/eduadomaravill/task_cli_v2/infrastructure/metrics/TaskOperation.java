@@ -0,0 +1,60 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.metrics;
+
+import lombok.Getter;
+
+/**
+ * Operation whose latency is recorded by {@link TaskMetrics}.
+ */
+@Getter // Generates the "Getter" methods for the fields.
+public enum TaskOperation {
+    /**
+     * Creating one or several tasks through the repository port.
+     */
+    CREATE("create"),
+
+    /**
+     * Looking up a task by ID through the repository port.
+     */
+    GET("get"),
+
+    /**
+     * Listing, paging or searching tasks through the repository port.
+     */
+    LIST("list"),
+
+    /**
+     * Updating one or several tasks through the repository port.
+     */
+    UPDATE("update"),
+
+    /**
+     * Deleting one or several tasks through the repository port.
+     */
+    DELETE("delete"),
+
+    /**
+     * Reading and decoding the store files into memory when they changed on disk.
+     */
+    LOAD("load"),
+
+    /**
+     * Writing changes to the snapshot or the journal.
+     */
+    SAVE("save"),
+
+    /**
+     * Formatting and writing command output to the terminal.
+     */
+    RENDER("render");
+
+    private final String label;
+
+    /**
+     * Constructs a TaskOperation with the specified label.
+     *
+     * @param label The name shown by the {@code stats} command and used for JMX.
+     */
+    TaskOperation(String label) {
+        this.label = label;
+    }
+}
@@ -0,0 +1,153 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskMetrics;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replaces files so that readers and a crash in the middle of a write never observe a partial file.
+ * The content is written to a temporary file in the same directory through a {@link FileChannel}
+ * and then moved over the target with {@link StandardCopyOption#ATOMIC_MOVE}; how much of that is
+ * forced to the device depends on the configured {@link DurabilityLevel}.
+ * <p>
+ * Every file of the store is written through this class, so it also reports the bytes written, and the bytes
+ * the stores read, to the {@link TaskMetrics}.
+ */
+class AtomicFileWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DurabilityLevel durabilityLevel;
+    private final TaskMetrics taskMetrics;
+
+    /**
+     * Constructs a new {@link AtomicFileWriter}.
+     *
+     * @param durabilityLevel The guarantees applied to every write.
+     * @param taskMetrics     Receives the number of bytes read and written.
+     */
+    AtomicFileWriter(DurabilityLevel durabilityLevel, TaskMetrics taskMetrics) {
+        this.durabilityLevel = durabilityLevel;
+        this.taskMetrics = taskMetrics;
+    }
+
+    /**
+     * Writes a file with the configured durability.
+     *
+     * @param target  The file to replace.
+     * @param content Writes the new content of the file. The stream must not be closed by the callback.
+     * @throws IOException If the file could not be written; the target is then left untouched
+     *                     unless the level is {@link DurabilityLevel#NONE}.
+     */
+    void write(Path target, ContentWriter content) throws IOException {
+        if (durabilityLevel == DurabilityLevel.NONE) {
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeTo(channel, content);
+            }
+            return;
+        }
+        Path directory = target.toAbsolutePath().getParent();
+        Path tempFile = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeTo(channel, content);
+                if (durabilityLevel == DurabilityLevel.FSYNC) {
+                    channel.force(true);
+                }
+            }
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        if (durabilityLevel == DurabilityLevel.FSYNC) {
+            forceDirectory(directory);
+        }
+    }
+
+    /**
+     * Forces an appended region of an open file when the level requires it.
+     *
+     * @param channel The channel that was written to.
+     * @param bytes   The number of bytes appended.
+     * @throws IOException If the channel could not be forced.
+     */
+    void afterAppend(FileChannel channel, long bytes) throws IOException {
+        taskMetrics.addBytesWritten(bytes);
+        if (durabilityLevel == DurabilityLevel.FSYNC) {
+            channel.force(false);
+        }
+    }
+
+    DurabilityLevel getDurabilityLevel() {
+        return durabilityLevel;
+    }
+
+    /**
+     * Counts the bytes a store read from one of its files.
+     *
+     * @param bytes The number of bytes read.
+     */
+    void afterRead(long bytes) {
+        taskMetrics.addBytesRead(bytes);
+    }
+
+    private void writeTo(FileChannel channel, ContentWriter content) throws IOException {
+        OutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        content.writeTo(new UnclosableOutputStream(output));
+        output.flush();
+        taskMetrics.addBytesWritten(channel.position());
+    }
+
+    /**
+     * Makes the rename of a file durable by forcing its directory.
+     * Some platforms (Windows) cannot open a directory as a channel; the move is then left to the file system.
+     */
+    private static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (UnsupportedOperationException | AccessDeniedException e) {
+            // Directory sync is not supported on this platform.
+        }
+    }
+
+    /**
+     * Writes the content of a file to the given stream.
+     */
+    @FunctionalInterface
+    interface ContentWriter {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * Keeps serializers that close their target (such as Jackson by default) from closing the channel
+     * before it has been forced.
+     */
+    private static final class UnclosableOutputStream extends FilterOutputStream {
+
+        private UnclosableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
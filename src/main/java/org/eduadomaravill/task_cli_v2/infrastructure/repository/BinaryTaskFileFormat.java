@@ -0,0 +1,168 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Stores tasks in a compact binary file, {@code tasks_cli.bin}.
+ * <p>
+ * Layout (big-endian): a file header with the magic {@code TCLB}, the format version and the
+ * number of records, followed by one record per task made of a fixed-width header
+ * (ID, status code, created and updated timestamps as epoch milliseconds, task version, description length)
+ * and the UTF-8 bytes of the description. Timestamps are stored in UTC with millisecond precision.
+ * Files of version 1, written before tasks had a version, are still read; their tasks get version 0.
+ */
+class BinaryTaskFileFormat implements TaskFileFormat {
+
+    static final String FILE_NAME = "tasks_cli.bin";
+
+    private static final int MAGIC = 0x54434C42; // "TCLB"
+    private static final int VERSION = 2;
+    private static final int VERSION_WITHOUT_TASK_VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int FILE_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    // ID, status code, created and updated timestamps, task version and description length.
+    private static final int RECORD_HEADER_SIZE = Long.BYTES + Byte.BYTES + Long.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+
+    @Override
+    public String fileName() {
+        return FILE_NAME;
+    }
+
+    @Override
+    public void read(InputStream inputStream, Consumer<TaskEntity> consumer) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream, BUFFER_SIZE));
+        int version = readHeader(input);
+        readRecords(input, version, input.readLong(), consumer);
+    }
+
+    /**
+     * Walks the record headers once, skipping the descriptions, to split the file into parts of whole records;
+     * each part is then decoded from its own offset on the pool.
+     */
+    @Override
+    public void read(Path file, ForkJoinPool pool, Consumer<TaskEntity> consumer) throws IOException {
+        long partSize = ParallelTaskDecoder.partSize(Files.size(file), pool.getParallelism());
+        List<Callable<List<TaskEntity>>> parts = new ArrayList<>();
+        int version;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            version = readHeader(input);
+            long count = input.readLong();
+            long fileSize = Files.size(file);
+            int recordHeaderSize = version == VERSION_WITHOUT_TASK_VERSION ? RECORD_HEADER_SIZE - Long.BYTES : RECORD_HEADER_SIZE;
+            long position = FILE_HEADER_SIZE;
+            long partStart = position;
+            long partRecords = 0;
+            for (long i = 0; i < count; i++) {
+                input.skipNBytes(recordHeaderSize - Integer.BYTES);
+                int length = input.readInt();
+                if (length < 0 || length > fileSize - position - recordHeaderSize) {
+                    throw corrupt(i, length);
+                }
+                input.skipNBytes(length);
+                position += recordHeaderSize + length;
+                partRecords++;
+                if (position - partStart >= partSize || i == count - 1) {
+                    parts.add(readPart(file, version, partStart, partRecords));
+                    partStart = position;
+                    partRecords = 0;
+                }
+            }
+        }
+        ParallelTaskDecoder.decode(parts, pool, consumer);
+    }
+
+    private Callable<List<TaskEntity>> readPart(Path file, int version, long offset, long records) {
+        return () -> {
+            List<TaskEntity> tasks = new ArrayList<>((int) Math.min(records, Integer.MAX_VALUE - 8));
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                channel.position(offset);
+                readRecords(new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE)), version, records, tasks::add);
+            }
+            return tasks;
+        };
+    }
+
+    private static int readHeader(DataInputStream input) throws IOException {
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a task-cli binary file");
+        }
+        int version = input.readInt();
+        if (version != VERSION && version != VERSION_WITHOUT_TASK_VERSION) {
+            throw new IOException("Unsupported task-cli binary version: " + version);
+        }
+        return version;
+    }
+
+    private static void readRecords(DataInputStream input, int version, long count, Consumer<TaskEntity> consumer) throws IOException {
+        byte[] buffer = new byte[256];
+        for (long i = 0; i < count; i++) {
+            long id = input.readLong();
+            int statusCode = input.readByte();
+            long createdAt = input.readLong();
+            long updatedAt = input.readLong();
+            long taskVersion = version == VERSION_WITHOUT_TASK_VERSION ? 0 : input.readLong();
+            int length = input.readInt();
+            String description;
+            if (length < 0) {
+                throw corrupt(i, length);
+            } else if (length <= buffer.length) {
+                input.readFully(buffer, 0, length);
+                description = new String(buffer, 0, length, StandardCharsets.UTF_8);
+            } else {
+                // The stream's size is unknown; readNBytes grows with the bytes actually read, so a damaged length
+                // ends in an exception instead of a huge allocation.
+                byte[] bytes = input.readNBytes(length);
+                if (bytes.length < length) {
+                    throw corrupt(i, length);
+                }
+                description = new String(bytes, StandardCharsets.UTF_8);
+            }
+            consumer.accept(new TaskEntity(id, description, statusCode, TaskTimestamps.fromEpochMillis(createdAt), TaskTimestamps.fromEpochMillis(updatedAt), taskVersion));
+        }
+    }
+
+    private static IOException corrupt(long record, int length) {
+        return new IOException("Corrupt binary task file: record " + record + " has a description length of " + length);
+    }
+
+    @Override
+    public void write(OutputStream outputStream, Collection<TaskEntity> tasks) throws IOException {
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeLong(tasks.size());
+        for (TaskEntity task : tasks) {
+            byte[] description = task.getDescriptionTaskEntity() == null
+                    ? new byte[0]
+                    : task.getDescriptionTaskEntity().getBytes(StandardCharsets.UTF_8);
+            output.writeLong(task.getIdTaskEntity());
+            output.writeByte(task.getStatusCode());
+            output.writeLong(TaskTimestamps.toEpochMillis(task.getCreatedAt()));
+            output.writeLong(TaskTimestamps.toEpochMillis(task.getUpdatedAt()));
+            output.writeLong(task.getVersion());
+            output.writeInt(description.length);
+            output.write(description);
+        }
+        output.flush();
+    }
+}
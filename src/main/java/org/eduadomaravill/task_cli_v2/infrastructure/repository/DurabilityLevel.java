@@ -0,0 +1,25 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+/**
+ * How hard the store works to make a write survive a crash.
+ * Configured with {@code task-cli.save.task.durability}.
+ */
+public enum DurabilityLevel {
+    /**
+     * Files are written in place with no extra guarantees. A crash during a write can leave a truncated file.
+     */
+    NONE,
+
+    /**
+     * Files are written to a temporary file and atomically moved over the target.
+     * The data is handed to the operating system but not forced to the device, so it survives
+     * a crash of the process but not a power loss.
+     */
+    FLUSH,
+
+    /**
+     * Like {@link #FLUSH}, but the temporary file and its directory are forced to the device
+     * before and after the move, and journal appends are forced as well.
+     */
+    FSYNC
+}
@@ -0,0 +1,196 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Stores tasks as a JSON array of {@link TaskEntity} objects in {@code tasks_cli.json}.
+ */
+class JsonTaskFileFormat implements TaskFileFormat {
+
+    static final String FILE_NAME = "tasks_cli.json";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_END = {']'};
+
+    private final ObjectReader taskReader;
+    private final ObjectWriter taskWriter;
+    private final ObjectWriter lineWriter;
+
+    JsonTaskFileFormat(ObjectMapper objectMapper) {
+        this.taskReader = objectMapper.readerFor(TaskEntity.class);
+        this.taskWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.lineWriter = taskWriter.forType(TaskEntity.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public String fileName() {
+        return FILE_NAME;
+    }
+
+    /**
+     * Streams the elements of the top-level array through a {@link MappingIterator}, so the file
+     * is read in a single pass without holding its content in memory.
+     * Entries without an ID (such as the {@code [{}]} placeholder) are skipped.
+     */
+    @Override
+    public void read(InputStream inputStream, Consumer<TaskEntity> consumer) throws IOException {
+        try (MappingIterator<TaskEntity> iterator = taskReader.readValues(inputStream)) {
+            while (iterator.hasNextValue()) {
+                TaskEntity task = iterator.nextValue();
+                if (task.getIdTaskEntity() != null) {
+                    consumer.accept(task);
+                }
+            }
+        }
+    }
+
+    /**
+     * Scans the bytes once, tracking only nesting and strings, to split the top-level array after whole
+     * elements; each part is then parsed as an array of its own on the pool. Files whose content is not
+     * an array are read sequentially.
+     */
+    @Override
+    public void read(Path file, ForkJoinPool pool, Consumer<TaskEntity> consumer) throws IOException {
+        long partSize = ParallelTaskDecoder.partSize(Files.size(file), pool.getParallelism());
+        List<Callable<List<TaskEntity>>> parts = new ArrayList<>();
+        try (InputStream input = Files.newInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long position = 0;
+            long partStart = -1;
+            int depth = 0;
+            boolean inString = false;
+            boolean escaped = false;
+            int read;
+            scan:
+            while ((read = input.read(buffer)) > 0) {
+                for (int i = 0; i < read; i++, position++) {
+                    byte b = buffer[i];
+                    if (inString) {
+                        if (escaped) {
+                            escaped = false;
+                        } else if (b == '\\') {
+                            escaped = true;
+                        } else if (b == '"') {
+                            inString = false;
+                        }
+                    } else if (partStart < 0) {
+                        if (b == '[') {
+                            depth = 1;
+                            partStart = position + 1;
+                        } else if (!Character.isWhitespace(b)) {
+                            break scan;
+                        }
+                    } else if (b == '"') {
+                        inString = true;
+                    } else if (b == '{' || b == '[') {
+                        depth++;
+                    } else if (b == '}' || b == ']') {
+                        depth--;
+                        if (depth == 0) {
+                            parts.add(readPart(file, partStart, position));
+                            break scan;
+                        }
+                        if (depth == 1 && position + 1 - partStart >= partSize) {
+                            parts.add(readPart(file, partStart, position + 1));
+                            partStart = position + 1;
+                        }
+                    }
+                }
+            }
+            if (partStart < 0) {
+                try (InputStream inputStream = Files.newInputStream(file)) {
+                    read(inputStream, consumer);
+                }
+                return;
+            }
+            if (depth != 0) {
+                throw new IOException("Unexpected end of " + file.getFileName());
+            }
+        }
+        ParallelTaskDecoder.decode(parts, pool, consumer);
+    }
+
+    /**
+     * Parses the elements between two offsets of the top-level array, wrapped in brackets of their own.
+     */
+    private Callable<List<TaskEntity>> readPart(Path file, long start, long end) {
+        return () -> {
+            if (end - start > Integer.MAX_VALUE - 8) {
+                throw new IOException("Task array element too large in " + file.getFileName());
+            }
+            byte[] bytes = new byte[(int) (end - start)];
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer target = ByteBuffer.wrap(bytes);
+                while (target.hasRemaining()) {
+                    if (channel.read(target, start + target.position()) < 0) {
+                        throw new EOFException("Unexpected end of " + file.getFileName());
+                    }
+                }
+            }
+            int from = 0;
+            while (from < bytes.length && Character.isWhitespace(bytes[from])) {
+                from++;
+            }
+            if (from < bytes.length && bytes[from] == ',') {
+                from++;
+            }
+            List<TaskEntity> tasks = new ArrayList<>();
+            InputStream part = new SequenceInputStream(Collections.enumeration(List.of(
+                    new ByteArrayInputStream(ARRAY_START),
+                    new ByteArrayInputStream(bytes, from, bytes.length - from),
+                    new ByteArrayInputStream(ARRAY_END))));
+            read(part, tasks::add);
+            return tasks;
+        };
+    }
+
+    @Override
+    public void write(OutputStream outputStream, Collection<TaskEntity> tasks) throws IOException {
+        taskWriter.writeValue(outputStream, tasks);
+    }
+
+    /**
+     * Writes the tasks as JSON Lines, one object per line, through a single generator that is only
+     * flushed at the end.
+     *
+     * @param outputStream The destination; it is not closed.
+     * @param tasks        The tasks to write.
+     * @throws IOException If the tasks could not be written.
+     */
+    void writeLines(OutputStream outputStream, Collection<TaskEntity> tasks) throws IOException {
+        try (JsonGenerator generator = lineWriter.createGenerator(outputStream)) {
+            // The lines are separated by the line breaks alone, not the default space.
+            generator.setRootValueSeparator(null);
+            for (TaskEntity task : tasks) {
+                lineWriter.writeValue(generator, task);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
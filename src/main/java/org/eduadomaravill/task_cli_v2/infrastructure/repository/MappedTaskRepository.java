@@ -0,0 +1,528 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import jakarta.annotation.PreDestroy;
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.jline.terminal.Terminal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Repository that keeps tasks in a memory-mapped file of fixed-size slots addressed by task ID,
+ * with descriptions stored in a separate append-only heap file.
+ * Enabled with {@code task-cli.save.task.engine=mapped}.
+ * <p>
+ * {@code tasks_cli.slots} starts with a header (magic, version, next ID, heap end) followed by one
+ * 32-byte slot per ID: state, status code, description length and offset, and the created and updated
+ * timestamps as epoch milliseconds. The slot of a task is found by arithmetic on its ID, so lookups and
+ * status changes touch a single slot in place and nothing is deserialized up front. Slots are mapped in
+ * segments on demand, so the file can be much larger than the heap.
+ * <p>
+ * Descriptions are appended to {@code tasks_cli.heap}; an updated description is appended again and the
+ * previous bytes are left unused.
+ * <p>
+ * The repository is safe for concurrent use. Reads, updates and deletions touch a single slot and only
+ * hold the stripe lock of that task ID plus the shared side of a read-write lock, so callers working on
+ * different tasks run in parallel; creating a task and closing the store take the exclusive side.
+ * Descriptions reserve their heap range atomically and are written in parallel.
+ * <p>
+ * The store belongs to one process at a time: the slots file is locked exclusively while the repository is
+ * open, and a second process fails at startup instead of corrupting the header it would otherwise cache.
+ * Slots do not record task versions, so every task reports version 0 and conditional updates are not supported.
+ */
+@Component
+@ConditionalOnProperty(name = "task-cli.save.task.engine", havingValue = "mapped")
+public class MappedTaskRepository {
+
+    private static final String SLOTS_FILE_NAME = "tasks_cli.slots";
+    private static final String HEAP_FILE_NAME = "tasks_cli.heap";
+
+    private static final int MAGIC = 0x54434C4D; // "TCLM"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSION = 4;
+    private static final int HEADER_NEXT_ID = 8;
+    private static final int HEADER_HEAP_END = 16;
+
+    private static final int SLOT_SIZE = 32;
+    private static final int SLOT_STATE = 0;
+    private static final int SLOT_STATUS = 1;
+    private static final int SLOT_DESCRIPTION_LENGTH = 4;
+    private static final int SLOT_DESCRIPTION_OFFSET = 8;
+    private static final int SLOT_CREATED_AT = 16;
+    private static final int SLOT_UPDATED_AT = 24;
+
+    private static final byte STATE_LIVE = 1;
+    private static final byte STATE_DELETED = 2;
+
+    private static final int SLOTS_PER_SEGMENT = 1 << 20;
+    private static final long SEGMENT_SIZE = (long) SLOTS_PER_SEGMENT * SLOT_SIZE;
+    private static final int LOCK_STRIPES = 64;
+
+    private final Terminal terminal;
+    private final boolean forceWrites;
+    private final FileChannel slotsChannel;
+    private final FileChannel heapChannel;
+    private final MappedByteBuffer header;
+    private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+    private final ReentrantReadWriteLock storeLock = new ReentrantReadWriteLock();
+    private final TaskLockStripes taskLocks = new TaskLockStripes(LOCK_STRIPES);
+    private final AtomicLong heapEnd = new AtomicLong();
+    private long nextId;
+
+    /**
+     * Constructs a new {@link MappedTaskRepository} and maps the store files, creating them if needed.
+     *
+     * @param filePath   Path to the directory where the store files will be stored.
+     * @param durability Durability level of writes; {@code fsync} forces every changed slot and description.
+     * @throws IOException If the store files could not be opened or are not valid.
+     */
+    @Autowired
+    public MappedTaskRepository(@Value("${task-cli.save.task.path}") String filePath, Terminal terminal,
+                                @Value("${task-cli.save.task.durability:flush}") String durability) throws IOException {
+        this.terminal = terminal;
+        this.forceWrites = DurabilityLevel.valueOf(durability.trim().toUpperCase(Locale.ROOT)) == DurabilityLevel.FSYNC;
+        Path directory = Path.of(StorePaths.dataDirectory(filePath));
+        Files.createDirectories(directory);
+        this.slotsChannel = FileChannel.open(directory.resolve(SLOTS_FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        lockStore(directory);
+        this.heapChannel = FileChannel.open(directory.resolve(HEAP_FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.header = slotsChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        if (header.getInt(HEADER_MAGIC) == 0) {
+            header.putInt(HEADER_MAGIC, MAGIC);
+            header.putInt(HEADER_VERSION, VERSION);
+            header.putLong(HEADER_NEXT_ID, 1);
+            header.putLong(HEADER_HEAP_END, 0);
+        } else if (header.getInt(HEADER_MAGIC) != MAGIC || header.getInt(HEADER_VERSION) != VERSION) {
+            throw new IOException("Not a task-cli mapped store: " + directory.resolve(SLOTS_FILE_NAME));
+        }
+        this.nextId = header.getLong(HEADER_NEXT_ID);
+        this.heapEnd.set(header.getLong(HEADER_HEAP_END));
+    }
+
+    /**
+     * Locks the slots file for this process, so another process cannot open the store while the next ID
+     * and heap end are cached here.
+     *
+     * @throws IOException If the store is already open in another process or the lock is not supported.
+     */
+    private void lockStore(Path directory) throws IOException {
+        FileLock lock;
+        try {
+            lock = slotsChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            slotsChannel.close();
+            throw new IOException("The mapped task store " + directory + " is in use by another task-cli process");
+        }
+    }
+
+    /**
+     * Creates and persists a new task in the next free slot.
+     *
+     * @param taskEntity The task entity to be created.
+     * @return An {@link Optional} containing the created task, or {@link Optional#empty()} if saving failed.
+     */
+    public Optional<TaskEntity> createTask(TaskEntity taskEntity) {
+        storeLock.writeLock().lock();
+        long idTask = nextId;
+        try {
+            MappedByteBuffer segment = segment(idTask);
+            int offset = slotOffset(idTask);
+            writeDescription(segment, offset, taskEntity.getDescriptionTaskEntity());
+            segment.put(offset + SLOT_STATUS, (byte) taskEntity.getStatusCode());
+            segment.putLong(offset + SLOT_CREATED_AT, TaskTimestamps.toEpochMillis(taskEntity.getCreatedAt()));
+            segment.putLong(offset + SLOT_UPDATED_AT, TaskTimestamps.toEpochMillis(taskEntity.getUpdatedAt()));
+            segment.put(offset + SLOT_STATE, STATE_LIVE);
+            nextId++;
+            header.putLong(HEADER_NEXT_ID, nextId);
+            force(segment, offset);
+        } catch (IOException e) {
+            terminal.writer().println("Failed to write: " + e.getLocalizedMessage());
+            return Optional.empty();
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+        taskEntity.setIdTaskEntity(idTask);
+        return Optional.of(taskEntity);
+    }
+
+    /**
+     * Retrieves a task by its ID, reading only its slot and description.
+     *
+     * @param idTask The ID of the task to retrieve.
+     * @return An {@link Optional} containing the task if found, otherwise empty.
+     */
+    public Optional<TaskEntity> getTaskById(long idTask) {
+        storeLock.readLock().lock();
+        ReentrantLock taskLock = taskLocks.lockFor(idTask);
+        taskLock.lock();
+        try {
+            if (idTask < 1 || idTask >= nextId) {
+                return Optional.empty();
+            }
+            MappedByteBuffer segment = segment(idTask);
+            int offset = slotOffset(idTask);
+            if (segment.get(offset + SLOT_STATE) != STATE_LIVE) {
+                return Optional.empty();
+            }
+            return Optional.of(readTask(idTask, segment, offset));
+        } catch (IOException e) {
+            terminal.writer().println("Error reading: " + e.getLocalizedMessage());
+            return Optional.empty();
+        } finally {
+            taskLock.unlock();
+            storeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Passes every live task whose status code matches the filter to the consumer, in ID order.
+     * The status is checked on the slot, so descriptions are only read for matching tasks.
+     * Each slot is read under its stripe lock and the consumer is called after the lock is released.
+     *
+     * @param statusFilter Selects the status codes to visit.
+     * @param consumer     Receives each matching task.
+     */
+    public void forEachTask(IntPredicate statusFilter, Consumer<TaskEntity> consumer) {
+        forEachTask(0, statusFilter, task -> {
+            consumer.accept(task);
+            return true;
+        });
+    }
+
+    /**
+     * Passes the live tasks after the given ID whose status code matches the filter to the visitor,
+     * in ID order, until the visitor returns {@code false}. Used for keyset pagination, so a page
+     * starts reading at its cursor instead of at the first slot.
+     *
+     * @param afterId      Only tasks with a greater ID are visited.
+     * @param statusFilter Selects the status codes to visit.
+     * @param visitor      Receives each matching task; returns {@code false} to stop.
+     */
+    public void forEachTask(long afterId, IntPredicate statusFilter, Predicate<TaskEntity> visitor) {
+        storeLock.readLock().lock();
+        try {
+            for (long idTask = Math.max(afterId + 1, 1); idTask < nextId; idTask++) {
+                TaskEntity task = null;
+                ReentrantLock taskLock = taskLocks.lockFor(idTask);
+                taskLock.lock();
+                try {
+                    MappedByteBuffer segment = segment(idTask);
+                    int offset = slotOffset(idTask);
+                    if (segment.get(offset + SLOT_STATE) == STATE_LIVE && statusFilter.test(segment.get(offset + SLOT_STATUS))) {
+                        task = readTask(idTask, segment, offset);
+                    }
+                } finally {
+                    taskLock.unlock();
+                }
+                if (task != null && !visitor.test(task)) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            terminal.writer().println("Error reading: " + e.getLocalizedMessage());
+        } finally {
+            storeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Passes the IDs of the live tasks from {@code fromId} to {@code toId} whose slot matches the filter to
+     * the consumer, in ID order. Only the slots in the range up to the last assigned ID are read, and no
+     * description is read from the heap.
+     *
+     * @param fromId   Lowest ID to visit.
+     * @param toId     Highest ID to visit.
+     * @param filter   Selects the tasks by status code and update time.
+     * @param consumer Receives each matching ID.
+     */
+    public void forEachTaskId(long fromId, long toId, SlotFilter filter, LongConsumer consumer) {
+        storeLock.readLock().lock();
+        try {
+            long lastId = Math.min(toId, nextId - 1);
+            for (long idTask = Math.max(fromId, 1); idTask <= lastId; idTask++) {
+                boolean matches;
+                ReentrantLock taskLock = taskLocks.lockFor(idTask);
+                taskLock.lock();
+                try {
+                    MappedByteBuffer segment = segment(idTask);
+                    int offset = slotOffset(idTask);
+                    matches = segment.get(offset + SLOT_STATE) == STATE_LIVE
+                            && filter.test(segment.get(offset + SLOT_STATUS), segment.getLong(offset + SLOT_UPDATED_AT));
+                } finally {
+                    taskLock.unlock();
+                }
+                if (matches) {
+                    consumer.accept(idTask);
+                }
+            }
+        } catch (IOException e) {
+            terminal.writer().println("Error reading: " + e.getLocalizedMessage());
+        } finally {
+            storeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Updates a task's description by appending it to the heap and repointing the slot.
+     *
+     * @param idTask         The ID of the task to update.
+     * @param newDescription The new description for the task.
+     * @return An {@link Optional} containing the updated task, or empty if the task was not found.
+     */
+    public Optional<TaskEntity> updateTaskByDescription(Long idTask, String newDescription) {
+        return updateTask(idTask, (segment, offset) -> writeDescription(segment, offset, newDescription));
+    }
+
+    /**
+     * Updates a task's status in place.
+     *
+     * @param idTask     The ID of the task to update.
+     * @param statusTask The new status of the task.
+     * @return An {@link Optional} containing the updated task, or empty if the task was not found.
+     */
+    public Optional<TaskEntity> updateTaskByStatus(Long idTask, StatusTask statusTask) {
+        return updateTask(idTask, (segment, offset) -> segment.put(offset + SLOT_STATUS, (byte) statusTask.getStatus()));
+    }
+
+    /**
+     * Changes a task's status in place unless it is already in that status, without reading its description.
+     *
+     * @param idTask     The ID of the task to update.
+     * @param statusTask The new status of the task.
+     * @return {@code true} if the status was changed, {@code false} if the task was not found or already in that status.
+     */
+    public boolean changeStatus(long idTask, StatusTask statusTask) {
+        storeLock.readLock().lock();
+        ReentrantLock taskLock = taskLocks.lockFor(idTask);
+        taskLock.lock();
+        try {
+            if (idTask < 1 || idTask >= nextId) {
+                return false;
+            }
+            MappedByteBuffer segment = segment(idTask);
+            int offset = slotOffset(idTask);
+            if (segment.get(offset + SLOT_STATE) != STATE_LIVE || segment.get(offset + SLOT_STATUS) == statusTask.getStatus()) {
+                return false;
+            }
+            segment.put(offset + SLOT_STATUS, (byte) statusTask.getStatus());
+            segment.putLong(offset + SLOT_UPDATED_AT, TaskTimestamps.toEpochMillis(LocalDateTime.now()));
+            force(segment, offset);
+            return true;
+        } catch (IOException e) {
+            terminal.writer().println("Failed to write: " + e.getLocalizedMessage());
+            return false;
+        } finally {
+            taskLock.unlock();
+            storeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes a task by marking its slot as deleted; its ID is never reused.
+     *
+     * @param idTask The ID of the task to delete.
+     * @return {@code true} if the task was deleted successfully, otherwise {@code false}.
+     */
+    public boolean deleteTask(Long idTask) {
+        if (idTask == null) {
+            return false;
+        }
+        storeLock.readLock().lock();
+        ReentrantLock taskLock = taskLocks.lockFor(idTask);
+        taskLock.lock();
+        try {
+            if (idTask < 1 || idTask >= nextId) {
+                return false;
+            }
+            MappedByteBuffer segment = segment(idTask);
+            int offset = slotOffset(idTask);
+            if (segment.get(offset + SLOT_STATE) != STATE_LIVE) {
+                return false;
+            }
+            segment.put(offset + SLOT_STATE, STATE_DELETED);
+            force(segment, offset);
+            return true;
+        } catch (IOException e) {
+            terminal.writer().println("Failed to write: " + e.getLocalizedMessage());
+            return false;
+        } finally {
+            taskLock.unlock();
+            storeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forces pending changes to the device and closes the store files, which releases the store lock.
+     */
+    @PreDestroy
+    public void close() {
+        storeLock.writeLock().lock();
+        try {
+            header.force();
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+            heapChannel.force(true);
+            slotsChannel.close();
+            heapChannel.close();
+        } catch (IOException e) {
+            terminal.writer().println("Failed to close store: " + e.getLocalizedMessage());
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Changes a slot in place under the stripe lock of the task, so updates of different tasks run in parallel.
+     */
+    private Optional<TaskEntity> updateTask(Long idTask, SlotUpdater updater) {
+        if (idTask == null) {
+            return Optional.empty();
+        }
+        storeLock.readLock().lock();
+        ReentrantLock taskLock = taskLocks.lockFor(idTask);
+        taskLock.lock();
+        try {
+            if (idTask < 1 || idTask >= nextId) {
+                return Optional.empty();
+            }
+            MappedByteBuffer segment = segment(idTask);
+            int offset = slotOffset(idTask);
+            if (segment.get(offset + SLOT_STATE) != STATE_LIVE) {
+                return Optional.empty();
+            }
+            updater.update(segment, offset);
+            segment.putLong(offset + SLOT_UPDATED_AT, TaskTimestamps.toEpochMillis(LocalDateTime.now()));
+            force(segment, offset);
+            return Optional.of(readTask(idTask, segment, offset));
+        } catch (IOException e) {
+            terminal.writer().println("Failed to write: " + e.getLocalizedMessage());
+            return Optional.empty();
+        } finally {
+            taskLock.unlock();
+            storeLock.readLock().unlock();
+        }
+    }
+
+    private TaskEntity readTask(long idTask, MappedByteBuffer segment, int offset) throws IOException {
+        String description = readDescription(segment.getLong(offset + SLOT_DESCRIPTION_OFFSET),
+                segment.getInt(offset + SLOT_DESCRIPTION_LENGTH));
+        return new TaskEntity(idTask, description, segment.get(offset + SLOT_STATUS),
+                TaskTimestamps.fromEpochMillis(segment.getLong(offset + SLOT_CREATED_AT)),
+                TaskTimestamps.fromEpochMillis(segment.getLong(offset + SLOT_UPDATED_AT)), 0);
+    }
+
+    private String readDescription(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (heapChannel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Description heap is truncated");
+            }
+        }
+        return new String(buffer.array(), 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends a description to the heap and points the slot at it.
+     * The heap is written before the slot, so a crash never leaves a slot pointing at missing bytes.
+     * The heap range is reserved atomically, so concurrent writers never overlap.
+     */
+    private void writeDescription(MappedByteBuffer segment, int offset, String description) throws IOException {
+        byte[] bytes = description == null ? new byte[0] : description.getBytes(StandardCharsets.UTF_8);
+        long position = heapEnd.getAndAdd(bytes.length);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            heapChannel.write(buffer, position + buffer.position());
+        }
+        if (forceWrites) {
+            heapChannel.force(false);
+        }
+        synchronized (header) {
+            header.putLong(HEADER_HEAP_END, Math.max(header.getLong(HEADER_HEAP_END), position + bytes.length));
+        }
+        segment.putLong(offset + SLOT_DESCRIPTION_OFFSET, position);
+        segment.putInt(offset + SLOT_DESCRIPTION_LENGTH, bytes.length);
+    }
+
+    /**
+     * Returns the mapped segment holding the slot of the given ID, mapping new segments as needed.
+     */
+    private MappedByteBuffer segment(long idTask) throws IOException {
+        int index = (int) ((idTask - 1) / SLOTS_PER_SEGMENT);
+        if (index < segments.size()) {
+            return segments.get(index);
+        }
+        synchronized (segments) {
+            while (segments.size() <= index) {
+                long position = HEADER_SIZE + segments.size() * SEGMENT_SIZE;
+                segments.add(slotsChannel.map(FileChannel.MapMode.READ_WRITE, position, SEGMENT_SIZE));
+            }
+        }
+        return segments.get(index);
+    }
+
+    private static int slotOffset(long idTask) {
+        return (int) ((idTask - 1) % SLOTS_PER_SEGMENT) * SLOT_SIZE;
+    }
+
+    private void force(MappedByteBuffer segment, int offset) {
+        if (forceWrites) {
+            segment.force(offset, SLOT_SIZE);
+            header.force();
+        }
+    }
+
+    /**
+     * Functional interface for changing a slot in place.
+     */
+    @FunctionalInterface
+    private interface SlotUpdater {
+        void update(MappedByteBuffer segment, int offset) throws IOException;
+    }
+
+    /**
+     * Selects tasks by the fields stored in their slot.
+     */
+    @FunctionalInterface
+    public interface SlotFilter {
+        /**
+         * @param statusCode      The status code of the task.
+         * @param updatedAtMillis The last update time in epoch milliseconds, or {@link TaskTimestamps#NO_TIMESTAMP}.
+         * @return {@code true} if the task is selected.
+         */
+        boolean test(int statusCode, long updatedAtMillis);
+    }
+}
@@ -0,0 +1,305 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.application.port.output.ITaskRepositoryPort;
+import org.eduadomaravill.task_cli_v2.domain.exception.InvalidCommandException;
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.domain.model.Task;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskFilter;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskSortField;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskTimeField;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskMetrics;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskOperation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Adapter class that implements {@link ITaskRepositoryPort} on top of the memory-mapped {@link MappedTaskRepository}.
+ * Enabled with {@code task-cli.save.task.engine=mapped} instead of {@link TaskRepositoryPortAdapter}.
+ * The latency of each operation is recorded in the {@link TaskMetrics}.
+ */
+@Component
+@ConditionalOnProperty(name = "task-cli.save.task.engine", havingValue = "mapped")
+public class MappedTaskRepositoryPortAdapter implements ITaskRepositoryPort {
+
+    private final MappedTaskRepository mappedTaskRepository;
+    private final TaskMetrics taskMetrics;
+
+    /**
+     * Constructs a new {@link MappedTaskRepositoryPortAdapter} and initializes the {@link MappedTaskRepository}.
+     */
+    @Autowired
+    public MappedTaskRepositoryPortAdapter(MappedTaskRepository mappedTaskRepository, TaskMetrics taskMetrics) {
+        this.mappedTaskRepository = mappedTaskRepository;
+        this.taskMetrics = taskMetrics;
+    }
+
+    @Override
+    public Optional<Task> createTask(String descriptionTask) {
+        return taskMetrics.time(TaskOperation.CREATE, () -> insertTask(descriptionTask));
+    }
+
+    private Optional<Task> insertTask(String descriptionTask) {
+        Task task = new Task();
+        task.setDescriptionTask(descriptionTask);
+        task.setStatusTask(StatusTask.NOT_STARTED);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setUpdatedAt(task.getCreatedAt());
+        return mappedTaskRepository.createTask(TaskEntity.taskEntityFromDomainModel(task)).map(TaskEntity::toDomainModel);
+    }
+
+    /**
+     * Creates the tasks one slot at a time; each insert into the mapped store already costs O(1).
+     */
+    @Override
+    public List<Task> createTasks(List<String> descriptions) {
+        return taskMetrics.time(TaskOperation.CREATE, () -> {
+            List<Task> tasks = new ArrayList<>(descriptions.size());
+            for (String description : descriptions) {
+                insertTask(description).ifPresent(tasks::add);
+            }
+            return tasks;
+        });
+    }
+
+    @Override
+    public boolean deleteTask(Long idTask) {
+        return taskMetrics.time(TaskOperation.DELETE, () -> mappedTaskRepository.deleteTask(idTask));
+    }
+
+    /**
+     * Marks the selected slots as deleted one at a time; each change is applied in place.
+     */
+    @Override
+    public int deleteTasks(TaskFilter filter) {
+        return taskMetrics.time(TaskOperation.DELETE, () -> {
+            List<Long> ids = findIds(filter);
+            int deleted = 0;
+            for (Long idTask : ids) {
+                if (mappedTaskRepository.deleteTask(idTask)) {
+                    deleted++;
+                }
+            }
+            return deleted;
+        });
+    }
+
+    @Override
+    public Optional<Task> getTaskById(Long idTask) {
+        return taskMetrics.time(TaskOperation.GET, () -> mappedTaskRepository.getTaskById(idTask).map(TaskEntity::toDomainModel));
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return taskMetrics.time(TaskOperation.LIST, () -> {
+            List<Task> tasks = new ArrayList<>();
+            mappedTaskRepository.forEachTask(statusCode -> true, task -> tasks.add(task.toDomainModel()));
+            return tasks;
+        });
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(StatusTask statusTask) {
+        return taskMetrics.time(TaskOperation.LIST, () -> {
+            int statusCode = statusTask.getStatus();
+            List<Task> tasks = new ArrayList<>();
+            mappedTaskRepository.forEachTask(code -> code == statusCode, task -> tasks.add(task.toDomainModel()));
+            return tasks;
+        });
+    }
+
+    /**
+     * Counts the live slots per status code; the status is checked on the slot, so no task is decoded.
+     */
+    @Override
+    public Map<StatusTask, Long> countTasksByStatus() {
+        Map<StatusTask, Long> counts = new EnumMap<>(StatusTask.class);
+        for (StatusTask statusTask : StatusTask.values()) {
+            counts.put(statusTask, 0L);
+        }
+        // The filter counts the status of every live slot and rejects it, so no description is read.
+        mappedTaskRepository.forEachTask(statusCode -> {
+            counts.merge(StatusTask.fromStatusCode(statusCode), 1L, Long::sum);
+            return false;
+        }, task -> { });
+        return counts;
+    }
+
+    /**
+     * Reads slots from the cursor onwards and stops as soon as the page is full.
+     */
+    @Override
+    public List<Task> getTasksPage(StatusTask statusTask, long afterId, int offset, int limit) {
+        return taskMetrics.time(TaskOperation.LIST, () -> readPage(statusTask, afterId, offset, limit));
+    }
+
+    private List<Task> readPage(StatusTask statusTask, long afterId, int offset, int limit) {
+        List<Task> page = new ArrayList<>();
+        if (limit <= 0) {
+            return page;
+        }
+        int[] skipped = {0};
+        mappedTaskRepository.forEachTask(afterId, code -> statusTask == null || code == statusTask.getStatus(), task -> {
+            if (skipped[0] < offset) {
+                skipped[0]++;
+                return true;
+            }
+            page.add(task.toDomainModel());
+            return page.size() < limit;
+        });
+        return page;
+    }
+
+    /**
+     * Scans the slots and keeps the best {@code top} tasks in a bounded heap whose head is the worst task
+     * kept, so memory stays proportional to {@code top}; the mapped engine keeps no time index.
+     */
+    @Override
+    public List<Task> getTopTasks(StatusTask statusTask, TaskSortField sortField, boolean descending, int top) {
+        return taskMetrics.time(TaskOperation.LIST, () -> {
+            if (sortField == TaskSortField.ID && !descending && top > 0) {
+                // Slots are scanned in ID order already.
+                return readPage(statusTask, 0, 0, top);
+            }
+            Comparator<Task> order = descending ? sortField.comparator().reversed() : sortField.comparator();
+            PriorityQueue<Task> kept = new PriorityQueue<>(order.reversed());
+            mappedTaskRepository.forEachTask(code -> statusTask == null || code == statusTask.getStatus(), task -> {
+                Task domainTask = task.toDomainModel();
+                if (top <= 0 || kept.size() < top) {
+                    kept.add(domainTask);
+                } else if (order.compare(domainTask, kept.peek()) < 0) {
+                    kept.poll();
+                    kept.add(domainTask);
+                }
+            });
+            List<Task> tasks = new ArrayList<>(kept);
+            tasks.sort(order);
+            return tasks;
+        });
+    }
+
+    /**
+     * Scans the slots for tasks in the time range; the mapped engine keeps no time index.
+     */
+    @Override
+    public List<Task> getTasksByTimeRange(TaskTimeField field, LocalDateTime from, LocalDateTime to) {
+        return taskMetrics.time(TaskOperation.LIST, () -> {
+            List<Task> tasks = new ArrayList<>();
+            mappedTaskRepository.forEachTask(statusCode -> true, task -> {
+                Task domainTask = task.toDomainModel();
+                LocalDateTime time = field.valueOf(domainTask);
+                if (time != null && (from == null || !time.isBefore(from)) && (to == null || !time.isAfter(to))) {
+                    tasks.add(domainTask);
+                }
+            });
+            tasks.sort(Comparator.comparing(field::valueOf));
+            return tasks;
+        });
+    }
+
+    /**
+     * Scans the slots for descriptions containing every query term as a word prefix; the mapped engine
+     * keeps no search index. Matches are returned newest first.
+     */
+    @Override
+    public List<Task> searchTasks(String query, int limit) {
+        return taskMetrics.time(TaskOperation.LIST, () -> {
+            Set<String> terms = TaskSearchIndex.tokenize(query);
+            if (terms.isEmpty() || limit <= 0) {
+                return List.of();
+            }
+            Deque<Task> matches = new ArrayDeque<>();
+            mappedTaskRepository.forEachTask(statusCode -> true, task -> {
+                Set<String> tokens = TaskSearchIndex.tokenize(task.getDescriptionTaskEntity());
+                boolean matchesAll = terms.stream().allMatch(term -> tokens.stream().anyMatch(token -> token.startsWith(term)));
+                if (matchesAll) {
+                    matches.addFirst(task.toDomainModel());
+                    if (matches.size() > limit) {
+                        matches.removeLast();
+                    }
+                }
+            });
+            return List.copyOf(matches);
+        });
+    }
+
+    @Override
+    public Optional<Task> updateTaskByDescription(Long idTask, String description) {
+        return taskMetrics.time(TaskOperation.UPDATE, () -> mappedTaskRepository.updateTaskByDescription(idTask, description).map(TaskEntity::toDomainModel));
+    }
+
+    @Override
+    public Optional<Task> updateTaskByStatus(Long idTask, StatusTask statusTask) {
+        return taskMetrics.time(TaskOperation.UPDATE, () -> mappedTaskRepository.updateTaskByStatus(idTask, statusTask).map(TaskEntity::toDomainModel));
+    }
+
+    /**
+     * The mapped engine does not track versions, so a conditional update is rejected rather than
+     * checked against a version that never changes.
+     */
+    @Override
+    public Optional<Task> updateTaskByDescription(Long idTask, String description, long expectedVersion) {
+        throw versionsNotSupported();
+    }
+
+    /**
+     * The mapped engine does not track versions, so a conditional update is rejected rather than
+     * checked against a version that never changes.
+     */
+    @Override
+    public Optional<Task> updateTaskByStatus(Long idTask, StatusTask statusTask, long expectedVersion) {
+        throw versionsNotSupported();
+    }
+
+    private static InvalidCommandException versionsNotSupported() {
+        return new InvalidCommandException("--if-version is not supported by the mapped engine, which does not track task versions");
+    }
+
+    /**
+     * Changes the status byte of the selected slots one at a time; each change is applied in place and
+     * tasks already in the new status are left untouched.
+     */
+    @Override
+    public int updateTasksByStatus(TaskFilter filter, StatusTask statusTask) {
+        return taskMetrics.time(TaskOperation.UPDATE, () -> {
+            List<Long> ids = findIds(filter);
+            int updated = 0;
+            for (Long idTask : ids) {
+                if (mappedTaskRepository.changeStatus(idTask, statusTask)) {
+                    updated++;
+                }
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * Collects the IDs selected by the filter from the slots alone, scanning only the filter's ID range.
+     */
+    private List<Long> findIds(TaskFilter filter) {
+        long fromId = filter.getFromId() == null ? 1 : filter.getFromId();
+        long toId = filter.getToId() == null ? Long.MAX_VALUE : filter.getToId();
+        StatusTask status = filter.getStatus();
+        LocalDateTime updatedBefore = filter.getUpdatedBefore();
+        List<Long> ids = new ArrayList<>();
+        mappedTaskRepository.forEachTaskId(fromId, toId, (statusCode, updatedAtMillis) ->
+                        (status == null || status.getStatus() == statusCode)
+                                && (updatedBefore == null || (updatedAtMillis != TaskTimestamps.NO_TIMESTAMP
+                                && TaskTimestamps.fromEpochMillis(updatedAtMillis).isBefore(updatedBefore))),
+                ids::add);
+        return ids;
+    }
+}
@@ -0,0 +1,85 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Decodes the parts of a snapshot file concurrently and hands the tasks to a consumer in stored order.
+ * <p>
+ * Parts are submitted to the pool as a sliding window of twice its parallelism, so only a bounded number
+ * of decoded parts waits to be merged. The consumer always runs on the calling thread, so it can update
+ * structures that are not thread-safe.
+ */
+final class ParallelTaskDecoder {
+
+    /**
+     * Smallest part worth decoding on its own thread.
+     */
+    static final long MIN_PART_SIZE = 4L * 1024 * 1024;
+
+    /**
+     * Largest part, so a part always fits in a single array.
+     */
+    static final long MAX_PART_SIZE = 256L * 1024 * 1024;
+
+    private ParallelTaskDecoder() {
+    }
+
+    /**
+     * Chooses the size of the parts of a file so every thread gets several of them.
+     *
+     * @param fileSize    Size of the file in bytes.
+     * @param parallelism Number of decoding threads.
+     * @return The target size of a part in bytes.
+     */
+    static long partSize(long fileSize, int parallelism) {
+        long perPart = fileSize / (Math.max(1, parallelism) * 4L) + 1;
+        return Math.min(MAX_PART_SIZE, Math.max(MIN_PART_SIZE, perPart));
+    }
+
+    /**
+     * Decodes the parts on the pool and passes their tasks to the consumer, part by part in list order.
+     *
+     * @param parts    Decoders of consecutive parts of the file.
+     * @param pool     The pool the parts are decoded on.
+     * @param consumer Receives every decoded task in stored order, on the calling thread.
+     * @throws IOException If a part could not be read or decoded.
+     */
+    static void decode(List<Callable<List<TaskEntity>>> parts, ForkJoinPool pool, Consumer<TaskEntity> consumer) throws IOException {
+        int window = Math.max(2, pool.getParallelism() * 2);
+        Deque<Future<List<TaskEntity>>> inFlight = new ArrayDeque<>(window);
+        int next = 0;
+        try {
+            while (next < parts.size() || !inFlight.isEmpty()) {
+                while (next < parts.size() && inFlight.size() < window) {
+                    inFlight.addLast(pool.submit(parts.get(next++)));
+                }
+                inFlight.removeFirst().get().forEach(consumer);
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            throw new IOException("Failed to decode " + cause, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading tasks", e);
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+}
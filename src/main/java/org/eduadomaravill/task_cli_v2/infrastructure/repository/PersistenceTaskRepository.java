@@ -1,63 +1,205 @@
 package org.eduadomaravill.task_cli_v2.infrastructure.repository;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.eduadomaravill.task_cli_v2.domain.exception.TaskVersionConflictException;
 import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskFilter;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskSortField;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskTimeField;
 import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskJournalEntry;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskMetrics;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskOperation;
 import org.jline.terminal.Terminal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
- * Repository for managing tasks stored in a persistent JSON file.
+ * Repository for managing tasks stored in a persistent file.
  * Provides CRUD operations for handling tasks.
+ * <p>
+ * The snapshot is stored as JSON ({@code tasks_cli.json}) or in a compact binary format
+ * ({@code tasks_cli.bin}), selected with {@code task-cli.save.task.format}. With
+ * {@code task-cli.save.task.layout=segmented} it is split by ID range into segment files below
+ * {@code tasks_cli.segments} (see {@link SegmentedSnapshotStore}), so a write rewrites only the segments
+ * of the tasks it changed and a lookup by ID before the first load reads only the segment holding it; every
+ * other read loads all segments. A store written in the other layout is migrated when the store is opened.
+ * The store is opened on first access rather than at startup, then loaded once into an in-memory map
+ * keyed by task ID; reads are answered from memory and every mutation is written through to disk. The cache is reloaded
+ * whenever the generation counter in the lock file, advanced before every write, or the store files'
+ * modification time, size or file key no longer match the last load or write, so changes made by
+ * another process are still picked up.
+ * <p>
+ * When the journal is enabled, mutations are appended to {@code tasks_cli.journal} instead of
+ * rewriting the snapshot; the journal is replayed over the snapshot on load and
+ * folded into a new snapshot in the background once it grows past the configured threshold.
+ * <p>
+ * A {@link TaskIndex} over status and timestamps is maintained with every change of the in-memory
+ * tasks, so status listings and time-range queries only visit matching tasks. The {@link TaskSearchIndex}
+ * over the descriptions is built by the first search after a full load and maintained the same way from then
+ * on, so loads that are never searched do not pay for tokenizing every description.
+ * <p>
+ * New IDs come from a {@link TaskIdSequence} stored in {@code tasks_cli.seq}, so creating a task never
+ * scans the store and the ID of a deleted task is never reused, even by another process.
+ * <p>
+ * Every access takes a {@link StoreLock} on {@code tasks_cli.lock}: shared while the store is read and
+ * exclusive while it is written, so several processes can use the same store without losing updates.
+ * The same lock makes the repository safe for concurrent callers in one process: listings, lookups
+ * and searches run in parallel, while writes are serialized because each one ends in a single write
+ * of the snapshot or journal. Unlike {@link MappedTaskRepository}, writes are not striped by task ID:
+ * parallel updates of different tasks still run one at a time, so multi-threaded writers should use
+ * the mapped engine.
+ * Each write increments the version of the task, which lets callers make an update conditional on the
+ * version they read.
+ * <p>
+ * With {@code task-cli.save.task.async.enabled}, mutations are applied in memory and queued, and a
+ * writer thread persists the queue as one group commit (a single journal append or snapshot write)
+ * every flush interval or once the queue reaches the batch size. {@link #flush()} writes the queue
+ * immediately; it is called on shutdown, so only a crash can lose the mutations of the last interval.
+ * Each queued change remembers the version of the task it was based on. If another process changes that
+ * task before the queue is written, the queued changes of the task are dropped and reported instead of
+ * overwriting the other process's write, as a version-checked update would be rejected.
+ * The batch runner defers writes the same way with {@link #setWritesDeferred(boolean)}, without the timer.
+ * <p>
+ * Snapshots are replaced atomically through {@link AtomicFileWriter} with the configured
+ * {@link DurabilityLevel}. If the snapshot or the journal cannot be parsed, writes are refused until the file
+ * is repaired, so an unreadable store is never overwritten with an incomplete one.
  */
 @Component
+@ConditionalOnProperty(name = "task-cli.save.task.engine", havingValue = "file", matchIfMissing = true)
 public class PersistenceTaskRepository {
 
     private final Terminal terminal;
+    private final TaskMetrics taskMetrics;
     private final String filePath;
-    private static final String FILE_NAME = "tasks_cli.json";
-    private final ObjectMapper objectMapper;
+    private static final String JOURNAL_FILE_NAME = "tasks_cli.journal";
+    private static final String SEQUENCE_FILE_NAME = "tasks_cli.seq";
+    private static final String LOCK_FILE_NAME = "tasks_cli.lock";
+    private static final String SNAPSHOTS_DIRECTORY = "snapshots";
+    // Base version of a task created by a queued change, which no stored task has.
+    private static final long NO_TASK = -1;
+    private static final DateTimeFormatter SNAPSHOT_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private final TaskSnapshotStore snapshotStore;
+    private final TaskSnapshotStore singleFileStore;
+    private final TaskSnapshotStore segmentedStore;
+    private final boolean segmented;
+    private final JsonTaskFileFormat jsonFormat;
+    private final TaskArchive archive;
+    private final String snapshotExtension;
+    private final AtomicFileWriter fileWriter;
+    private final TaskJournal journal;
+    private final TaskIdSequence idSequence;
+    private final StoreLock storeLock;
+    private final boolean journalEnabled;
+    private final long compactThresholdBytes;
+    private final ExecutorService compactionExecutor;
+    private final ScheduledExecutorService writerExecutor;
+    private final int asyncMaxBatch;
+    private final List<TaskJournalEntry> pendingEntries = new ArrayList<>();
+    // Stored version of each task with queued changes before the first of them, NO_TASK for new tasks.
+    private final Map<Long, Long> pendingBaseVersions = new HashMap<>();
+    // Size of pendingEntries, readable without the store lock.
+    private volatile int pendingCount;
+    private final NavigableMap<Long, TaskEntity> tasksById = new TreeMap<>();
+    private final TaskIndex taskIndex = new TaskIndex();
+    private TaskSearchIndex searchIndex;
+    private StoreStamp loadedStamp;
+    private volatile boolean compactionRunning;
+    private boolean writesDeferred;
+    private String unreadableFile;
+    private volatile boolean opened;
 
     /**
      * Constructs a new {@link PersistenceTaskRepository} with the specified dependencies.
      *
-     * @param objectMapper Jackson object mapper for JSON serialization and deserialization.
-     * @param filePath     Path to the directory where the tasks.json file will be stored.
+     * @param objectMapper          Jackson object mapper for JSON serialization and deserialization.
+     * @param filePath              Path to the directory where the tasks.json file will be stored.
+     * @param taskMetrics           Records the latency of loads and saves and the bytes read and written.
+     * @param journalEnabled        Whether mutations are appended to the journal instead of rewriting the snapshot file.
+     * @param compactThresholdBytes Journal size that triggers a background compaction.
+     * @param durability            Durability level of file writes: {@code none}, {@code flush} or {@code fsync}.
+     * @param format                Snapshot format: {@code json} or {@code binary}.
+     * @param idBlockSize           Number of task IDs reserved at once in the ID sequence file.
+     * @param asyncEnabled          Whether mutations are queued and written by a background group commit.
+     * @param asyncFlushIntervalMs  Maximum time a queued mutation waits before it is written.
+     * @param asyncMaxBatch         Number of queued mutations that triggers a write before the interval ends.
+     * @param loadThreads           Number of threads decoding large snapshots; {@code 0} for one per processor.
+     * @param parallelLoadThreshold Snapshot size from which the snapshot is decoded on several threads.
+     * @param layout                Snapshot layout: {@code single} file or {@code segmented} by ID range.
+     * @param segmentSize           Number of task IDs per segment file in the segmented layout.
      */
     @Autowired
-    public PersistenceTaskRepository(ObjectMapper objectMapper, @Value("${task-cli.save.task.path}") String filePath, Terminal terminal) {
-        this.objectMapper = objectMapper;
+    public PersistenceTaskRepository(ObjectMapper objectMapper, @Value("${task-cli.save.task.path}") String filePath, Terminal terminal,
+                                     TaskMetrics taskMetrics,
+                                     @Value("${task-cli.save.task.journal.enabled:false}") boolean journalEnabled,
+                                     @Value("${task-cli.save.task.journal.compact-threshold-bytes:4194304}") long compactThresholdBytes,
+                                     @Value("${task-cli.save.task.durability:flush}") String durability,
+                                     @Value("${task-cli.save.task.format:json}") String format,
+                                     @Value("${task-cli.save.task.id-block-size:32}") int idBlockSize,
+                                     @Value("${task-cli.save.task.async.enabled:false}") boolean asyncEnabled,
+                                     @Value("${task-cli.save.task.async.flush-interval-ms:200}") long asyncFlushIntervalMs,
+                                     @Value("${task-cli.save.task.async.max-batch:1000}") int asyncMaxBatch,
+                                     @Value("${task-cli.save.task.load.threads:0}") int loadThreads,
+                                     @Value("${task-cli.save.task.load.parallel-threshold-bytes:67108864}") long parallelLoadThreshold,
+                                     @Value("${task-cli.save.task.layout:single}") String layout,
+                                     @Value("${task-cli.save.task.segment-size:10000}") long segmentSize) {
+        this.jsonFormat = new JsonTaskFileFormat(objectMapper);
+        BinaryTaskFileFormat binaryFormat = new BinaryTaskFileFormat();
+        TaskFileFormat fileFormat = "binary".equalsIgnoreCase(format.trim()) ? binaryFormat : jsonFormat;
+        boolean segmented = "segmented".equalsIgnoreCase(layout.trim());
+        this.archive = new TaskArchive(jsonFormat, binaryFormat);
+        this.snapshotExtension = (fileFormat == binaryFormat ? TaskArchive.BINARY_EXTENSION : TaskArchive.JSON_LINES_EXTENSION)
+                + TaskArchive.GZIP_EXTENSION;
+        int decodeThreads = loadThreads > 0 ? loadThreads : Runtime.getRuntime().availableProcessors();
+        this.fileWriter = new AtomicFileWriter(DurabilityLevel.valueOf(durability.trim().toUpperCase(Locale.ROOT)), taskMetrics);
         this.terminal = terminal;
-        if (System.getProperty("os.name").toLowerCase().contains("window")) {
-            this.filePath = filePath + "\\task-cli\\data";
+        this.taskMetrics = taskMetrics;
+        this.journalEnabled = journalEnabled;
+        this.compactThresholdBytes = compactThresholdBytes;
+        this.filePath = StorePaths.dataDirectory(filePath);
+        Path dataDirectory = Path.of(this.filePath);
+        this.singleFileStore = new SingleFileSnapshotStore(dataDirectory, fileFormat, fileWriter, decodeThreads, parallelLoadThreshold);
+        this.segmentedStore = new SegmentedSnapshotStore(dataDirectory, fileFormat, List.of(jsonFormat, binaryFormat),
+                fileWriter, segmentSize, decodeThreads, parallelLoadThreshold);
+        this.segmented = segmented;
+        this.snapshotStore = segmented ? segmentedStore : singleFileStore;
+        this.journal = new TaskJournal(dataDirectory, JOURNAL_FILE_NAME, objectMapper, fileWriter);
+        this.idSequence = new TaskIdSequence(dataDirectory, SEQUENCE_FILE_NAME, idBlockSize, fileWriter);
+        this.compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-cli-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.asyncMaxBatch = Math.max(1, asyncMaxBatch);
+        if (asyncEnabled) {
+            this.writerExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "task-cli-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.writerExecutor.scheduleWithFixedDelay(this::flush, asyncFlushIntervalMs, asyncFlushIntervalMs, TimeUnit.MILLISECONDS);
         } else {
-            this.filePath = filePath + "/task-cli/data";
-        }
-        File createTaskFile = new File(this.filePath, FILE_NAME);
-        boolean successFile = false;
-        boolean successDirectory = false;
-        if (!createTaskFile.getParentFile().exists()) {
-            successDirectory = createTaskFile.getParentFile().mkdirs();
-        }
-        if (!createTaskFile.exists()) {
-            try {
-                successFile = createTaskFile.createNewFile();
-            } catch (IOException e) {
-                this.terminal.writer().println("Failed to create tasks_cli.json file: " + e.getMessage());
-            }
-        }
-        if (successFile && successDirectory) {
-            this.terminal.writer().println("Created tasks_cli.json file successfully");
+            this.writerExecutor = null;
         }
+        this.storeLock = new StoreLock(dataDirectory, LOCK_FILE_NAME);
     }
 
     /**
@@ -67,11 +209,51 @@ public class PersistenceTaskRepository {
      * @return An {@link Optional} containing the created task, or {@link Optional#empty()} if saving failed.
      */
     public Optional<TaskEntity> createTask(TaskEntity taskEntity) {
-        List<TaskEntity> tasks = new ArrayList<>(getAllTasks());
-        long nextId = tasks.stream().mapToLong(TaskEntity::getIdTaskEntity).max().orElse(0) + 1;
-        taskEntity.setIdTaskEntity(nextId);
-        tasks.add(taskEntity);
-        return saveToFile(tasks) ? Optional.of(taskEntity) : Optional.empty();
+        StoreLock.Handle lock = lockStore(true);
+        if (lock == null) {
+            return Optional.empty();
+        }
+        try (lock) {
+            refreshIfStale();
+            long nextId = allocateIds(1);
+            if (nextId < 0) {
+                return Optional.empty();
+            }
+            taskEntity.setIdTaskEntity(nextId);
+            taskEntity.setVersion(1);
+            recordBaseVersion(nextId, null);
+            putTask(taskEntity);
+            return persist(TaskJournalEntry.put(taskEntity)) ? Optional.of(taskEntity) : Optional.empty();
+        }
+    }
+
+    /**
+     * Creates several tasks, assigning consecutive IDs in one pass and persisting them with a single write.
+     *
+     * @param taskEntities The task entities to be created, in order.
+     * @return The created tasks, or an empty list if saving failed.
+     */
+    public List<TaskEntity> createTasks(List<TaskEntity> taskEntities) {
+        StoreLock.Handle lock = lockStore(true);
+        if (lock == null) {
+            return List.of();
+        }
+        try (lock) {
+            refreshIfStale();
+            long nextId = allocateIds(taskEntities.size());
+            if (nextId < 0) {
+                return List.of();
+            }
+            List<TaskJournalEntry> entries = new ArrayList<>(taskEntities.size());
+            for (TaskEntity taskEntity : taskEntities) {
+                taskEntity.setIdTaskEntity(nextId++);
+                taskEntity.setVersion(1);
+                recordBaseVersion(taskEntity.getIdTaskEntity(), null);
+                putTask(taskEntity);
+                entries.add(TaskJournalEntry.put(taskEntity));
+            }
+            return persist(entries) ? taskEntities : List.of();
+        }
     }
 
     /**
@@ -80,35 +262,190 @@ public class PersistenceTaskRepository {
      * @return A list of {@link TaskEntity} objects, or an empty list if no tasks exist.
      */
     public List<TaskEntity> getAllTasks() {
-        File file = new File(filePath, FILE_NAME);
-        try {
-            if (!file.exists() || file.length() == 0) {
-                return Collections.emptyList();
+        StoreLock.Handle lock = lockForRead();
+        if (lock == null) {
+            return List.of();
+        }
+        try (lock) {
+            return List.copyOf(tasksById.values());
+        }
+    }
+
+    /**
+     * Passes every stored task that matches the filter to the consumer, in ID order,
+     * without copying the store into an intermediate list.
+     *
+     * @param filter   Selects the tasks to visit.
+     * @param consumer Receives each matching task.
+     */
+    public void forEachTask(Predicate<TaskEntity> filter, Consumer<TaskEntity> consumer) {
+        StoreLock.Handle lock = lockForRead();
+        if (lock == null) {
+            return;
+        }
+        try (lock) {
+            for (TaskEntity task : tasksById.values()) {
+                if (filter.test(task)) {
+                    consumer.accept(task);
+                }
             }
-            String content = Files.readString(file.toPath()).trim();
+        }
+    }
 
-            if (content.isEmpty() || "[{}]".equals(content)) {
-                return Collections.emptyList();
+    /**
+     * Passes every stored task in the given status to the consumer, in ID order, using the status index.
+     *
+     * @param statusTask The status to look up.
+     * @param consumer   Receives each task in that status.
+     */
+    public void forEachTaskWithStatus(StatusTask statusTask, Consumer<TaskEntity> consumer) {
+        StoreLock.Handle lock = lockForRead();
+        if (lock == null) {
+            return;
+        }
+        try (lock) {
+            taskIndex.forEachIdWithStatus(statusTask, idTask -> consumer.accept(tasksById.get(idTask)));
+        }
+    }
+
+    /**
+     * Retrieves one page of tasks in ID order for keyset pagination. Only tasks after {@code afterId}
+     * are visited and the walk stops once the page is full, so the cost of a page depends on its size
+     * and offset, not on how many tasks come before it.
+     *
+     * @param statusTask The status to filter on, or {@code null} for every task.
+     * @param afterId    Only tasks with a greater ID are returned; {@code 0} to start from the first task.
+     * @param offset     Number of matching tasks to skip before the page starts.
+     * @param limit      Maximum number of tasks in the page.
+     * @return The tasks of the page, in ID order.
+     */
+    public List<TaskEntity> getTasksPage(StatusTask statusTask, long afterId, int offset, int limit) {
+        List<TaskEntity> page = new ArrayList<>(Math.min(Math.max(limit, 0), 1024));
+        if (limit <= 0) {
+            return page;
+        }
+        StoreLock.Handle lock = lockForRead();
+        if (lock == null) {
+            return page;
+        }
+        try (lock) {
+            int[] skipped = {0};
+            Predicate<TaskEntity> collector = task -> {
+                if (skipped[0] < offset) {
+                    skipped[0]++;
+                    return true;
+                }
+                page.add(task);
+                return page.size() < limit;
+            };
+            if (statusTask == null) {
+                for (TaskEntity task : tasksById.tailMap(afterId, false).values()) {
+                    if (!collector.test(task)) {
+                        break;
+                    }
+                }
+            } else {
+                taskIndex.forEachIdWithStatus(statusTask, afterId, idTask -> collector.test(tasksById.get(idTask)));
             }
-            List<TaskEntity> tasks = objectMapper.readValue(file, new TypeReference<>() {
-            });
-            return tasks.stream()
-                    .filter(task -> task.getIdTaskEntity() != null).toList();
+        }
+        return page;
+    }
 
-        } catch (IOException e) {
-            terminal.writer().println("Error reading: " + e.getLocalizedMessage());
-            return Collections.emptyList();
+    /**
+     * Retrieves the first tasks in the given order, optionally in a single status. Tasks are visited in
+     * order through the ID map, the status index or the time index, so the walk stops as soon as
+     * {@code top} matches are found and nothing is sorted.
+     *
+     * @param statusTask The status to filter on, or {@code null} for every task.
+     * @param sortField  The field to order by.
+     * @param descending Whether the order is reversed.
+     * @param top        Maximum number of tasks to return; {@code 0} for every matching task.
+     * @return The matching tasks, in the requested order.
+     */
+    public List<TaskEntity> getTopTasks(StatusTask statusTask, TaskSortField sortField, boolean descending, int top) {
+        int limit = top > 0 ? top : Integer.MAX_VALUE;
+        List<TaskEntity> tasks = new ArrayList<>(Math.min(limit, 1024));
+        StoreLock.Handle lock = lockForRead();
+        if (lock == null) {
+            return tasks;
+        }
+        try (lock) {
+            Predicate<TaskEntity> collector = task -> {
+                if (statusTask == null || task.getStatusCode() == statusTask.getStatus()) {
+                    tasks.add(task);
+                }
+                return tasks.size() < limit;
+            };
+            if (sortField.getTimeField() != null) {
+                taskIndex.forEachIdByTime(sortField.getTimeField(), descending, idTask -> collector.test(tasksById.get(idTask)));
+            } else if (statusTask != null && !descending) {
+                taskIndex.forEachIdWithStatus(statusTask, 0, idTask -> collector.test(tasksById.get(idTask)));
+            } else {
+                for (TaskEntity task : (descending ? tasksById.descendingMap() : tasksById).values()) {
+                    if (!collector.test(task)) {
+                        break;
+                    }
+                }
+            }
         }
+        return tasks;
     }
 
     /**
-     * Retrieves a task by its ID.
+     * Passes every stored task whose creation or update time falls in the range to the consumer,
+     * ordered by that time, using the time index.
+     *
+     * @param field    The time to filter on.
+     * @param from     Inclusive lower bound, or {@code null} for no lower bound.
+     * @param to       Inclusive upper bound, or {@code null} for no upper bound.
+     * @param consumer Receives each task in the range.
+     */
+    public void forEachTaskInRange(TaskTimeField field, LocalDateTime from, LocalDateTime to, Consumer<TaskEntity> consumer) {
+        StoreLock.Handle lock = lockForRead();
+        if (lock == null) {
+            return;
+        }
+        try (lock) {
+            taskIndex.forEachIdInRange(field, from, to, idTask -> consumer.accept(tasksById.get(idTask)));
+        }
+    }
+
+    /**
+     * Finds the tasks whose description matches the query, using the search index.
+     *
+     * @param query Free text; each term matches the description words it is a prefix of.
+     * @param limit Maximum number of results.
+     * @return The best matching tasks, best match first.
+     */
+    public List<TaskEntity> searchTasks(String query, int limit) {
+        StoreLock.Handle lock = lockForSearch();
+        if (lock == null) {
+            return List.of();
+        }
+        try (lock) {
+            return searchIndex.search(query, limit).stream().map(tasksById::get).toList();
+        }
+    }
+
+    /**
+     * Retrieves a task by its ID. Before the first full load, a segmented snapshot without a journal to replay
+     * is read only in the segment holding the ID, see {@link #readRangeBeforeLoad(long, long)}.
      *
      * @param idTask The ID of the task to retrieve.
      * @return An {@link Optional} containing the task if found, otherwise empty.
      */
     public Optional<TaskEntity> getTaskById(long idTask) {
-        return getAllTasks().stream().filter(task -> task.getIdTaskEntity() == idTask).findFirst();
+        List<TaskEntity> unloaded = readRangeBeforeLoad(idTask, idTask);
+        if (unloaded != null) {
+            return unloaded.stream().findFirst();
+        }
+        StoreLock.Handle lock = lockForRead();
+        if (lock == null) {
+            return Optional.empty();
+        }
+        try (lock) {
+            return Optional.ofNullable(tasksById.get(idTask));
+        }
     }
 
     /**
@@ -119,7 +456,20 @@ public class PersistenceTaskRepository {
      * @return An {@link Optional} containing the updated task, or empty if the task was not found.
      */
     public Optional<TaskEntity> updateTaskByDescription(Long idTask, String newDescription) {
-        return updateTask(idTask, task -> task.setDescriptionTaskEntity(newDescription));
+        return updateTask(idTask, null, task -> task.setDescriptionTaskEntity(newDescription));
+    }
+
+    /**
+     * Updates a task's description only if the task is still at the expected version.
+     *
+     * @param idTask          The ID of the task to update.
+     * @param newDescription  The new description for the task.
+     * @param expectedVersion The version the change is based on.
+     * @return An {@link Optional} containing the updated task, or empty if the task was not found.
+     * @throws TaskVersionConflictException If the task was changed since that version.
+     */
+    public Optional<TaskEntity> updateTaskByDescription(Long idTask, String newDescription, long expectedVersion) {
+        return updateTask(idTask, expectedVersion, task -> task.setDescriptionTaskEntity(newDescription));
     }
 
     /**
@@ -130,7 +480,20 @@ public class PersistenceTaskRepository {
      * @return An {@link Optional} containing the updated task, or empty if the task was not found.
      */
     public Optional<TaskEntity> updateTaskByStatus(Long idTask, StatusTask statusTask) {
-        return updateTask(idTask, task -> task.setStatusCode(statusTask.getStatus()));
+        return updateTask(idTask, null, task -> task.setStatusCode(statusTask.getStatus()));
+    }
+
+    /**
+     * Updates a task's status only if the task is still at the expected version.
+     *
+     * @param idTask          The ID of the task to update.
+     * @param statusTask      The new status of the task.
+     * @param expectedVersion The version the change is based on.
+     * @return An {@link Optional} containing the updated task, or empty if the task was not found.
+     * @throws TaskVersionConflictException If the task was changed since that version.
+     */
+    public Optional<TaskEntity> updateTaskByStatus(Long idTask, StatusTask statusTask, long expectedVersion) {
+        return updateTask(idTask, expectedVersion, task -> task.setStatusCode(statusTask.getStatus()));
     }
 
     /**
@@ -140,50 +503,916 @@ public class PersistenceTaskRepository {
      * @return {@code true} if the task was deleted successfully, otherwise {@code false}.
      */
     public boolean deleteTask(Long idTask) {
-        List<TaskEntity> tasks = getAllTasks().stream()
-                .filter(task -> !Objects.equals(task.getIdTaskEntity(), idTask)).toList();
-        return saveToFile(tasks);
+        StoreLock.Handle lock = lockStore(true);
+        if (lock == null) {
+            return false;
+        }
+        try (lock) {
+            refreshIfStale();
+            TaskEntity removed = removeTask(idTask);
+            if (removed == null) {
+                return false;
+            }
+            recordBaseVersion(idTask, removed);
+            return persist(TaskJournalEntry.delete(idTask));
+        }
+    }
+
+    /**
+     * Changes the status of every task selected by the filter in one pass and persists all changes with a single write.
+     * Tasks already in the target status are left untouched. If the write fails, the in-memory tasks are
+     * reloaded from disk, so either every change is applied or none is.
+     *
+     * @param filter     Selects the tasks to update.
+     * @param statusTask The new status of the tasks.
+     * @return The number of updated tasks, or {@code -1} if the changes could not be persisted.
+     */
+    public int updateTasksByStatus(TaskFilter filter, StatusTask statusTask) {
+        StoreLock.Handle lock = lockStore(true);
+        if (lock == null) {
+            return -1;
+        }
+        try (lock) {
+            refreshIfStale();
+            List<TaskEntity> matches = findTasks(filter);
+            matches.removeIf(task -> task.getStatusCode() == statusTask.getStatus());
+            if (matches.isEmpty()) {
+                return 0;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<TaskJournalEntry> entries = new ArrayList<>(matches.size());
+            for (TaskEntity current : matches) {
+                TaskEntity task = current.copy();
+                task.setStatusCode(statusTask.getStatus());
+                task.setUpdatedAt(now);
+                task.setVersion(current.getVersion() + 1);
+                recordBaseVersion(task.getIdTaskEntity(), current);
+                putTask(task);
+                entries.add(TaskJournalEntry.put(task));
+            }
+            return persist(entries) ? matches.size() : -1;
+        }
+    }
+
+    /**
+     * Deletes every task selected by the filter in one pass and persists the deletions with a single write.
+     * If the write fails, the in-memory tasks are reloaded from disk, so either every task is deleted or none is.
+     *
+     * @param filter Selects the tasks to delete.
+     * @return The number of deleted tasks, or {@code -1} if the deletions could not be persisted.
+     */
+    public int deleteTasks(TaskFilter filter) {
+        StoreLock.Handle lock = lockStore(true);
+        if (lock == null) {
+            return -1;
+        }
+        try (lock) {
+            refreshIfStale();
+            List<TaskEntity> matches = findTasks(filter);
+            if (matches.isEmpty()) {
+                return 0;
+            }
+            List<TaskJournalEntry> entries = new ArrayList<>(matches.size());
+            for (TaskEntity task : matches) {
+                removeTask(task.getIdTaskEntity());
+                recordBaseVersion(task.getIdTaskEntity(), task);
+                entries.add(TaskJournalEntry.delete(task.getIdTaskEntity()));
+            }
+            return persist(entries) ? matches.size() : -1;
+        }
+    }
+
+    /**
+     * Counts the stored tasks in each status using the status index.
+     *
+     * @return The number of tasks per status, with every status present.
+     */
+    public Map<StatusTask, Long> countTasksByStatus() {
+        Map<StatusTask, Long> counts = new EnumMap<>(StatusTask.class);
+        StoreLock.Handle lock = lockForRead();
+        if (lock == null) {
+            return counts;
+        }
+        try (lock) {
+            for (StatusTask statusTask : StatusTask.values()) {
+                counts.put(statusTask, (long) taskIndex.countWithStatus(statusTask));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Writes every stored task to a JSON file, for example to convert a binary store.
+     *
+     * @param target The JSON file to write.
+     * @return The number of exported tasks, or {@code -1} if the file could not be written.
+     */
+    public int exportToJson(Path target) {
+        StoreLock.Handle lock = lockForRead();
+        if (lock == null) {
+            return -1;
+        }
+        try (lock) {
+            try {
+                fileWriter.write(target, outputStream -> jsonFormat.write(outputStream, tasksById.values()));
+                return tasksById.size();
+            } catch (IOException e) {
+                terminal.writer().println("Failed to export: " + e.getLocalizedMessage());
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Replaces every stored task with the tasks of a JSON file and persists them in the configured format.
+     *
+     * @param source The JSON file to read.
+     * @return The number of imported tasks, or {@code -1} if the file could not be read or the store not written.
+     */
+    public int importFromJson(Path source) {
+        return replaceTasks(source, jsonFormat::read);
+    }
+
+    /**
+     * Writes a point-in-time copy of the store to an archive: JSON Lines, or the binary format if the name
+     * ends with {@code .bin} or {@code .bin.gz}, gzip-compressed if it ends with {@code .gz}.
+     * <p>
+     * Only the references to the stored tasks are copied while the shared lock is held; as tasks are replaced
+     * rather than modified, the copy keeps the state of that moment while the archive is streamed to disk, and
+     * writers are not held up by the export. Like the snapshot, the archive replaces the target atomically.
+     *
+     * @param target The archive to write; missing parent directories are created.
+     * @return The number of exported tasks, or {@code -1} if the archive could not be written.
+     */
+    public int exportArchive(Path target) {
+        List<TaskEntity> tasks;
+        StoreLock.Handle lock = lockForRead();
+        if (lock == null) {
+            return -1;
+        }
+        try (lock) {
+            tasks = new ArrayList<>(tasksById.values());
+        }
+        try {
+            Path directory = target.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            fileWriter.write(target, outputStream -> archive.write(target, outputStream, tasks));
+            return tasks.size();
+        } catch (IOException e) {
+            terminal.writer().println("Failed to export: " + e.getLocalizedMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the path of a new snapshot archive in the {@code snapshots} directory of the store, named after
+     * the current time and written in the configured storage format with gzip compression.
+     *
+     * @return The archive path to pass to {@link #exportArchive(Path)}.
+     */
+    public Path newSnapshotPath() {
+        return Path.of(filePath, SNAPSHOTS_DIRECTORY, "tasks-" + SNAPSHOT_TIME.format(LocalDateTime.now()) + snapshotExtension);
+    }
+
+    /**
+     * Replaces every stored task with the tasks of an archive written by {@link #exportArchive(Path)}, a JSON
+     * export or a snapshot file, and persists them in the configured format. Compression and format are detected
+     * from the content, and the tasks are collected in one pass before the store is written once.
+     *
+     * @param source The archive to read.
+     * @return The number of restored tasks, or {@code -1} if the archive could not be read or the store not written.
+     */
+    public int restoreArchive(Path source) {
+        return replaceTasks(source, archive::read);
+    }
+
+    private int replaceTasks(Path source, TaskStreamReader reader) {
+        StoreLock.Handle lock = lockStore(true);
+        if (lock == null) {
+            return -1;
+        }
+        try (lock) {
+            if (compactionRunning) {
+                terminal.writer().println("A journal compaction is running, try again in a moment.");
+                return -1;
+            }
+            NavigableMap<Long, TaskEntity> imported = new TreeMap<>();
+            try (InputStream inputStream = Files.newInputStream(source)) {
+                reader.read(inputStream, task -> imported.put(task.getIdTaskEntity(), task));
+            } catch (IOException e) {
+                terminal.writer().println("Failed to import: " + e.getLocalizedMessage());
+                return -1;
+            }
+            unreadableFile = null;
+            clearPendingEntries();
+            clearTasks();
+            imported.values().forEach(this::putTask);
+            return saveToFile() ? imported.size() : -1;
+        }
+    }
+
+    /**
+     * Defers writes for a bulk run: while deferred, mutations are applied in memory and queued as with
+     * asynchronous writes, but only written by {@link #flush()}. Ending the deferral writes the queue.
+     *
+     * @param deferred Whether writes are deferred.
+     * @return The number of mutations written when ending the deferral, or {@code -1} if they could not be written.
+     */
+    public int setWritesDeferred(boolean deferred) {
+        StoreLock.Handle lock = lockStore(true);
+        if (lock == null) {
+            return -1;
+        }
+        try (lock) {
+            writesDeferred = deferred;
+        }
+        return deferred ? 0 : flush();
+    }
+
+    /**
+     * Writes every queued mutation as a single group commit. Does nothing unless writes are asynchronous or deferred.
+     * If the write fails the mutations stay queued and are retried on the next flush.
+     * An empty queue returns before locking, so the writer's idle ticks never block readers or other processes.
+     *
+     * @return The number of mutations written, or {@code -1} if they could not be written.
+     */
+    public int flush() {
+        if (!opened || pendingCount == 0) {
+            return 0;
+        }
+        StoreLock.Handle lock = lockStore(true);
+        if (lock == null) {
+            return -1;
+        }
+        try (lock) {
+            refreshIfStale();
+            if (pendingEntries.isEmpty()) {
+                return 0;
+            }
+            List<TaskJournalEntry> batch = List.copyOf(pendingEntries);
+            if (!write(batch)) {
+                return -1;
+            }
+            clearPendingEntries();
+            return batch.size();
+        }
+    }
+
+    /**
+     * Writes the queued mutations, waits for a running compaction, releases the journal and the store lock, and returns unused reserved task IDs.
+     */
+    @PreDestroy
+    public void close() {
+        if (writerExecutor != null) {
+            writerExecutor.shutdown();
+        }
+        if (!opened) {
+            compactionExecutor.shutdown();
+            return;
+        }
+        if (flush() < 0) {
+            terminal.writer().println("Queued changes could not be written before shutdown.");
+        }
+        compactionExecutor.shutdown();
+        try {
+            if (!compactionExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                terminal.writer().println("Compaction did not finish before shutdown, it will resume on next start.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        StoreLock.Handle lock = lockStore(true);
+        if (lock != null) {
+            try (lock) {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    terminal.writer().println("Failed to close journal: " + e.getLocalizedMessage());
+                }
+                try {
+                    idSequence.release();
+                } catch (IOException e) {
+                    terminal.writer().println("Failed to release reserved task IDs: " + e.getLocalizedMessage());
+                }
+            }
+        }
+        try {
+            storeLock.close();
+        } catch (IOException e) {
+            terminal.writer().println("Failed to close the store lock: " + e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Reloads the in-memory tasks when the store files changed since they were last read or written.
+     * The snapshot is read first and the journal, if any, is replayed over it, followed by the
+     * mutations still queued for the asynchronous writer, see {@link #reapplyPendingEntries()}. When there is no journal and the layout can
+     * tell which parts of the snapshot were replaced, only those parts are read again.
+     */
+    private void refreshIfStale() {
+        StoreStamp stamp = currentStamp();
+        if (stamp.equals(loadedStamp)) {
+            return;
+        }
+        long started = taskMetrics.start();
+        try {
+            reload(stamp);
+        } finally {
+            taskMetrics.record(TaskOperation.LOAD, started);
+        }
+    }
+
+    private void reload(StoreStamp stamp) {
+        if (loadedStamp != null && unreadableFile == null && stamp.journalEmpty() && loadedStamp.journalEmpty() && readSnapshotChanges()) {
+            reapplyPendingEntries();
+            loadedStamp = currentStamp();
+            return;
+        }
+        unreadableFile = null;
+        clearTasks();
+        readSnapshot(this::putTask);
+        try {
+            journal.replay(this::applyJournalEntry);
+        } catch (IOException e) {
+            terminal.writer().println("Error reading journal: " + e.getLocalizedMessage());
+            unreadableFile = JOURNAL_FILE_NAME;
+        }
+        reapplyPendingEntries();
+        loadedStamp = currentStamp();
+        if (journalEnabled && unreadableFile == null && journal.hasSealed()) {
+            scheduleCompaction(false);
+        }
+    }
+
+    /**
+     * Applies the queued mutations again on top of a freshly read store. A task whose stored version is no longer
+     * the one its queued changes were based on was changed by another process in the meantime; that write is
+     * already on disk, so the queued changes of the task are dropped and reported rather than overwriting it.
+     */
+    private void reapplyPendingEntries() {
+        if (pendingEntries.isEmpty()) {
+            pendingBaseVersions.clear();
+            return;
+        }
+        Set<Long> queuedIds = new HashSet<>();
+        pendingEntries.forEach(entry -> queuedIds.add(entry.getId()));
+        pendingBaseVersions.keySet().retainAll(queuedIds);
+        Set<Long> conflicts = new TreeSet<>();
+        pendingBaseVersions.forEach((idTask, baseVersion) -> {
+            TaskEntity stored = tasksById.get(idTask);
+            if ((stored == null ? NO_TASK : stored.getVersion()) != baseVersion) {
+                conflicts.add(idTask);
+            }
+        });
+        if (!conflicts.isEmpty()) {
+            pendingEntries.removeIf(entry -> conflicts.contains(entry.getId()));
+            pendingBaseVersions.keySet().removeAll(conflicts);
+            pendingCount = pendingEntries.size();
+            terminal.writer().println("Discarded queued changes to tasks " + conflicts + ": another process changed them first.");
+        }
+        pendingEntries.forEach(this::applyJournalEntry);
     }
 
     /**
-     * Saves the list of tasks back to the JSON file.
+     * Remembers the stored version a change is based on, when the change is about to be queued and is the
+     * first queued change of the task.
+     *
+     * @param idTask   The ID of the changed task.
+     * @param previous The task before the change, or {@code null} for a new task.
+     */
+    private void recordBaseVersion(long idTask, TaskEntity previous) {
+        if (writerExecutor != null || writesDeferred) {
+            pendingBaseVersions.putIfAbsent(idTask, previous == null ? NO_TASK : previous.getVersion());
+        }
+    }
+
+    private void clearPendingEntries() {
+        pendingEntries.clear();
+        pendingBaseVersions.clear();
+        pendingCount = 0;
+    }
+
+    private void applyJournalEntry(TaskJournalEntry entry) {
+        if (entry.isDelete()) {
+            removeTask(entry.getId());
+        } else if (entry.getTask() != null && entry.getTask().getIdTaskEntity() != null) {
+            putTask(entry.getTask());
+        }
+    }
+
+    /**
+     * Acquires the store lock shared with other processes, reporting why it could not be acquired.
+     *
+     * @param exclusive Whether the lock is needed for writing.
+     * @return The held lock, or {@code null} if the lock file could not be locked.
+     */
+    private StoreLock.Handle lockStore(boolean exclusive) {
+        if (!opened && !open()) {
+            return null;
+        }
+        try {
+            return exclusive ? storeLock.exclusive() : storeLock.shared();
+        } catch (IOException e) {
+            terminal.writer().println("Failed to lock the task store: " + e.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Opens the store on first use instead of at startup, so commands that never touch the tasks do not pay
+     * for it: creates the data directory and, with the single file layout, an empty snapshot file, and
+     * migrates a snapshot written in the other layout. The tasks themselves are loaded by the first
+     * {@link #refreshIfStale()}.
+     *
+     * @return {@code true} if the store is open, {@code false} if the store lock could not be acquired.
+     */
+    private synchronized boolean open() {
+        if (opened) {
+            return true;
+        }
+        File dataDirectory = new File(filePath);
+        boolean successDirectory = !dataDirectory.exists() && dataDirectory.mkdirs();
+        File createTaskFile = new File(dataDirectory, singleFileStore.name());
+        if (!segmented && !createTaskFile.exists()) {
+            try {
+                if (createTaskFile.createNewFile() && successDirectory) {
+                    terminal.writer().println("Created " + createTaskFile.getName() + " file successfully");
+                }
+            } catch (IOException e) {
+                terminal.writer().println("Failed to create " + createTaskFile.getName() + " file: " + e.getMessage());
+            }
+        }
+        try (StoreLock.Handle lock = storeLock.exclusive()) {
+            migrateSnapshot(segmented ? singleFileStore : segmentedStore);
+        } catch (IOException e) {
+            terminal.writer().println("Failed to lock the task store: " + e.getLocalizedMessage());
+            return false;
+        }
+        opened = true;
+        return true;
+    }
+
+    /**
+     * Acquires the store lock for reading with the in-memory tasks up to date. Readers share the lock
+     * and run in parallel; when the store files changed, the lock is taken exclusively to reload them
+     * and kept for the rest of the read.
+     *
+     * @return The held lock, or {@code null} if the lock file could not be locked.
+     */
+    private StoreLock.Handle lockForRead() {
+        StoreLock.Handle lock = lockStore(false);
+        if (lock == null || currentStamp().equals(loadedStamp)) {
+            return lock;
+        }
+        lock.close();
+        lock = lockStore(true);
+        if (lock != null) {
+            refreshIfStale();
+        }
+        return lock;
+    }
+
+    /**
+     * Reads the tasks of an ID range from only the parts of the snapshot holding them, while the store has not
+     * been loaded yet, so a single lookup does not decode every segment. The tasks are not cached: the first
+     * other access still loads the whole store.
+     *
+     * @param fromId Lowest ID to read.
+     * @param toId   Highest ID to read.
+     * @return The tasks of the range in ID order, or {@code null} if the store must be loaded instead because it
+     * already is, the layout cannot read part of the snapshot, a journal must be replayed over it or a part
+     * holding the range cannot be read.
+     */
+    private List<TaskEntity> readRangeBeforeLoad(long fromId, long toId) {
+        if (!segmented || loadedStamp != null) {
+            return null;
+        }
+        StoreLock.Handle lock = lockStore(false);
+        if (lock == null) {
+            return null;
+        }
+        try (lock) {
+            if (loadedStamp != null || !currentStamp().journalEmpty()) {
+                return null;
+            }
+            List<TaskEntity> tasks = new ArrayList<>();
+            return snapshotStore.readRange(fromId, toId, tasks::add) ? tasks : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Acquires the store lock for reading with the search index built. The index is built by the first
+     * search after a full load, with the lock taken exclusively; later searches share the lock.
+     *
+     * @return The held lock, or {@code null} if the lock file could not be locked.
+     */
+    private StoreLock.Handle lockForSearch() {
+        StoreLock.Handle lock = lockForRead();
+        if (lock == null || searchIndex != null) {
+            return lock;
+        }
+        lock.close();
+        lock = lockStore(true);
+        if (lock != null) {
+            refreshIfStale();
+            buildSearchIndex();
+        }
+        return lock;
+    }
+
+    /**
+     * Allocates consecutive IDs for new tasks, never below the highest stored ID.
+     *
+     * @param count Number of IDs needed.
+     * @return The first allocated ID, or {@code -1} if the ID sequence could not be updated.
+     */
+    private long allocateIds(int count) {
+        try {
+            return idSequence.allocate(count, tasksById.isEmpty() ? 1 : tasksById.lastKey() + 1);
+        } catch (IOException e) {
+            terminal.writer().println("Failed to allocate task IDs: " + e.getLocalizedMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Collects the tasks selected by the filter, visiting only the ID range, the status or the
+     * update-time range when the filter restricts one of them.
+     */
+    private List<TaskEntity> findTasks(TaskFilter filter) {
+        List<TaskEntity> matches = new ArrayList<>();
+        Consumer<TaskEntity> collector = task -> {
+            if (filter.matches(task.getIdTaskEntity(), StatusTask.fromStatusCode(task.getStatusCode()), task.getUpdatedAt())) {
+                matches.add(task);
+            }
+        };
+        if (filter.getFromId() != null || filter.getToId() != null) {
+            long fromId = filter.getFromId() == null ? Long.MIN_VALUE : filter.getFromId();
+            long toId = filter.getToId() == null ? Long.MAX_VALUE : filter.getToId();
+            if (fromId <= toId) {
+                tasksById.subMap(fromId, true, toId, true).values().forEach(collector);
+            }
+        } else if (filter.getStatus() != null) {
+            taskIndex.forEachIdWithStatus(filter.getStatus(), idTask -> collector.accept(tasksById.get(idTask)));
+        } else if (filter.getUpdatedBefore() != null) {
+            taskIndex.forEachIdInRange(TaskTimeField.UPDATED, null, filter.getUpdatedBefore(), idTask -> collector.accept(tasksById.get(idTask)));
+        } else {
+            tasksById.values().forEach(collector);
+        }
+        return matches;
+    }
+
+    /**
+     * Stores a task in the in-memory map, replacing any task with the same ID, and updates the indexes.
+     */
+    private void putTask(TaskEntity task) {
+        TaskEntity previous = tasksById.put(task.getIdTaskEntity(), task);
+        if (previous != null) {
+            taskIndex.remove(previous);
+        }
+        taskIndex.add(task);
+        if (searchIndex != null) {
+            if (previous != null) {
+                searchIndex.remove(previous);
+            }
+            searchIndex.add(task);
+        }
+    }
+
+    /**
+     * Removes a task from the in-memory map and the indexes.
+     *
+     * @return The removed task, or {@code null} if there was none.
+     */
+    private TaskEntity removeTask(Long idTask) {
+        TaskEntity previous = tasksById.remove(idTask);
+        if (previous != null) {
+            taskIndex.remove(previous);
+            if (searchIndex != null) {
+                searchIndex.remove(previous);
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Drops the in-memory tasks and their indexes before a full load; the search index is built again by the
+     * next search.
+     */
+    private void clearTasks() {
+        tasksById.clear();
+        taskIndex.clear();
+        searchIndex = null;
+    }
+
+    private void buildSearchIndex() {
+        if (searchIndex == null) {
+            TaskSearchIndex index = new TaskSearchIndex();
+            tasksById.values().forEach(index::add);
+            searchIndex = index;
+        }
+    }
+
+    /**
+     * Decodes the snapshot, handing each task to the consumer as soon as it is decoded.
+     * If the snapshot cannot be read, writes are refused until it is repaired.
+     *
+     * @param consumer Receives every stored task in ID order.
+     */
+    private void readSnapshot(Consumer<TaskEntity> consumer) {
+        try {
+            snapshotStore.read(consumer);
+        } catch (IOException e) {
+            terminal.writer().println("Error reading: " + e.getLocalizedMessage());
+            unreadableFile = snapshotStore.name();
+        }
+    }
+
+    /**
+     * Reads only the replaced parts of the snapshot, dropping the cached tasks of those parts first.
+     *
+     * @return {@code true} if the changes were read, {@code false} if the whole snapshot must be reloaded.
+     */
+    private boolean readSnapshotChanges() {
+        try {
+            return snapshotStore.readChanges(
+                    (fromId, toId) -> List.copyOf(tasksById.subMap(fromId, true, toId, true).keySet()).forEach(this::removeTask),
+                    this::putTask);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Moves the tasks of a snapshot stored in the other layout into the configured one, the first time the
+     * configured layout is used with a store written in the other. The old snapshot is kept as a backup
+     * next to the new one.
+     *
+     * @param previousStore The snapshot in the layout that is not configured.
+     */
+    private void migrateSnapshot(TaskSnapshotStore previousStore) {
+        if (!snapshotStore.isEmpty() || previousStore.isEmpty()) {
+            return;
+        }
+        NavigableMap<Long, TaskEntity> tasks = new TreeMap<>();
+        try {
+            previousStore.read(task -> tasks.put(task.getIdTaskEntity(), task));
+            storeLock.advanceGeneration();
+            snapshotStore.write(tasks.values());
+            previousStore.retire();
+            terminal.writer().println("Migrated " + tasks.size() + " tasks from " + previousStore.name() + " to " + snapshotStore.name() + ".");
+        } catch (IOException e) {
+            terminal.writer().println("Failed to migrate " + previousStore.name() + " to " + snapshotStore.name() + ": " + e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Persists a mutation that has already been applied to the in-memory tasks,
+     * either by appending it to the journal or by rewriting the snapshot file.
+     *
+     * @param entry The mutation to persist.
+     * @return {@code true} if the mutation was persisted, otherwise {@code false}.
+     */
+    private boolean persist(TaskJournalEntry entry) {
+        return persist(List.of(entry));
+    }
+
+    /**
+     * Persists several mutations that have already been applied to the in-memory tasks with a single write,
+     * or queues them for the next group commit when asynchronous writes are enabled.
+     *
+     * @param entries The mutations to persist, in order.
+     * @return {@code true} if the mutations were persisted or queued, otherwise {@code false}.
+     */
+    private boolean persist(List<TaskJournalEntry> entries) {
+        if (unreadableFile != null) {
+            terminal.writer().println("Refusing to write: " + unreadableFile + " could not be read, repair or move it first.");
+            invalidateCache();
+            return false;
+        }
+        if (writerExecutor != null || writesDeferred) {
+            boolean batchFull = pendingEntries.size() < asyncMaxBatch && pendingEntries.size() + entries.size() >= asyncMaxBatch;
+            pendingEntries.addAll(entries);
+            pendingCount = pendingEntries.size();
+            if (batchFull && writerExecutor != null && !writesDeferred) {
+                writerExecutor.execute(this::flush);
+            }
+            return true;
+        }
+        return write(entries);
+    }
+
+    /**
+     * Writes mutations that have already been applied to the in-memory tasks,
+     * either by appending them to the journal or by rewriting the snapshot file.
+     *
+     * @param entries The mutations to write, in order.
+     * @return {@code true} if the mutations were written, otherwise {@code false}.
+     */
+    private boolean write(List<TaskJournalEntry> entries) {
+        long started = taskMetrics.start();
+        try {
+            return writeEntries(entries);
+        } finally {
+            taskMetrics.record(TaskOperation.SAVE, started);
+        }
+    }
+
+    private boolean writeEntries(List<TaskJournalEntry> entries) {
+        if (!journalEnabled) {
+            return saveToFile(entries.stream().map(TaskJournalEntry::getId).toList());
+        }
+        try {
+            storeLock.advanceGeneration();
+            journal.append(entries);
+            loadedStamp = currentStamp();
+        } catch (IOException e) {
+            terminal.writer().println("Failed to write journal: " + e.getLocalizedMessage());
+            invalidateCache();
+            return false;
+        }
+        if (journal.size() >= compactThresholdBytes) {
+            scheduleCompaction(true);
+        }
+        return true;
+    }
+
+    /**
+     * Saves all in-memory tasks back to the snapshot.
      *
-     * @param tasks The list of tasks to save.
      * @return {@code true} if saving was successful, otherwise {@code false}.
      */
-    private boolean saveToFile(List<TaskEntity> tasks) {
+    private boolean saveToFile() {
+        long started = taskMetrics.start();
+        try {
+            return saveToFile(null);
+        } finally {
+            taskMetrics.record(TaskOperation.SAVE, started);
+        }
+    }
+
+    /**
+     * Saves the in-memory tasks back to the snapshot; in the segmented layout only the segments holding
+     * the changed tasks are rewritten.
+     * Once the snapshot is written any leftover journal is obsolete and removed.
+     * When the write fails the cache is invalidated so the next access reloads the last persisted state.
+     *
+     * @param changedIds IDs of the tasks changed since the last write, or {@code null} to rewrite the whole snapshot.
+     * @return {@code true} if saving was successful, otherwise {@code false}.
+     */
+    private boolean saveToFile(Collection<Long> changedIds) {
         File directory = new File(filePath);
         if (!directory.exists() && !directory.mkdirs()) {
             terminal.writer().println("Failed to create directory: " + directory.getPath());
+            invalidateCache();
             return false;
         }
         try {
-            File file = new File(directory, FILE_NAME);
-            objectMapper.writeValue(file, tasks);
+            storeLock.advanceGeneration();
+            if (changedIds == null) {
+                snapshotStore.write(tasksById.values());
+            } else {
+                snapshotStore.write(tasksById, changedIds);
+            }
+            if (!compactionRunning) {
+                journal.clear();
+            }
+            loadedStamp = currentStamp();
             return true;
         } catch (IOException e) {
             terminal.writer().println("Failed to write: " + e.getLocalizedMessage());
+            invalidateCache();
             return false;
         }
     }
 
+    /**
+     * Seals the journal and folds it into a new snapshot on the background thread.
+     * The snapshot replaces the previous one atomically, so a crash during compaction leaves
+     * either the old snapshot plus the sealed journal or the new snapshot.
+     *
+     * @param sealActive Whether the active journal must be sealed first.
+     */
+    private void scheduleCompaction(boolean sealActive) {
+        if (compactionRunning) {
+            return;
+        }
+        try {
+            if (sealActive) {
+                storeLock.advanceGeneration();
+                if (!journal.seal()) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            terminal.writer().println("Failed to seal journal: " + e.getLocalizedMessage());
+            return;
+        }
+        List<TaskEntity> snapshot = List.copyOf(tasksById.values());
+        compactionRunning = true;
+        compactionExecutor.execute(() -> compact(snapshot));
+    }
+
+    /**
+     * Writes the snapshot captured when the journal was sealed, on the compaction thread. The exclusive store
+     * lock is taken, that is the write lock of this process and the file lock, so callers in this process wait
+     * on the read or write lock and other processes on the file lock until the snapshot is written and the
+     * sealed journal deleted. The in-memory tasks are left as they are; the changed files make the next access
+     * reload them. If the sealed journal is gone, another process has replaced the snapshot in the meantime
+     * and the compaction is dropped.
+     */
+    private void compact(List<TaskEntity> snapshot) {
+        StoreLock.Handle lock = lockStore(true);
+        try {
+            if (lock == null) {
+                return;
+            }
+            try (lock) {
+                if (!journal.hasSealed()) {
+                    return;
+                }
+                storeLock.advanceGeneration();
+                snapshotStore.write(snapshot);
+                journal.deleteSealed();
+            }
+        } catch (IOException e) {
+            terminal.writer().println("Failed to compact journal: " + e.getLocalizedMessage());
+        } finally {
+            compactionRunning = false;
+        }
+    }
+
+    /**
+     * Forces the next access to reload the tasks from disk.
+     */
+    private void invalidateCache() {
+        loadedStamp = null;
+    }
+
+    /**
+     * Reads the stamp of the store files and the generation counter of the store lock, which must be held.
+     * If the counter cannot be read the change is detected from the file stamps alone.
+     */
+    private StoreStamp currentStamp() {
+        long generation;
+        try {
+            generation = storeLock.generation();
+        } catch (IOException e) {
+            terminal.writer().println("Failed to read the store generation: " + e.getLocalizedMessage());
+            generation = -1;
+        }
+        return new StoreStamp(snapshotStore.stamp(), TaskSnapshotStore.FileStamp.of(journal.getJournalPath()),
+                TaskSnapshotStore.FileStamp.of(journal.getSealedPath()), generation);
+    }
+
     /**
      * Helper method to update a task and persist the changes.
+     * The task is updated on a copy that replaces the cached entity, so entities handed out
+     * earlier (for example to a running compaction) are never modified.
+     *
+     * The task is read and written under the exclusive store lock, so the expected version is compared
+     * with the latest state written by any process.
      *
-     * @param idTask  The ID of the task to update.
-     * @param updater A lambda function that applies changes to the task.
+     * @param idTask          The ID of the task to update.
+     * @param expectedVersion The version the change is based on, or {@code null} to update unconditionally.
+     * @param updater         A lambda function that applies changes to the task.
      * @return An {@link Optional} containing the updated task, or empty if not found.
+     * @throws TaskVersionConflictException If the task is no longer at the expected version.
      */
-    private Optional<TaskEntity> updateTask(Long idTask, TaskUpdater updater) {
-        List<TaskEntity> tasks = getAllTasks();
-        for (TaskEntity task : tasks) {
-            if (task.getIdTaskEntity().equals(idTask)) {
-                updater.update(task);
-                task.setUpdatedAt(LocalDateTime.now());
-                return saveToFile(tasks) ? Optional.of(task) : Optional.empty();
+    private Optional<TaskEntity> updateTask(Long idTask, Long expectedVersion, TaskUpdater updater) {
+        StoreLock.Handle lock = lockStore(true);
+        if (lock == null) {
+            return Optional.empty();
+        }
+        try (lock) {
+            refreshIfStale();
+            TaskEntity current = tasksById.get(idTask);
+            if (current == null) {
+                return Optional.empty();
             }
+            if (expectedVersion != null && current.getVersion() != expectedVersion) {
+                throw new TaskVersionConflictException(idTask, expectedVersion, current.getVersion());
+            }
+            TaskEntity task = current.copy();
+            updater.update(task);
+            task.setUpdatedAt(LocalDateTime.now());
+            task.setVersion(current.getVersion() + 1);
+            recordBaseVersion(idTask, current);
+            putTask(task);
+            return persist(TaskJournalEntry.put(task)) ? Optional.of(task) : Optional.empty();
         }
-        return Optional.empty();
+    }
+
+    /**
+     * Functional interface for reading the tasks of a file.
+     */
+    @FunctionalInterface
+    private interface TaskStreamReader {
+        void read(InputStream inputStream, Consumer<TaskEntity> consumer) throws IOException;
     }
 
     /**
@@ -194,4 +1423,14 @@ public class PersistenceTaskRepository {
         void update(TaskEntity task);
     }
 
+    /**
+     * Snapshot stamp, journal file stamps and store generation, used to detect changes made by another process.
+     */
+    private record StoreStamp(Object snapshot, TaskSnapshotStore.FileStamp journal, TaskSnapshotStore.FileStamp sealed, long generation) {
+
+        boolean journalEmpty() {
+            return journal.length() == 0 && sealed.length() == 0;
+        }
+    }
+
 }
@@ -0,0 +1,344 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Stores the tasks in segment files partitioned by ID range below {@code tasks_cli.segments}.
+ * <p>
+ * Segment {@code n} holds the tasks with IDs from {@code n * segmentSize + 1} to {@code (n + 1) * segmentSize},
+ * so new tasks only ever touch the last segment and a mutation rewrites only the segments of the tasks it
+ * changed. A small text manifest lists the live segments with the revision that wrote them:
+ * <pre>
+ * task-cli-segments 1 &lt;segment size&gt; &lt;revision&gt;
+ * &lt;index&gt; &lt;revision&gt; &lt;tasks&gt; &lt;file name&gt;
+ * </pre>
+ * Every write stores the rewritten segments under new file names, then replaces the manifest atomically
+ * and only then deletes the segments it superseded, so a crash leaves either the old or the new snapshot.
+ * Comparing the manifest with the one last read tells which segments another process replaced, so only
+ * those are read again. An ID range can also be read on its own, from the segments overlapping it; the
+ * repository does that for lookups by ID before its first full load.
+ * <p>
+ * Segments are written in the configured format and read in the format of their file extension, so
+ * changing {@code task-cli.save.task.format} converts the segments as they are rewritten.
+ */
+class SegmentedSnapshotStore implements TaskSnapshotStore {
+
+    static final String DIRECTORY_NAME = "tasks_cli.segments";
+
+    private static final String MANIFEST_FILE_NAME = "manifest";
+    private static final String MANIFEST_HEADER = "task-cli-segments";
+    private static final int MANIFEST_VERSION = 1;
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private final Path directory;
+    private final Path manifestPath;
+    private final TaskFileFormat fileFormat;
+    private final Map<String, TaskFileFormat> formatsByExtension = new HashMap<>();
+    private final AtomicFileWriter fileWriter;
+    private final long segmentSize;
+    private final int loadThreads;
+    private final long parallelLoadThreshold;
+    private Manifest manifest;
+
+    /**
+     * Constructs a new {@link SegmentedSnapshotStore}.
+     *
+     * @param dataDirectory         Directory holding the store files.
+     * @param fileFormat            Encoding of the segments written.
+     * @param readableFormats       Encodings segments can be read in, chosen by file extension.
+     * @param fileWriter            Replaces the segment and manifest files atomically.
+     * @param segmentSize           Number of task IDs per segment for new snapshots.
+     * @param loadThreads           Number of threads decoding segments.
+     * @param parallelLoadThreshold Total segment size from which segments are decoded on several threads.
+     */
+    SegmentedSnapshotStore(Path dataDirectory, TaskFileFormat fileFormat, List<TaskFileFormat> readableFormats,
+                           AtomicFileWriter fileWriter, long segmentSize, int loadThreads, long parallelLoadThreshold) {
+        this.directory = dataDirectory.resolve(DIRECTORY_NAME);
+        this.manifestPath = directory.resolve(MANIFEST_FILE_NAME);
+        this.fileFormat = fileFormat;
+        readableFormats.forEach(format -> formatsByExtension.put(extension(format.fileName()), format));
+        this.fileWriter = fileWriter;
+        this.segmentSize = Math.max(1, segmentSize);
+        this.loadThreads = loadThreads;
+        this.parallelLoadThreshold = parallelLoadThreshold;
+        this.manifest = new Manifest(this.segmentSize, 0, new TreeMap<>());
+    }
+
+    @Override
+    public String name() {
+        return DIRECTORY_NAME;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !Files.exists(manifestPath);
+    }
+
+    @Override
+    public Object stamp() {
+        return FileStamp.of(manifestPath);
+    }
+
+    @Override
+    public void read(Consumer<TaskEntity> consumer) throws IOException {
+        Manifest current = readManifest();
+        readSegments(current.segments().values(), consumer);
+        manifest = current;
+    }
+
+    /**
+     * Compares the manifest on disk with the one last read or written and reads only the segments
+     * whose revision changed.
+     */
+    @Override
+    public boolean readChanges(BiConsumer<Long, Long> dropRange, Consumer<TaskEntity> consumer) throws IOException {
+        Manifest current = readManifest();
+        if (current.segmentSize() != manifest.segmentSize()) {
+            return false;
+        }
+        Set<Long> indexes = new TreeSet<>(manifest.segments().keySet());
+        indexes.addAll(current.segments().keySet());
+        List<Segment> changed = new ArrayList<>();
+        for (long index : indexes) {
+            Segment before = manifest.segments().get(index);
+            Segment after = current.segments().get(index);
+            if (!Objects.equals(before, after)) {
+                dropRange.accept(firstId(index, current.segmentSize()), lastId(index, current.segmentSize()));
+                if (after != null) {
+                    changed.add(after);
+                }
+            }
+        }
+        readSegments(changed, consumer);
+        manifest = current;
+        return true;
+    }
+
+    /**
+     * Reads the manifest and decodes only the segments overlapping the range.
+     */
+    @Override
+    public boolean readRange(long fromId, long toId, Consumer<TaskEntity> consumer) throws IOException {
+        if (toId < Math.max(fromId, 1)) {
+            return true;
+        }
+        Manifest current = readManifest();
+        long size = current.segmentSize();
+        Collection<Segment> overlapping = current.segments()
+                .subMap(segmentIndex(Math.max(fromId, 1), size), true, segmentIndex(toId, size), true).values();
+        readSegments(overlapping, task -> {
+            if (task.getIdTaskEntity() >= fromId && task.getIdTaskEntity() <= toId) {
+                consumer.accept(task);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Rewrites the whole snapshot with the configured segment size, removing any segment file the new
+     * manifest does not list, including files left behind by an interrupted write.
+     */
+    @Override
+    public void write(Collection<TaskEntity> tasks) throws IOException {
+        Files.createDirectories(directory);
+        long revision = Math.max(manifest.revision(), readManifest().revision()) + 1;
+        NavigableMap<Long, Segment> segments = new TreeMap<>();
+        List<TaskEntity> segmentTasks = new ArrayList<>();
+        long segmentIndex = -1;
+        for (TaskEntity task : tasks) {
+            long index = segmentIndex(task.getIdTaskEntity(), segmentSize);
+            if (index != segmentIndex && !segmentTasks.isEmpty()) {
+                segments.put(segmentIndex, writeSegment(segmentIndex, revision, segmentTasks));
+                segmentTasks.clear();
+            }
+            segmentIndex = index;
+            segmentTasks.add(task);
+        }
+        if (!segmentTasks.isEmpty()) {
+            segments.put(segmentIndex, writeSegment(segmentIndex, revision, segmentTasks));
+        }
+        Manifest written = new Manifest(segmentSize, revision, segments);
+        writeManifest(written);
+        Set<String> live = new HashSet<>();
+        segments.values().forEach(segment -> live.add(segment.fileName()));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*")) {
+            for (Path file : files) {
+                if (!live.contains(file.getFileName().toString())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rewrites only the segments holding the changed IDs; a segment left without tasks is removed.
+     */
+    @Override
+    public void write(NavigableMap<Long, TaskEntity> tasks, Collection<Long> changedIds) throws IOException {
+        Files.createDirectories(directory);
+        long size = manifest.segmentSize();
+        long revision = manifest.revision() + 1;
+        NavigableMap<Long, Segment> segments = new TreeMap<>(manifest.segments());
+        List<String> superseded = new ArrayList<>();
+        Set<Long> indexes = new TreeSet<>();
+        changedIds.forEach(idTask -> indexes.add(segmentIndex(idTask, size)));
+        for (long index : indexes) {
+            Collection<TaskEntity> segmentTasks = tasks.subMap(firstId(index, size), true, lastId(index, size), true).values();
+            Segment previous = segmentTasks.isEmpty()
+                    ? segments.remove(index)
+                    : segments.put(index, writeSegment(index, revision, segmentTasks));
+            if (previous != null) {
+                superseded.add(previous.fileName());
+            }
+        }
+        writeManifest(new Manifest(size, revision, segments));
+        for (String fileName : superseded) {
+            Files.deleteIfExists(directory.resolve(fileName));
+        }
+    }
+
+    @Override
+    public void retire() throws IOException {
+        Files.move(directory, directory.resolveSibling(DIRECTORY_NAME + ".migrated-" + System.currentTimeMillis()));
+        manifest = new Manifest(segmentSize, 0, new TreeMap<>());
+    }
+
+    private void readSegments(Collection<Segment> segments, Consumer<TaskEntity> consumer) throws IOException {
+        long totalSize = 0;
+        for (Segment segment : segments) {
+            totalSize += directory.resolve(segment.fileName()).toFile().length();
+        }
+        fileWriter.afterRead(totalSize);
+        if (loadThreads > 1 && segments.size() > 1 && totalSize >= parallelLoadThreshold) {
+            List<Callable<List<TaskEntity>>> parts = new ArrayList<>(segments.size());
+            for (Segment segment : segments) {
+                parts.add(() -> {
+                    List<TaskEntity> tasks = new ArrayList<>((int) Math.min(segment.tasks(), Integer.MAX_VALUE - 8));
+                    readSegment(segment, tasks::add);
+                    return tasks;
+                });
+            }
+            ForkJoinPool pool = new ForkJoinPool(loadThreads);
+            try {
+                ParallelTaskDecoder.decode(parts, pool, consumer);
+            } finally {
+                pool.shutdownNow();
+            }
+            return;
+        }
+        for (Segment segment : segments) {
+            readSegment(segment, consumer);
+        }
+    }
+
+    private void readSegment(Segment segment, Consumer<TaskEntity> consumer) throws IOException {
+        TaskFileFormat format = formatsByExtension.get(extension(segment.fileName()));
+        if (format == null) {
+            throw new IOException("Unknown segment format: " + segment.fileName());
+        }
+        try (InputStream inputStream = Files.newInputStream(directory.resolve(segment.fileName()))) {
+            format.read(inputStream, consumer);
+        }
+    }
+
+    private Segment writeSegment(long index, long revision, Collection<TaskEntity> tasks) throws IOException {
+        String fileName = SEGMENT_PREFIX + index + "-" + revision + extension(fileFormat.fileName());
+        fileWriter.write(directory.resolve(fileName), outputStream -> fileFormat.write(outputStream, tasks));
+        return new Segment(index, revision, tasks.size(), fileName);
+    }
+
+    private Manifest readManifest() throws IOException {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(manifestPath, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return new Manifest(segmentSize, 0, new TreeMap<>());
+        }
+        String[] header = lines.isEmpty() ? new String[0] : lines.get(0).split(" ");
+        if (header.length != 4 || !MANIFEST_HEADER.equals(header[0])) {
+            throw new IOException("Not a task-cli segment manifest: " + manifestPath);
+        }
+        if (Integer.parseInt(header[1]) != MANIFEST_VERSION) {
+            throw new IOException("Unsupported task-cli segment manifest version: " + header[1]);
+        }
+        NavigableMap<Long, Segment> segments = new TreeMap<>();
+        try {
+            for (String line : lines.subList(1, lines.size())) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(" ", 4);
+                Segment segment = new Segment(Long.parseLong(fields[0]), Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3]);
+                segments.put(segment.index(), segment);
+            }
+            return new Manifest(Long.parseLong(header[2]), Long.parseLong(header[3]), segments);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Corrupt task-cli segment manifest: " + manifestPath, e);
+        }
+    }
+
+    private void writeManifest(Manifest written) throws IOException {
+        StringBuilder content = new StringBuilder();
+        content.append(MANIFEST_HEADER).append(' ').append(MANIFEST_VERSION).append(' ')
+                .append(written.segmentSize()).append(' ').append(written.revision()).append('\n');
+        for (Segment segment : written.segments().values()) {
+            content.append(segment.index()).append(' ').append(segment.revision()).append(' ')
+                    .append(segment.tasks()).append(' ').append(segment.fileName()).append('\n');
+        }
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        fileWriter.write(manifestPath, outputStream -> outputStream.write(bytes));
+        manifest = written;
+    }
+
+    private static long segmentIndex(long idTask, long size) {
+        return (idTask - 1) / size;
+    }
+
+    private static long firstId(long index, long size) {
+        return index * size + 1;
+    }
+
+    private static long lastId(long index, long size) {
+        return (index + 1) * size;
+    }
+
+    private static String extension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot);
+    }
+
+    /**
+     * The segments of a snapshot.
+     */
+    private record Manifest(long segmentSize, long revision, NavigableMap<Long, Segment> segments) {
+    }
+
+    /**
+     * One segment file and the revision that wrote it.
+     */
+    private record Segment(long index, long revision, long tasks, String fileName) {
+    }
+}
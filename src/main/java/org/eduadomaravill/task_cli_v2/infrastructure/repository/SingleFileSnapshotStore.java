@@ -0,0 +1,91 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Stores every task in one snapshot file, {@code tasks_cli.json} or {@code tasks_cli.bin};
+ * every write replaces the whole file.
+ * <p>
+ * Snapshots of at least {@code task-cli.save.task.load.parallel-threshold-bytes} are split into parts
+ * decoded on a pool of {@code task-cli.save.task.load.threads} threads.
+ */
+class SingleFileSnapshotStore implements TaskSnapshotStore {
+
+    private final Path file;
+    private final TaskFileFormat fileFormat;
+    private final AtomicFileWriter fileWriter;
+    private final int loadThreads;
+    private final long parallelLoadThreshold;
+
+    /**
+     * Constructs a new {@link SingleFileSnapshotStore}.
+     *
+     * @param directory             Directory where the snapshot file is stored.
+     * @param fileFormat            Encoding of the snapshot file.
+     * @param fileWriter            Replaces the snapshot file atomically.
+     * @param loadThreads           Number of threads decoding large snapshots.
+     * @param parallelLoadThreshold Snapshot size from which it is decoded on several threads.
+     */
+    SingleFileSnapshotStore(Path directory, TaskFileFormat fileFormat, AtomicFileWriter fileWriter,
+                            int loadThreads, long parallelLoadThreshold) {
+        this.file = directory.resolve(fileFormat.fileName());
+        this.fileFormat = fileFormat;
+        this.fileWriter = fileWriter;
+        this.loadThreads = loadThreads;
+        this.parallelLoadThreshold = parallelLoadThreshold;
+    }
+
+    @Override
+    public String name() {
+        return fileFormat.fileName();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return file.toFile().length() == 0;
+    }
+
+    @Override
+    public Object stamp() {
+        return FileStamp.of(file);
+    }
+
+    @Override
+    public void read(Consumer<TaskEntity> consumer) throws IOException {
+        long size = file.toFile().length();
+        if (size == 0) {
+            return;
+        }
+        fileWriter.afterRead(size);
+        if (loadThreads > 1 && size >= parallelLoadThreshold) {
+            ForkJoinPool pool = new ForkJoinPool(loadThreads);
+            try {
+                fileFormat.read(file, pool, consumer);
+            } finally {
+                pool.shutdownNow();
+            }
+            return;
+        }
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            fileFormat.read(inputStream, consumer);
+        }
+    }
+
+    @Override
+    public void write(Collection<TaskEntity> tasks) throws IOException {
+        fileWriter.write(file, outputStream -> fileFormat.write(outputStream, tasks));
+    }
+
+    @Override
+    public void retire() throws IOException {
+        Files.move(file, file.resolveSibling(file.getFileName() + ".migrated-" + System.currentTimeMillis()));
+    }
+}
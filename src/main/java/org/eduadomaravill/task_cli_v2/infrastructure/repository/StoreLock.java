@@ -0,0 +1,168 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Coordinates access to the task store between threads and processes.
+ * <p>
+ * Readers take a shared lock and writers an exclusive lock on a dedicated lock file, so a process
+ * never reads files that another process is in the middle of writing and two processes never
+ * base their writes on the same stale state. File locks are held per process, so threads of the
+ * same process are coordinated by a read-write lock first and share a single file lock.
+ * <p>
+ * The lock file also holds a generation counter that writers advance before changing the store, so
+ * readers can tell the store changed even when the modification time and size of its files did not.
+ */
+class StoreLock {
+
+    private final Path lockPath;
+    private final ReentrantReadWriteLock localLock = new ReentrantReadWriteLock();
+    private FileChannel channel;
+    private FileLock fileLock;
+    private int holders;
+
+    /**
+     * Constructs a new {@link StoreLock}.
+     *
+     * @param directory Directory where the lock file is stored.
+     * @param fileName  Name of the lock file.
+     */
+    StoreLock(Path directory, String fileName) {
+        this.lockPath = directory.resolve(fileName);
+    }
+
+    /**
+     * Acquires the lock for reading, waiting while another process is writing.
+     *
+     * @return The held lock, to be closed when the read is done.
+     * @throws IOException If the lock file could not be locked.
+     */
+    Handle shared() throws IOException {
+        localLock.readLock().lock();
+        try {
+            acquireFileLock(true);
+        } catch (IOException | RuntimeException e) {
+            localLock.readLock().unlock();
+            throw e;
+        }
+        return () -> {
+            releaseFileLock();
+            localLock.readLock().unlock();
+        };
+    }
+
+    /**
+     * Acquires the lock for writing, waiting while any other thread or process holds it.
+     *
+     * @return The held lock, to be closed when the write is done.
+     * @throws IOException If the lock file could not be locked.
+     */
+    Handle exclusive() throws IOException {
+        localLock.writeLock().lock();
+        try {
+            acquireFileLock(false);
+        } catch (IOException | RuntimeException e) {
+            localLock.writeLock().unlock();
+            throw e;
+        }
+        return () -> {
+            releaseFileLock();
+            localLock.writeLock().unlock();
+        };
+    }
+
+    /**
+     * Reads the generation counter; the lock must be held.
+     *
+     * @return The number of times the store was written, or {@code 0} for a new lock file.
+     * @throws IOException If the lock file could not be read.
+     */
+    synchronized long generation() throws IOException {
+        if (holders == 0) {
+            throw new IllegalStateException("The store lock is not held");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+            // Read until the counter is complete or the file ends.
+        }
+        return buffer.hasRemaining() ? 0 : buffer.getLong(0);
+    }
+
+    /**
+     * Advances the generation counter before the store is written; the lock must be held exclusively.
+     *
+     * @throws IOException If the lock file could not be written.
+     */
+    synchronized void advanceGeneration() throws IOException {
+        if (!localLock.isWriteLockedByCurrentThread()) {
+            throw new IllegalStateException("The store lock is not held exclusively");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(0, generation() + 1);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, buffer.position());
+        }
+    }
+
+    /**
+     * Closes the lock file.
+     *
+     * @throws IOException If the file could not be closed.
+     */
+    synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            fileLock = null;
+            holders = 0;
+        }
+    }
+
+    private synchronized void acquireFileLock(boolean shared) throws IOException {
+        if (holders == 0) {
+            if (channel == null || !channel.isOpen()) {
+                channel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            fileLock = channel.lock(0, Long.MAX_VALUE, shared);
+        }
+        holders++;
+    }
+
+    private synchronized void releaseFileLock() {
+        holders--;
+        if (holders == 0 && fileLock != null) {
+            try {
+                fileLock.release();
+            } catch (IOException e) {
+                // The lock is dropped by the operating system when the channel is closed.
+                closeQuietly();
+            }
+            fileLock = null;
+        }
+    }
+
+    private void closeQuietly() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Nothing left to release.
+        }
+        channel = null;
+    }
+
+    /**
+     * A held lock; closing it releases the lock.
+     */
+    interface Handle extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
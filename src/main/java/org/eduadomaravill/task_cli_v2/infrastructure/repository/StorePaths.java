@@ -0,0 +1,21 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+/**
+ * Resolves where the task store files live below the configured {@code task-cli.save.task.path}.
+ */
+final class StorePaths {
+
+    private StorePaths() {
+    }
+
+    /**
+     * @param basePath The configured base path.
+     * @return The directory holding the store files.
+     */
+    static String dataDirectory(String basePath) {
+        if (System.getProperty("os.name").toLowerCase().contains("window")) {
+            return basePath + "\\task-cli\\data";
+        }
+        return basePath + "/task-cli/data";
+    }
+}
@@ -0,0 +1,124 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes and reads the archives of the {@code export}, {@code snapshot} and {@code restore} commands: the tasks
+ * as JSON Lines or in the {@link BinaryTaskFileFormat binary snapshot format}, optionally gzip-compressed.
+ * <p>
+ * The format is chosen from the file name: {@code .bin} or {@code .bin.gz} is binary and anything else JSON
+ * Lines, compressed when the name ends with {@code .gz}. Tasks are encoded one at a time into the compressing
+ * stream, so the archive is never held in memory. When an archive is read, compression and format are
+ * detected from its first bytes, so a snapshot file or an {@code export-json} file can be restored as well.
+ */
+final class TaskArchive {
+
+    static final String JSON_LINES_EXTENSION = ".jsonl";
+    static final String BINARY_EXTENSION = ".bin";
+    static final String GZIP_EXTENSION = ".gz";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] GZIP_MAGIC = {(byte) GZIPInputStream.GZIP_MAGIC, (byte) (GZIPInputStream.GZIP_MAGIC >> 8)};
+    private static final byte[] BINARY_MAGIC = {'T', 'C', 'L', 'B'};
+
+    private final JsonTaskFileFormat jsonFormat;
+    private final BinaryTaskFileFormat binaryFormat;
+
+    /**
+     * Constructs a new {@link TaskArchive}.
+     *
+     * @param jsonFormat   Writes JSON Lines and reads JSON arrays and JSON Lines.
+     * @param binaryFormat Writes and reads the binary format.
+     */
+    TaskArchive(JsonTaskFileFormat jsonFormat, BinaryTaskFileFormat binaryFormat) {
+        this.jsonFormat = jsonFormat;
+        this.binaryFormat = binaryFormat;
+    }
+
+    /**
+     * Writes the tasks in the format given by the name of the archive.
+     *
+     * @param target       The archive, whose name selects the format and compression.
+     * @param outputStream The destination; it is not closed.
+     * @param tasks        The tasks to write.
+     * @throws IOException If the archive could not be written.
+     */
+    void write(Path target, OutputStream outputStream, Collection<TaskEntity> tasks) throws IOException {
+        String name = target.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean compressed = name.endsWith(GZIP_EXTENSION);
+        if (compressed) {
+            name = name.substring(0, name.length() - GZIP_EXTENSION.length());
+        }
+        GZIPOutputStream gzip = compressed ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : null;
+        OutputStream output = compressed ? gzip : outputStream;
+        if (name.endsWith(BINARY_EXTENSION)) {
+            binaryFormat.write(output, tasks);
+        } else {
+            jsonFormat.writeLines(output, tasks);
+        }
+        if (gzip != null) {
+            // Writes the gzip trailer without closing the destination.
+            gzip.finish();
+        }
+    }
+
+    /**
+     * Reads the tasks of an archive, a snapshot file or a JSON export. A compressed archive is read to its end,
+     * so a damaged one fails its checksum even when the tasks decoded.
+     *
+     * @param inputStream The archive content.
+     * @param consumer    Receives the tasks in stored order.
+     * @throws IOException If the content could not be read or is not in a known format.
+     */
+    void read(InputStream inputStream, Consumer<TaskEntity> consumer) throws IOException {
+        InputStream input = new BufferedInputStream(inputStream, BUFFER_SIZE);
+        boolean compressed = startsWith(input, GZIP_MAGIC);
+        if (compressed) {
+            input = new UnclosedInputStream(new BufferedInputStream(new GZIPInputStream(input, BUFFER_SIZE), BUFFER_SIZE));
+        }
+        if (startsWith(input, BINARY_MAGIC)) {
+            binaryFormat.read(input, consumer);
+        } else {
+            jsonFormat.read(input, consumer);
+        }
+        if (compressed) {
+            // Reads up to the gzip trailer, whose checksum and length verify the tasks just decoded.
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static boolean startsWith(InputStream input, byte[] prefix) throws IOException {
+        input.mark(prefix.length);
+        byte[] start = input.readNBytes(prefix.length);
+        input.reset();
+        return Arrays.equals(start, prefix);
+    }
+
+    /**
+     * Ignores {@link #close()}, so the stream can still be read to its end after a format closed it.
+     */
+    private static final class UnclosedInputStream extends FilterInputStream {
+
+        UnclosedInputStream(InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public void close() {
+            // The caller closes the archive.
+        }
+    }
+}
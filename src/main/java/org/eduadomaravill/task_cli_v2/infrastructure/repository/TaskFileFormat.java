@@ -0,0 +1,58 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Encoding used to store the task snapshot on disk.
+ * Selected with {@code task-cli.save.task.format}.
+ */
+interface TaskFileFormat {
+
+    /**
+     * @return The name of the snapshot file written in this format.
+     */
+    String fileName();
+
+    /**
+     * Decodes tasks one at a time from the given stream.
+     *
+     * @param inputStream The encoded snapshot.
+     * @param consumer    Receives every decoded task in stored order.
+     * @throws IOException If the content cannot be read or is not valid for this format.
+     */
+    void read(InputStream inputStream, Consumer<TaskEntity> consumer) throws IOException;
+
+    /**
+     * Decodes a snapshot file on several threads. The file is split into parts at record boundaries
+     * and the parts are decoded on the pool; the consumer still receives the tasks in stored order
+     * on the calling thread. Formats that cannot be split read the file sequentially.
+     *
+     * @param file     The snapshot file.
+     * @param pool     The pool the parts are decoded on.
+     * @param consumer Receives every decoded task in stored order.
+     * @throws IOException If the content cannot be read or is not valid for this format.
+     */
+    default void read(Path file, ForkJoinPool pool, Consumer<TaskEntity> consumer) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            read(inputStream, consumer);
+        }
+    }
+
+    /**
+     * Encodes the given tasks to the stream.
+     *
+     * @param outputStream The destination; it is not closed.
+     * @param tasks        The tasks to write.
+     * @throws IOException If the tasks could not be written.
+     */
+    void write(OutputStream outputStream, Collection<TaskEntity> tasks) throws IOException;
+}
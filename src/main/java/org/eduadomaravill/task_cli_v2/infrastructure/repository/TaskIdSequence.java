@@ -0,0 +1,108 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Persistent task ID sequence stored in a small sidecar file next to the snapshot.
+ * <p>
+ * The file holds the highest reserved ID plus one. IDs are reserved in blocks under an exclusive
+ * file lock, so processes sharing the store never hand out the same ID, and the stored value
+ * only grows, so the ID of a deleted task is never given to a new one. Allocations inside a
+ * reserved block need no I/O; when the block is released unused and no other process reserved
+ * a block in the meantime, the remaining IDs are returned to the file.
+ */
+class TaskIdSequence {
+
+    private static final int VALUE_SIZE = Long.BYTES;
+
+    private final Path sequencePath;
+    private final int blockSize;
+    private final AtomicFileWriter fileWriter;
+    private long next;
+    private long limit;
+
+    /**
+     * Constructs a new {@link TaskIdSequence}.
+     *
+     * @param directory  Directory where the sequence file is stored.
+     * @param fileName   Name of the sequence file.
+     * @param blockSize  Number of IDs reserved at once.
+     * @param fileWriter Decides whether reservations are forced to the device.
+     */
+    TaskIdSequence(Path directory, String fileName, int blockSize, AtomicFileWriter fileWriter) {
+        this.sequencePath = directory.resolve(fileName);
+        this.blockSize = Math.max(1, blockSize);
+        this.fileWriter = fileWriter;
+    }
+
+    /**
+     * Allocates consecutive IDs.
+     *
+     * @param count   Number of IDs needed.
+     * @param minimum Lowest ID that may be returned, usually the highest stored ID plus one,
+     *                so stores written before the sequence file existed keep working.
+     * @return The first of {@code count} consecutive IDs.
+     * @throws IOException If a block could not be reserved.
+     */
+    synchronized long allocate(int count, long minimum) throws IOException {
+        if (next < minimum || limit - next < count) {
+            reserve(Math.max(count, blockSize), minimum);
+        }
+        long first = next;
+        next += count;
+        return first;
+    }
+
+    /**
+     * Returns the unused part of the current block to the file if it is still the last reserved block.
+     *
+     * @throws IOException If the file could not be updated.
+     */
+    synchronized void release() throws IOException {
+        if (next >= limit) {
+            return;
+        }
+        try (FileChannel channel = openChannel(); FileLock ignored = channel.lock()) {
+            if (readValue(channel) == limit) {
+                writeValue(channel, next);
+            }
+        }
+        limit = next;
+    }
+
+    private void reserve(int count, long minimum) throws IOException {
+        try (FileChannel channel = openChannel(); FileLock ignored = channel.lock()) {
+            long first = Math.max(Math.max(readValue(channel), minimum), 1);
+            writeValue(channel, first + count);
+            next = first;
+            limit = first + count;
+        }
+    }
+
+    private FileChannel openChannel() throws IOException {
+        return FileChannel.open(sequencePath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static long readValue(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(VALUE_SIZE);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                return 0;
+            }
+        }
+        return buffer.getLong(0);
+    }
+
+    private void writeValue(FileChannel channel, long value) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(VALUE_SIZE).putLong(0, value);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, buffer.position());
+        }
+        fileWriter.afterAppend(channel, VALUE_SIZE);
+    }
+}
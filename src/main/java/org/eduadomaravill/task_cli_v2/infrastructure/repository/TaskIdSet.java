@@ -0,0 +1,107 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Set of task IDs iterated in ascending order, used by the in-memory indexes.
+ * IDs from {@code 0} up to {@link Integer#MAX_VALUE} exclusive, which covers every ID the sequence hands out,
+ * are bits of a {@link BitSet}; any other ID, such as one read from an imported or restored file, is kept in
+ * a sorted set instead of making the index fail.
+ */
+class TaskIdSet {
+
+    private static final long DENSE_LIMIT = Integer.MAX_VALUE;
+
+    private final BitSet dense = new BitSet();
+    private final NavigableSet<Long> sparse = new TreeSet<>();
+
+    void add(long id) {
+        if (isDense(id)) {
+            dense.set((int) id);
+        } else {
+            sparse.add(id);
+        }
+    }
+
+    void remove(long id) {
+        if (isDense(id)) {
+            dense.clear((int) id);
+        } else {
+            sparse.remove(id);
+        }
+    }
+
+    boolean contains(long id) {
+        return isDense(id) ? dense.get((int) id) : sparse.contains(id);
+    }
+
+    boolean isEmpty() {
+        return dense.isEmpty() && sparse.isEmpty();
+    }
+
+    /**
+     * @return The number of IDs in the set.
+     */
+    int cardinality() {
+        return dense.cardinality() + sparse.size();
+    }
+
+    void clear() {
+        dense.clear();
+        sparse.clear();
+    }
+
+    /**
+     * Passes every ID to the consumer, in ascending order.
+     *
+     * @param consumer Receives each ID.
+     */
+    void forEach(LongConsumer consumer) {
+        forEach(Long.MIN_VALUE, id -> {
+            consumer.accept(id);
+            return true;
+        });
+    }
+
+    /**
+     * Passes the IDs greater than {@code afterId} to the visitor, in ascending order, until the visitor
+     * returns {@code false}.
+     *
+     * @param afterId Only IDs greater than this are visited.
+     * @param visitor Receives each ID; returns {@code false} to stop.
+     * @return {@code false} if the visitor stopped the iteration.
+     */
+    boolean forEach(long afterId, LongPredicate visitor) {
+        Iterator<Long> others = sparse.tailSet(afterId, false).iterator();
+        Long other = others.hasNext() ? others.next() : null;
+        while (other != null && other < 0) {
+            if (!visitor.test(other)) {
+                return false;
+            }
+            other = others.hasNext() ? others.next() : null;
+        }
+        if (afterId < DENSE_LIMIT - 1) {
+            for (int id = dense.nextSetBit((int) Math.max(0, afterId + 1)); id >= 0; id = dense.nextSetBit(id + 1)) {
+                if (!visitor.test(id)) {
+                    return false;
+                }
+            }
+        }
+        while (other != null) {
+            if (!visitor.test(other)) {
+                return false;
+            }
+            other = others.hasNext() ? others.next() : null;
+        }
+        return true;
+    }
+
+    private static boolean isDense(long id) {
+        return id >= 0 && id < DENSE_LIMIT;
+    }
+}
@@ -0,0 +1,171 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskTimeField;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Secondary indexes over the in-memory tasks: a {@link TaskIdSet} of task IDs per status code and
+ * sorted sets of (timestamp, ID) pairs for the created and updated times.
+ * The indexes are updated together with every change of the task map, so status listings
+ * and time-range queries cost time proportional to the number of results.
+ */
+class TaskIndex {
+
+    private final TaskIdSet[] idsByStatus;
+    private final NavigableSet<TimeKey> byCreatedAt = new TreeSet<>();
+    private final NavigableSet<TimeKey> byUpdatedAt = new TreeSet<>();
+
+    TaskIndex() {
+        int maxStatus = Arrays.stream(StatusTask.values()).mapToInt(StatusTask::getStatus).max().orElse(0);
+        idsByStatus = new TaskIdSet[maxStatus + 1];
+        for (int i = 0; i < idsByStatus.length; i++) {
+            idsByStatus[i] = new TaskIdSet();
+        }
+    }
+
+    /**
+     * Adds a task that was put into the task map.
+     *
+     * @param task The stored task.
+     */
+    void add(TaskEntity task) {
+        long id = task.getIdTaskEntity();
+        TaskIdSet ids = statusIds(task.getStatusCode());
+        if (ids != null) {
+            ids.add(id);
+        }
+        if (task.getCreatedAt() != null) {
+            byCreatedAt.add(new TimeKey(task.getCreatedAt(), id));
+        }
+        if (task.getUpdatedAt() != null) {
+            byUpdatedAt.add(new TimeKey(task.getUpdatedAt(), id));
+        }
+    }
+
+    /**
+     * Removes a task that was replaced in or removed from the task map.
+     *
+     * @param task The previously stored task.
+     */
+    void remove(TaskEntity task) {
+        long id = task.getIdTaskEntity();
+        TaskIdSet ids = statusIds(task.getStatusCode());
+        if (ids != null) {
+            ids.remove(id);
+        }
+        if (task.getCreatedAt() != null) {
+            byCreatedAt.remove(new TimeKey(task.getCreatedAt(), id));
+        }
+        if (task.getUpdatedAt() != null) {
+            byUpdatedAt.remove(new TimeKey(task.getUpdatedAt(), id));
+        }
+    }
+
+    void clear() {
+        for (TaskIdSet ids : idsByStatus) {
+            ids.clear();
+        }
+        byCreatedAt.clear();
+        byUpdatedAt.clear();
+    }
+
+    /**
+     * Passes the IDs of the tasks in the given status to the consumer, in ascending order.
+     *
+     * @param statusTask The status to look up.
+     * @param consumer   Receives each ID.
+     */
+    void forEachIdWithStatus(StatusTask statusTask, LongConsumer consumer) {
+        TaskIdSet ids = statusIds(statusTask.getStatus());
+        if (ids != null) {
+            ids.forEach(consumer);
+        }
+    }
+
+    /**
+     * Passes the IDs of the tasks in the given status that are greater than {@code afterId} to the visitor,
+     * in ascending order, until the visitor returns {@code false}.
+     *
+     * @param statusTask The status to look up.
+     * @param afterId    Only IDs greater than this are visited.
+     * @param visitor    Receives each ID; returns {@code false} to stop.
+     */
+    void forEachIdWithStatus(StatusTask statusTask, long afterId, LongPredicate visitor) {
+        TaskIdSet ids = statusIds(statusTask.getStatus());
+        if (ids != null) {
+            ids.forEach(afterId, visitor);
+        }
+    }
+
+    /**
+     * @param statusTask The status to count.
+     * @return The number of tasks in the given status.
+     */
+    int countWithStatus(StatusTask statusTask) {
+        TaskIdSet ids = statusIds(statusTask.getStatus());
+        return ids == null ? 0 : ids.cardinality();
+    }
+
+    /**
+     * Passes the IDs of the tasks whose time falls in the range to the consumer, ordered by time.
+     *
+     * @param field    The indexed time.
+     * @param from     Inclusive lower bound, or {@code null} for no lower bound.
+     * @param to       Inclusive upper bound, or {@code null} for no upper bound.
+     * @param consumer Receives each ID.
+     */
+    void forEachIdInRange(TaskTimeField field, LocalDateTime from, LocalDateTime to, LongConsumer consumer) {
+        NavigableSet<TimeKey> keys = field == TaskTimeField.CREATED ? byCreatedAt : byUpdatedAt;
+        if (from != null && to != null) {
+            keys = keys.subSet(new TimeKey(from, Long.MIN_VALUE), true, new TimeKey(to, Long.MAX_VALUE), true);
+        } else if (from != null) {
+            keys = keys.tailSet(new TimeKey(from, Long.MIN_VALUE), true);
+        } else if (to != null) {
+            keys = keys.headSet(new TimeKey(to, Long.MAX_VALUE), true);
+        }
+        for (TimeKey key : keys) {
+            consumer.accept(key.id());
+        }
+    }
+
+    /**
+     * Passes the IDs of all indexed tasks to the visitor ordered by the given time, oldest or newest first,
+     * until the visitor returns {@code false}. Tasks with the same time are ordered by ID.
+     *
+     * @param field      The time to order by.
+     * @param descending Whether the newest tasks come first.
+     * @param visitor    Receives each ID; returns {@code false} to stop.
+     */
+    void forEachIdByTime(TaskTimeField field, boolean descending, LongPredicate visitor) {
+        NavigableSet<TimeKey> keys = field == TaskTimeField.CREATED ? byCreatedAt : byUpdatedAt;
+        for (TimeKey key : descending ? keys.descendingSet() : keys) {
+            if (!visitor.test(key.id())) {
+                return;
+            }
+        }
+    }
+
+    private TaskIdSet statusIds(int statusCode) {
+        return statusCode >= 0 && statusCode < idsByStatus.length ? idsByStatus[statusCode] : null;
+    }
+
+    /**
+     * Entry of a time index, ordered by time and then by task ID.
+     */
+    private record TimeKey(LocalDateTime at, long id) implements Comparable<TimeKey> {
+
+        @Override
+        public int compareTo(TimeKey other) {
+            int byTime = at.compareTo(other.at);
+            return byTime != 0 ? byTime : Long.compare(id, other.id);
+        }
+    }
+}
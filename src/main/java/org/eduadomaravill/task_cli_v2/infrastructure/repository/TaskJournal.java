@@ -0,0 +1,218 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskJournalEntry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Append-only log of task mutations stored next to the JSON snapshot.
+ * Each mutation is written as one JSON line, so a mutation costs one small append
+ * instead of rewriting the whole task file. Entries appended together, such as the changes of a bulk
+ * operation, share one line holding a JSON array, so a crash keeps either all of them or none.
+ * <p>
+ * Compaction works in two steps: the active journal is first sealed (renamed) so new
+ * mutations go to a fresh file, then the sealed journal is deleted once a snapshot
+ * containing its entries has been written. Replaying the sealed journal again over
+ * that snapshot is harmless, because every entry carries the full task state.
+ */
+class TaskJournal {
+
+    private static final byte NEW_LINE = '\n';
+    private static final byte BATCH_START = '[';
+
+    private final Path journalPath;
+    private final Path sealedPath;
+    private final ObjectMapper objectMapper;
+    private final AtomicFileWriter fileWriter;
+    private FileChannel channel;
+
+    /**
+     * Constructs a new {@link TaskJournal}.
+     *
+     * @param directory    Directory where the journal files are stored.
+     * @param baseName     Base file name of the journal files.
+     * @param objectMapper Jackson object mapper used to encode the entries.
+     * @param fileWriter   Decides whether appends are forced to the device.
+     */
+    TaskJournal(Path directory, String baseName, ObjectMapper objectMapper, AtomicFileWriter fileWriter) {
+        this.journalPath = directory.resolve(baseName);
+        this.sealedPath = directory.resolve(baseName + ".sealed");
+        this.objectMapper = objectMapper;
+        this.fileWriter = fileWriter;
+    }
+
+    /**
+     * Appends an entry to the active journal.
+     *
+     * @param entry The entry to append.
+     * @throws IOException If the entry could not be written.
+     */
+    void append(TaskJournalEntry entry) throws IOException {
+        append(List.of(entry));
+    }
+
+    /**
+     * Appends several entries to the active journal with a single write, as one record replayed whole or not at all.
+     *
+     * @param entries The entries to append, in order.
+     * @throws IOException If the entries could not be written.
+     */
+    void append(List<TaskJournalEntry> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(entries.size() * 160);
+        objectMapper.writeValue(bytes, entries.size() == 1 ? entries.get(0) : entries);
+        bytes.write(NEW_LINE);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        FileChannel output = openChannel();
+        while (buffer.hasRemaining()) {
+            output.write(buffer);
+        }
+        fileWriter.afterAppend(output, buffer.capacity());
+    }
+
+    /**
+     * Replays the sealed journal followed by the active one, oldest entry first.
+     * A crash in the middle of an append leaves a last line without its line break; that torn line is
+     * truncated, dropping every entry of the interrupted append, so later appends start on a clean line. A complete line that cannot be decoded is not
+     * a torn append but damage, so the file is left as it is and the replay fails.
+     *
+     * @param consumer Receives every valid entry in order.
+     * @throws IOException If a journal file could not be read or repaired, or holds a corrupt entry.
+     */
+    void replay(Consumer<TaskJournalEntry> consumer) throws IOException {
+        replayFile(sealedPath, consumer);
+        replayFile(journalPath, consumer);
+    }
+
+    /**
+     * Seals the active journal so a snapshot can be written from the current state.
+     *
+     * @return {@code true} if the journal was sealed, {@code false} if a previous sealed journal
+     *         is still waiting to be folded into a snapshot.
+     * @throws IOException If the journal could not be renamed.
+     */
+    boolean seal() throws IOException {
+        if (Files.exists(sealedPath)) {
+            return false;
+        }
+        close();
+        if (Files.exists(journalPath)) {
+            Files.move(journalPath, sealedPath, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the sealed journal once its entries are contained in a snapshot.
+     *
+     * @throws IOException If the file could not be deleted.
+     */
+    void deleteSealed() throws IOException {
+        Files.deleteIfExists(sealedPath);
+    }
+
+    /**
+     * Removes every journal file once the whole state has been written to a snapshot.
+     *
+     * @throws IOException If a file could not be deleted.
+     */
+    void clear() throws IOException {
+        close();
+        Files.deleteIfExists(sealedPath);
+        Files.deleteIfExists(journalPath);
+    }
+
+    /**
+     * @return {@code true} if a sealed journal exists and still has to be compacted.
+     */
+    boolean hasSealed() {
+        return Files.exists(sealedPath);
+    }
+
+    /**
+     * @return The size in bytes of the active journal.
+     */
+    long size() {
+        return journalPath.toFile().length();
+    }
+
+    Path getJournalPath() {
+        return journalPath;
+    }
+
+    Path getSealedPath() {
+        return sealedPath;
+    }
+
+    /**
+     * Closes the channel of the active journal, if open.
+     */
+    void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private FileChannel openChannel() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            channel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private void replayFile(Path path, Consumer<TaskJournalEntry> consumer) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        byte[] data = Files.readAllBytes(path);
+        fileWriter.afterRead(data.length);
+        int start = 0;
+        int line = 1;
+        while (start < data.length) {
+            int end = indexOf(data, start);
+            if (end < 0) {
+                break;
+            }
+            if (end > start) {
+                TaskJournalEntry[] entries;
+                try {
+                    entries = data[start] == BATCH_START
+                            ? objectMapper.readValue(data, start, end - start, TaskJournalEntry[].class)
+                            : new TaskJournalEntry[]{objectMapper.readValue(data, start, end - start, TaskJournalEntry.class)};
+                } catch (IOException e) {
+                    throw new IOException("Corrupt journal entry at line " + line + " of " + path.getFileName(), e);
+                }
+                for (TaskJournalEntry entry : entries) {
+                    consumer.accept(entry);
+                }
+            }
+            start = end + 1;
+            line++;
+        }
+        if (start < data.length) {
+            close();
+            try (FileChannel truncate = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                truncate.truncate(start);
+            }
+        }
+    }
+
+    private static int indexOf(byte[] data, int from) {
+        for (int i = from; i < data.length; i++) {
+            if (data[i] == NEW_LINE) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,36 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared by task ID, so operations on different tasks rarely wait for each other
+ * while operations on the same task are always serialized, without keeping a lock per task.
+ */
+class TaskLockStripes {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    /**
+     * Constructs a new {@link TaskLockStripes}.
+     *
+     * @param stripes Minimum number of locks; rounded up to a power of two.
+     */
+    TaskLockStripes(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * @param idTask The ID of the task.
+     * @return The lock guarding the task.
+     */
+    ReentrantLock lockFor(long idTask) {
+        long hash = idTask * 0x9E3779B97F4A7C15L;
+        return locks[(int) (hash >>> 32) & mask];
+    }
+}
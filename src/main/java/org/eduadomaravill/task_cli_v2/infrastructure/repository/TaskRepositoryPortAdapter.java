@@ -5,30 +5,42 @@ package org.eduadomaravill.task_cli_v2.infrastructure.repository;
 import org.eduadomaravill.task_cli_v2.application.port.output.ITaskRepositoryPort;
 import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
 import org.eduadomaravill.task_cli_v2.domain.model.Task;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskFilter;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskSortField;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskTimeField;
 import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskMetrics;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskOperation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Adapter class that implements {@link ITaskRepositoryPort} to interact with the persistence layer.
  * This adapter is responsible for converting domain model objects to persistence model objects
  * and delegating the actual CRUD operations to the {@link PersistenceTaskRepository}.
+ * The latency of each operation, conversion included, is recorded in the {@link TaskMetrics}.
  */
 @Component
+@ConditionalOnProperty(name = "task-cli.save.task.engine", havingValue = "file", matchIfMissing = true)
 public class TaskRepositoryPortAdapter implements ITaskRepositoryPort {
 
     private final PersistenceTaskRepository persistenceTaskRepository;
+    private final TaskMetrics taskMetrics;
 
     /**
      * Constructs a new {@link TaskRepositoryPortAdapter} and initializes the {@link PersistenceTaskRepository}.
      */
     @Autowired
-    public TaskRepositoryPortAdapter(PersistenceTaskRepository persistenceTaskRepository) {
+    public TaskRepositoryPortAdapter(PersistenceTaskRepository persistenceTaskRepository, TaskMetrics taskMetrics) {
         this.persistenceTaskRepository = persistenceTaskRepository;
+        this.taskMetrics = taskMetrics;
     }
 
     /**
@@ -39,13 +51,33 @@ public class TaskRepositoryPortAdapter implements ITaskRepositoryPort {
      */
     @Override
     public Optional<Task> createTask(String descriptionTask) {
-        Task task = new Task();
-        task.setDescriptionTask(descriptionTask);
-        task.setStatusTask(StatusTask.NOT_STARTED);
-        task.setCreatedAt(LocalDateTime.now());
-        task.setUpdatedAt(LocalDateTime.now());
-        Optional<TaskEntity> newTask = persistenceTaskRepository.createTask(TaskEntity.taskEntityFromDomainModel(task));
-        return newTask.map(TaskEntity::toDomainModel);
+        return taskMetrics.time(TaskOperation.CREATE, () -> {
+            Task task = new Task();
+            task.setDescriptionTask(descriptionTask);
+            task.setStatusTask(StatusTask.NOT_STARTED);
+            task.setCreatedAt(LocalDateTime.now());
+            task.setUpdatedAt(LocalDateTime.now());
+            Optional<TaskEntity> newTask = persistenceTaskRepository.createTask(TaskEntity.taskEntityFromDomainModel(task));
+            return newTask.map(TaskEntity::toDomainModel);
+        });
+    }
+
+    /**
+     * Creates several tasks in the repository with a single persisted write.
+     *
+     * @param descriptions the descriptions of the tasks to be created
+     * @return a list of the created {@link Task} objects, or an empty list if the tasks could not be created
+     */
+    @Override
+    public List<Task> createTasks(List<String> descriptions) {
+        return taskMetrics.time(TaskOperation.CREATE, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<TaskEntity> taskEntities = new ArrayList<>(descriptions.size());
+            for (String description : descriptions) {
+                taskEntities.add(new TaskEntity(null, description, StatusTask.NOT_STARTED.getStatus(), now, now, 0));
+            }
+            return persistenceTaskRepository.createTasks(taskEntities).stream().map(TaskEntity::toDomainModel).toList();
+        });
     }
 
     /**
@@ -56,7 +88,18 @@ public class TaskRepositoryPortAdapter implements ITaskRepositoryPort {
      */
     @Override
     public boolean deleteTask(Long idTask) {
-        return persistenceTaskRepository.deleteTask(idTask);
+        return taskMetrics.time(TaskOperation.DELETE, () -> persistenceTaskRepository.deleteTask(idTask));
+    }
+
+    /**
+     * Deletes every task selected by the filter with a single persisted write.
+     *
+     * @param filter selects the tasks to be deleted
+     * @return the number of deleted tasks, or {@code -1} if the deletions could not be saved
+     */
+    @Override
+    public int deleteTasks(TaskFilter filter) {
+        return taskMetrics.time(TaskOperation.DELETE, () -> persistenceTaskRepository.deleteTasks(filter));
     }
 
     /**
@@ -67,7 +110,7 @@ public class TaskRepositoryPortAdapter implements ITaskRepositoryPort {
      */
     @Override
     public Optional<Task> getTaskById(Long idTask) {
-        return persistenceTaskRepository.getTaskById(idTask).map(TaskEntity::toDomainModel);
+        return taskMetrics.time(TaskOperation.GET, () -> persistenceTaskRepository.getTaskById(idTask).map(TaskEntity::toDomainModel));
     }
 
     /**
@@ -77,7 +120,98 @@ public class TaskRepositoryPortAdapter implements ITaskRepositoryPort {
      */
     @Override
     public List<Task> getAllTasks() {
-        return persistenceTaskRepository.getAllTasks().stream().map(TaskEntity::toDomainModel).toList();
+        return taskMetrics.time(TaskOperation.LIST, () -> {
+            List<Task> tasks = new ArrayList<>();
+            persistenceTaskRepository.forEachTask(task -> true, task -> tasks.add(task.toDomainModel()));
+            return tasks;
+        });
+    }
+
+    /**
+     * Retrieves the tasks in the given status using the status index.
+     *
+     * @param statusTask the status to filter by
+     * @return a list of the {@link Task} objects in that status
+     */
+    @Override
+    public List<Task> getTasksByStatus(StatusTask statusTask) {
+        return taskMetrics.time(TaskOperation.LIST, () -> {
+            List<Task> tasks = new ArrayList<>();
+            persistenceTaskRepository.forEachTaskWithStatus(statusTask, task -> tasks.add(task.toDomainModel()));
+            return tasks;
+        });
+    }
+
+    /**
+     * Counts the tasks in each status using the status index.
+     *
+     * @return the number of tasks per status
+     */
+    @Override
+    public Map<StatusTask, Long> countTasksByStatus() {
+        return persistenceTaskRepository.countTasksByStatus();
+    }
+
+    /**
+     * Retrieves one page of tasks, walking the ID map or the status index from the cursor.
+     *
+     * @param statusTask the status to filter by, or {@code null} for every task
+     * @param afterId    only tasks with a greater ID are returned
+     * @param offset     number of matching tasks to skip before the page starts
+     * @param limit      maximum number of tasks in the page
+     * @return a list of the {@link Task} objects in the page
+     */
+    @Override
+    public List<Task> getTasksPage(StatusTask statusTask, long afterId, int offset, int limit) {
+        return taskMetrics.time(TaskOperation.LIST, () -> persistenceTaskRepository.getTasksPage(statusTask, afterId, offset, limit).stream()
+                .map(TaskEntity::toDomainModel)
+                .toList());
+    }
+
+    /**
+     * Retrieves the first tasks in the given order by walking the ID map or the status or time index
+     * in that order, so no sorting is needed.
+     *
+     * @param statusTask the status to filter by, or {@code null} for every task
+     * @param sortField  the field to order by
+     * @param descending whether the order is reversed
+     * @param top        maximum number of tasks to return; {@code 0} for every matching task
+     * @return a list of the matching {@link Task} objects, in order
+     */
+    @Override
+    public List<Task> getTopTasks(StatusTask statusTask, TaskSortField sortField, boolean descending, int top) {
+        return taskMetrics.time(TaskOperation.LIST, () -> persistenceTaskRepository.getTopTasks(statusTask, sortField, descending, top).stream()
+                .map(TaskEntity::toDomainModel)
+                .toList());
+    }
+
+    /**
+     * Retrieves the tasks whose creation or update time falls in the range, using the time index.
+     *
+     * @param field the time to filter on
+     * @param from  inclusive lower bound, or {@code null}
+     * @param to    inclusive upper bound, or {@code null}
+     * @return a list of the {@link Task} objects in the range, ordered by that time
+     */
+    @Override
+    public List<Task> getTasksByTimeRange(TaskTimeField field, LocalDateTime from, LocalDateTime to) {
+        return taskMetrics.time(TaskOperation.LIST, () -> {
+            List<Task> tasks = new ArrayList<>();
+            persistenceTaskRepository.forEachTaskInRange(field, from, to, task -> tasks.add(task.toDomainModel()));
+            return tasks;
+        });
+    }
+
+    /**
+     * Finds the tasks whose description matches the query, using the search index.
+     *
+     * @param query free text to search for
+     * @param limit maximum number of results
+     * @return a list of the best matching {@link Task} objects, best match first
+     */
+    @Override
+    public List<Task> searchTasks(String query, int limit) {
+        return taskMetrics.time(TaskOperation.LIST, () -> persistenceTaskRepository.searchTasks(query, limit).stream().map(TaskEntity::toDomainModel).toList());
     }
 
     /**
@@ -89,11 +223,49 @@ public class TaskRepositoryPortAdapter implements ITaskRepositoryPort {
      */
     @Override
     public Optional<Task> updateTaskByDescription(Long idTask, String description) {
-        return persistenceTaskRepository.updateTaskByDescription(idTask, description).map(TaskEntity::toDomainModel);
+        return taskMetrics.time(TaskOperation.UPDATE, () -> persistenceTaskRepository.updateTaskByDescription(idTask, description).map(TaskEntity::toDomainModel));
     }
 
     @Override
     public Optional<Task> updateTaskByStatus(Long idTask, StatusTask statusTask) {
-        return persistenceTaskRepository.updateTaskByStatus(idTask,statusTask).map(TaskEntity::toDomainModel);
+        return taskMetrics.time(TaskOperation.UPDATE, () -> persistenceTaskRepository.updateTaskByStatus(idTask,statusTask).map(TaskEntity::toDomainModel));
+    }
+
+    /**
+     * Updates the description of a task if it is still at the expected version, checked under the exclusive store lock.
+     *
+     * @param idTask          the ID of the task to be updated
+     * @param description     the new description of the task
+     * @param expectedVersion the version the change is based on
+     * @return an {@link Optional} containing the updated {@link Task} if successful, or {@link Optional#empty()} if the task could not be updated
+     */
+    @Override
+    public Optional<Task> updateTaskByDescription(Long idTask, String description, long expectedVersion) {
+        return taskMetrics.time(TaskOperation.UPDATE, () -> persistenceTaskRepository.updateTaskByDescription(idTask, description, expectedVersion).map(TaskEntity::toDomainModel));
+    }
+
+    /**
+     * Updates the status of a task if it is still at the expected version, checked under the exclusive store lock.
+     *
+     * @param idTask          the ID of the task to be updated
+     * @param statusTask      the new status of the task
+     * @param expectedVersion the version the change is based on
+     * @return an {@link Optional} containing the updated {@link Task} if successful, or {@link Optional#empty()} if the task could not be updated
+     */
+    @Override
+    public Optional<Task> updateTaskByStatus(Long idTask, StatusTask statusTask, long expectedVersion) {
+        return taskMetrics.time(TaskOperation.UPDATE, () -> persistenceTaskRepository.updateTaskByStatus(idTask, statusTask, expectedVersion).map(TaskEntity::toDomainModel));
+    }
+
+    /**
+     * Changes the status of every task selected by the filter with a single persisted write.
+     *
+     * @param filter     selects the tasks to be updated
+     * @param statusTask the new status of the tasks
+     * @return the number of updated tasks, or {@code -1} if the changes could not be saved
+     */
+    @Override
+    public int updateTasksByStatus(TaskFilter filter, StatusTask statusTask) {
+        return taskMetrics.time(TaskOperation.UPDATE, () -> persistenceTaskRepository.updateTasksByStatus(filter, statusTask));
     }
 }
\ No newline at end of file
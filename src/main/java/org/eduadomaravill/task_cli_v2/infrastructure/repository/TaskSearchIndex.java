@@ -0,0 +1,370 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.function.LongConsumer;
+
+/**
+ * Inverted index from description tokens to the IDs of the tasks containing them.
+ * <p>
+ * Descriptions are split into lower-case alphanumeric tokens with diacritics removed, so
+ * "Canción" is found by "cancion". Every query term matches the tokens it is a prefix of.
+ * Results are ranked by the number of query terms they match, then by the inverse document
+ * frequency of the matched tokens (exact matches weigh more than prefix matches), then newest first.
+ * The repository builds the index on the first search and then updates it with every change of the task map.
+ * <p>
+ * Most tokens occur in a few tasks, so a token's postings are a sorted {@code long} array, eight bytes per task.
+ * Only a token found in at least one of every {@value #BITMAP_ID_SPAN} IDs switches to a {@link TaskIdSet} bitmap,
+ * whose size follows the highest ID instead of the number of tasks.
+ */
+class TaskSearchIndex {
+
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+    // A bitmap takes one bit per ID up to the highest one, an array 64 bits per task.
+    private static final int BITMAP_ID_SPAN = Long.SIZE;
+    private static final int BITMAP_MIN_SIZE = 1024;
+
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private int documentCount;
+    // Bounds of every ID indexed so far, never narrowed by removals.
+    private long lowestId = Long.MAX_VALUE;
+    private long highestId = Long.MIN_VALUE;
+
+    /**
+     * Indexes the description of a task that was put into the task map.
+     *
+     * @param task The stored task.
+     */
+    void add(TaskEntity task) {
+        long id = task.getIdTaskEntity();
+        lowestId = Math.min(lowestId, id);
+        highestId = Math.max(highestId, id);
+        for (String token : tokenize(task.getDescriptionTaskEntity())) {
+            postings.computeIfAbsent(token, key -> new PostingList()).add(id);
+        }
+        documentCount++;
+    }
+
+    /**
+     * Removes the description of a task that was replaced in or removed from the task map.
+     *
+     * @param task The previously stored task.
+     */
+    void remove(TaskEntity task) {
+        long id = task.getIdTaskEntity();
+        for (String token : tokenize(task.getDescriptionTaskEntity())) {
+            PostingList ids = postings.get(token);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        documentCount--;
+    }
+
+    /**
+     * Finds the tasks matching the query.
+     *
+     * @param query Free text; each term is matched as a token prefix.
+     * @param limit Maximum number of results.
+     * @return The IDs of the best matching tasks, best match first.
+     */
+    List<Long> search(String query, int limit) {
+        Set<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<Match> matches = new ArrayList<>();
+        long postingCount = 0;
+        int termNumber = 0;
+        for (String term : terms) {
+            termNumber++;
+            for (Map.Entry<String, PostingList> posting : postings.subMap(term, true, term + Character.MAX_VALUE, true).entrySet()) {
+                double idf = Math.log(1.0 + (double) documentCount / posting.getValue().size());
+                double weight = posting.getKey().equals(term) ? idf : idf * PREFIX_MATCH_WEIGHT;
+                matches.add(new Match(posting.getValue(), termNumber, weight));
+                postingCount += posting.getValue().size();
+            }
+        }
+        if (matches.size() == 1) {
+            return newest(matches.get(0).ids(), limit);
+        }
+        Hits hits = new Hits(lowestId, highestId, postingCount);
+        for (Match match : matches) {
+            hits.addAll(match.ids(), match.term(), match.weight());
+        }
+        return hits.best(limit);
+    }
+
+    /**
+     * Ranks the tasks of a single posting list: they all score the same, so the newest ones win.
+     */
+    private static List<Long> newest(PostingList ids, int limit) {
+        long[] last = new long[Math.min(limit, ids.size())];
+        long[] seen = {0};
+        ids.forEach(id -> last[(int) (seen[0]++ % last.length)] = id);
+        Long[] result = new Long[last.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = last[(int) ((seen[0] - 1 - i) % last.length)];
+        }
+        return Arrays.asList(result);
+    }
+
+    /**
+     * Splits text into distinct lower-case alphanumeric tokens without diacritics.
+     *
+     * @param text The text to split, may be {@code null}.
+     * @return The distinct tokens in order of appearance.
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char character = normalized.charAt(i);
+            if (Character.getType(character) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(character)) {
+                token.append(character);
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (!token.isEmpty()) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * IDs of the tasks containing one token, in ascending order: a sorted array that turns into a bitmap
+     * when the token becomes frequent, and back when it becomes rare again.
+     */
+    private static final class PostingList {
+        private long[] ids = new long[1];
+        private TaskIdSet bitmap;
+        private int size;
+
+        void add(long id) {
+            if (bitmap != null) {
+                if (!bitmap.contains(id)) {
+                    bitmap.add(id);
+                    size++;
+                }
+                return;
+            }
+            int position = size == 0 || id > ids[size - 1] ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+            if (size >= BITMAP_MIN_SIZE && ids[0] >= 0 && ids[size - 1] / BITMAP_ID_SPAN <= size) {
+                bitmap = new TaskIdSet();
+                for (int i = 0; i < size; i++) {
+                    bitmap.add(ids[i]);
+                }
+                ids = null;
+            }
+        }
+
+        void remove(long id) {
+            if (bitmap != null) {
+                if (bitmap.contains(id)) {
+                    bitmap.remove(id);
+                    size--;
+                    if (size < BITMAP_MIN_SIZE / 2) {
+                        long[] array = new long[Math.max(1, size)];
+                        int[] count = {0};
+                        bitmap.forEach(value -> array[count[0]++] = value);
+                        ids = array;
+                        bitmap = null;
+                    }
+                }
+                return;
+            }
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+                size--;
+                if (size > 0 && size <= ids.length / 4) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void forEach(LongConsumer consumer) {
+            if (bitmap != null) {
+                bitmap.forEach(consumer);
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                consumer.accept(ids[i]);
+            }
+        }
+    }
+
+    /**
+     * A posting list matched by a query term, with the term's number and the weight of the token.
+     */
+    private record Match(PostingList ids, int term, double weight) {
+    }
+
+    /**
+     * Scores of the tasks matched by the current query, kept in primitive arrays so a short prefix matching many
+     * tasks boxes and allocates nothing per task. When the matches are many compared to the range of IDs, as for
+     * a frequent word or a short prefix, the arrays are indexed by ID directly; otherwise an open-addressing table
+     * maps each ID to its entry.
+     */
+    private static final class Hits {
+        // Dense arrays are used while the ID range is at most this many times the number of postings.
+        private static final int DENSE_SPAN_PER_POSTING = 8;
+        private static final int INITIAL_CAPACITY = 32;
+
+        private final long firstId;
+        private final boolean dense;
+        private int[] slots;
+        private long[] ids;
+        private int[] lastTerms;
+        private int[] matchedTerms;
+        private double[] weights;
+        private int size;
+
+        Hits(long lowestId, long highestId, long postingCount) {
+            long span = highestId - lowestId + 1;
+            dense = lowestId <= highestId && span > 0 && span < Integer.MAX_VALUE - 8 && span <= postingCount * DENSE_SPAN_PER_POSTING;
+            firstId = lowestId;
+            int capacity = dense ? (int) span : INITIAL_CAPACITY;
+            if (dense) {
+                size = capacity;
+            } else {
+                slots = new int[capacity * 2];
+                ids = new long[capacity];
+            }
+            lastTerms = new int[capacity];
+            matchedTerms = new int[capacity];
+            weights = new double[capacity];
+        }
+
+        void addAll(PostingList postingList, int term, double weight) {
+            if (postingList.bitmap != null) {
+                postingList.bitmap.forEach(id -> add(id, term, weight));
+                return;
+            }
+            long[] postingIds = postingList.ids;
+            for (int i = 0, count = postingList.size; i < count; i++) {
+                add(postingIds[i], term, weight);
+            }
+        }
+
+        private void add(long id, int term, double weight) {
+            int entry = dense ? (int) (id - firstId) : entry(id);
+            weights[entry] += weight;
+            if (lastTerms[entry] != term) {
+                lastTerms[entry] = term;
+                matchedTerms[entry]++;
+            }
+        }
+
+        /**
+         * @param limit Maximum number of results.
+         * @return The IDs of the best scored tasks, best first.
+         */
+        List<Long> best(int limit) {
+            PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, this::compare);
+            int worst = -1;
+            // Entries are mostly in ascending ID order, so walking them backwards lets ties stop replacing the heap.
+            for (int entry = size - 1; entry >= 0; entry--) {
+                if (matchedTerms[entry] == 0 || worst >= 0 && compare(entry, worst) <= 0) {
+                    continue;
+                }
+                if (best.size() == limit) {
+                    best.poll();
+                }
+                best.add(entry);
+                if (best.size() == limit) {
+                    worst = best.peek();
+                }
+            }
+            Long[] result = new Long[best.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                result[i] = id(best.poll());
+            }
+            return Arrays.asList(result);
+        }
+
+        /**
+         * Orders entries by the number of matched terms, then by weight, then by ID, so the newest task wins a tie.
+         */
+        private int compare(int first, int second) {
+            int result = Integer.compare(matchedTerms[first], matchedTerms[second]);
+            if (result == 0) {
+                result = Double.compare(weights[first], weights[second]);
+            }
+            return result != 0 ? result : Long.compare(id(first), id(second));
+        }
+
+        private long id(int entry) {
+            return dense ? firstId + entry : ids[entry];
+        }
+
+        /**
+         * @return The entry of the ID in the table, added if it is new.
+         */
+        private int entry(long id) {
+            int slot = slot(id);
+            if (slots[slot] == 0) {
+                if (size == ids.length) {
+                    grow();
+                    slot = slot(id);
+                }
+                ids[size] = id;
+                slots[slot] = ++size;
+            }
+            return slots[slot] - 1;
+        }
+
+        private int slot(long id) {
+            int mask = slots.length - 1;
+            int slot = Long.hashCode(id * 0x9E3779B97F4A7C15L) & mask;
+            while (slots[slot] != 0 && ids[slots[slot] - 1] != id) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            lastTerms = Arrays.copyOf(lastTerms, capacity);
+            matchedTerms = Arrays.copyOf(matchedTerms, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            slots = new int[capacity * 2];
+            for (int entry = 0; entry < size; entry++) {
+                slots[slot(ids[entry])] = entry + 1;
+            }
+        }
+    }
+}
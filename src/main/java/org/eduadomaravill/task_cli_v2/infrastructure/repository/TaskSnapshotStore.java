@@ -0,0 +1,117 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Layout of the task snapshot on disk, selected with {@code task-cli.save.task.layout}:
+ * a single file ({@link SingleFileSnapshotStore}) or segment files partitioned by ID range
+ * ({@link SegmentedSnapshotStore}).
+ * <p>
+ * Implementations are not thread-safe; callers hold the store lock.
+ */
+interface TaskSnapshotStore {
+
+    /**
+     * @return The name of the snapshot file or directory, for messages.
+     */
+    String name();
+
+    /**
+     * @return {@code true} if no snapshot has been written in this layout yet.
+     */
+    boolean isEmpty();
+
+    /**
+     * @return A value that changes whenever the snapshot is replaced, cheap enough to check on every access.
+     */
+    Object stamp();
+
+    /**
+     * Decodes the whole snapshot.
+     *
+     * @param consumer Receives every stored task in ID order.
+     * @throws IOException If the snapshot cannot be read or is not valid.
+     */
+    void read(Consumer<TaskEntity> consumer) throws IOException;
+
+    /**
+     * Decodes only the parts of the snapshot replaced since it was last read or written by this store, if the
+     * layout can tell them apart. The tasks of every replaced part must be dropped before the new ones are added.
+     *
+     * @param dropRange Receives the inclusive ID range of every replaced part, before its tasks are decoded.
+     * @param consumer  Receives the tasks of the replaced parts.
+     * @return {@code true} if the changes were read, {@code false} if the whole snapshot must be read instead.
+     * @throws IOException If a part cannot be read or is not valid.
+     */
+    default boolean readChanges(BiConsumer<Long, Long> dropRange, Consumer<TaskEntity> consumer) throws IOException {
+        return false;
+    }
+
+    /**
+     * Decodes only the tasks in an ID range, if the layout stores them apart from the others. This is a one-off
+     * read: it does not change what {@link #readChanges(BiConsumer, Consumer)} compares against.
+     *
+     * @param fromId   Lowest ID to read.
+     * @param toId     Highest ID to read.
+     * @param consumer Receives the tasks of the range in ID order.
+     * @return {@code true} if the range was read, {@code false} if the whole snapshot must be read instead.
+     * @throws IOException If a part holding the range cannot be read or is not valid.
+     */
+    default boolean readRange(long fromId, long toId, Consumer<TaskEntity> consumer) throws IOException {
+        return false;
+    }
+
+    /**
+     * Replaces the whole snapshot.
+     *
+     * @param tasks Every task, in ID order.
+     * @throws IOException If the snapshot could not be written.
+     */
+    void write(Collection<TaskEntity> tasks) throws IOException;
+
+    /**
+     * Persists changed tasks. Layouts that cannot rewrite part of the snapshot replace all of it.
+     *
+     * @param tasks      Every task, by ID.
+     * @param changedIds IDs of the tasks created, updated or deleted since the last write.
+     * @throws IOException If the snapshot could not be written.
+     */
+    default void write(NavigableMap<Long, TaskEntity> tasks, Collection<Long> changedIds) throws IOException {
+        write(tasks.values());
+    }
+
+    /**
+     * Moves the snapshot aside after its tasks were migrated to another layout, keeping it as a backup.
+     *
+     * @throws IOException If the snapshot could not be moved.
+     */
+    void retire() throws IOException;
+
+    /**
+     * Modification time, size and file key of a file; the file key, where the file system provides one,
+     * tells a file replaced by an atomic move apart from the original even when the time and size match.
+     */
+    record FileStamp(FileTime modified, long length, Object fileKey) {
+
+        private static final FileStamp MISSING = new FileStamp(null, 0, null);
+
+        static FileStamp of(Path path) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new FileStamp(attributes.lastModifiedTime(), attributes.size(), attributes.fileKey());
+            } catch (IOException e) {
+                return MISSING;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Converts task timestamps to and from the epoch milliseconds used by the binary storage formats.
+ * Timestamps are interpreted as UTC so that the conversion round-trips independently of the system time zone.
+ */
+final class TaskTimestamps {
+
+    /**
+     * Marker stored in place of a missing timestamp.
+     */
+    static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private TaskTimestamps() {
+    }
+
+    static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? NO_TIMESTAMP : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    static LocalDateTime fromEpochMillis(long epochMillis) {
+        return epochMillis == NO_TIMESTAMP ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
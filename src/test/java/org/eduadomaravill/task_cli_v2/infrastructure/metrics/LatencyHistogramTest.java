@@ -0,0 +1,80 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    private static final long[] VALUES = {0, 1, 15, 16, 31, 32, 33, 1_000, 65_535, 65_536, 1_234_567_890L, Long.MAX_VALUE - 1, Long.MAX_VALUE};
+
+    @Test
+    void bucketsHoldTheirValueWithinOneSixteenth() {
+        Random random = new Random(7);
+        long[] values = new long[VALUES.length + 10_000];
+        System.arraycopy(VALUES, 0, values, 0, VALUES.length);
+        for (int i = VALUES.length; i < values.length; i++) {
+            values[i] = (random.nextLong() >>> 1) >>> random.nextInt(Long.SIZE - 1);
+        }
+        for (long value : values) {
+            int bucket = LatencyHistogram.bucket(value);
+            long highest = LatencyHistogram.highestValue(bucket);
+            assertTrue(bucket >= 0 && bucket < 960, value + " in bucket " + bucket);
+            assertTrue(highest >= value && highest - value <= value / 16, value + " reported as " + highest);
+            assertTrue(bucket == 0 || LatencyHistogram.highestValue(bucket - 1) < value, value + " also fits bucket " + (bucket - 1));
+        }
+        assertEquals(959, LatencyHistogram.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    void reportsPercentilesWithinOneSixteenthOfTheExactValue() {
+        Random random = new Random(42);
+        long[] latencies = new long[100_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        long total = 0;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = (long) Math.exp(random.nextDouble() * Math.log(10_000_000_000L));
+            histogram.record(latencies[i]);
+            total += latencies[i];
+        }
+        Arrays.sort(latencies);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(latencies.length, snapshot.getCount());
+        assertEquals(total, snapshot.getTotalNanos());
+        assertEquals(latencies[latencies.length - 1], snapshot.getMaxNanos());
+        for (double percentile : new double[]{1, 50, 90, 99, 99.9, 99.99, 100}) {
+            long exact = latencies[(int) Math.ceil(percentile / 100 * latencies.length) - 1];
+            long reported = snapshot.percentile(percentile);
+            assertTrue(reported >= exact && reported - exact <= exact / 16, "p" + percentile + ": " + reported + " for " + exact);
+        }
+    }
+
+    @Test
+    void countsEveryLatencyRecordedConcurrently() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            long latency = (t + 1) * 1_000L;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(latency);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(800_000, snapshot.getCount());
+        assertEquals(100_000L * 36_000, snapshot.getTotalNanos());
+        assertEquals(8_000, snapshot.getMaxNanos());
+        assertEquals(8_000, snapshot.percentile(100));
+    }
+}
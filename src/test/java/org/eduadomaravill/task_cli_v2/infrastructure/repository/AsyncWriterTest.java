@@ -0,0 +1,111 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Queues writes with the asynchronous writer while the store is read or changed by others.
+ */
+class AsyncWriterTest {
+
+    private static final String ASYNC = "async.enabled=true";
+    private static final String NO_TICKS = "async.flush-interval-ms=600000";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void flushesAnEmptyQueueWithoutWaitingForTheStoreLock() throws Exception {
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, ASYNC, NO_TICKS);
+        repository.createTasks(TestTaskStores.newTasks(2, "Task"));
+        assertEquals(2, repository.flush());
+
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> repository.forEachTask(task -> true, task -> {
+            reading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(reading.await(10, TimeUnit.SECONDS));
+        try {
+            int flushed = CompletableFuture.supplyAsync(repository::flush).get(10, TimeUnit.SECONDS);
+            assertEquals(0, flushed);
+        } finally {
+            release.countDown();
+        }
+        reader.get(10, TimeUnit.SECONDS);
+        repository.close();
+    }
+
+    @Test
+    void dropsQueuedChangesToTasksAnotherProcessChanged() {
+        PersistenceTaskRepository setup = TestTaskStores.fileRepository(directory);
+        setup.createTasks(TestTaskStores.newTasks(3, "Task"));
+        setup.close();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PersistenceTaskRepository queued = TestTaskStores.fileRepository(directory, output, ASYNC, NO_TICKS);
+        queued.updateTaskByDescription(1L, "Queued").orElseThrow();
+        queued.updateTaskByDescription(3L, "Queued").orElseThrow();
+
+        PersistenceTaskRepository other = TestTaskStores.fileRepository(directory);
+        other.updateTaskByStatus(1L, StatusTask.DONE).orElseThrow();
+        other.updateTaskByDescription(2L, "Other").orElseThrow();
+        other.close();
+
+        assertEquals(1, queued.flush());
+        assertEquals("Task 0", queued.getTaskById(1).orElseThrow().getDescriptionTaskEntity());
+        queued.close();
+        String printed = output.toString(StandardCharsets.UTF_8);
+        assertTrue(printed.contains("Discarded queued changes to tasks [1]"), printed);
+
+        PersistenceTaskRepository reopened = TestTaskStores.fileRepository(directory);
+        TaskEntity first = reopened.getTaskById(1).orElseThrow();
+        assertEquals("Task 0", first.getDescriptionTaskEntity());
+        assertEquals(StatusTask.DONE.getStatus(), first.getStatusCode());
+        assertEquals("Other", reopened.getTaskById(2).orElseThrow().getDescriptionTaskEntity());
+        assertEquals("Queued", reopened.getTaskById(3).orElseThrow().getDescriptionTaskEntity());
+        reopened.close();
+    }
+
+    @Test
+    void keepsQueuedChangesWhenOtherTasksChanged() {
+        PersistenceTaskRepository queued = TestTaskStores.fileRepository(directory, ASYNC, NO_TICKS, "journal.enabled=true");
+        queued.createTasks(TestTaskStores.newTasks(2, "Task"));
+        assertEquals(2, queued.flush());
+        queued.updateTaskByStatus(1L, StatusTask.IN_PROGRESS).orElseThrow();
+        queued.updateTaskByStatus(1L, StatusTask.DONE).orElseThrow();
+
+        PersistenceTaskRepository other = TestTaskStores.fileRepository(directory, "journal.enabled=true");
+        other.deleteTask(2L);
+        other.close();
+
+        assertFalse(queued.getTaskById(2).isPresent());
+        assertEquals(StatusTask.DONE.getStatus(), queued.getTaskById(1).orElseThrow().getStatusCode());
+        assertEquals(2, queued.flush());
+        queued.close();
+
+        PersistenceTaskRepository reopened = TestTaskStores.fileRepository(directory, "journal.enabled=true");
+        assertEquals(1, reopened.getAllTasks().size());
+        assertEquals(StatusTask.DONE.getStatus(), reopened.getTaskById(1).orElseThrow().getStatusCode());
+        assertEquals(3, reopened.getTaskById(1).orElseThrow().getVersion());
+        reopened.close();
+    }
+}
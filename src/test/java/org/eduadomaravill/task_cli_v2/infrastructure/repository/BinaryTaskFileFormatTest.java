@@ -0,0 +1,92 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads binary task files whose record lengths were damaged.
+ */
+class BinaryTaskFileFormatTest {
+
+    // File header, then the ID, status code, timestamps and task version of the first record.
+    private static final int FIRST_LENGTH_OFFSET = 16 + 33;
+
+    private final BinaryTaskFileFormat format = new BinaryTaskFileFormat();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsWhatItWrote() throws IOException {
+        List<TaskEntity> tasks = new ArrayList<>();
+        format.read(new ByteArrayInputStream(encode()), tasks::add);
+        assertEquals(3, tasks.size());
+        assertEquals("Task 2", tasks.get(2).getDescriptionTaskEntity());
+    }
+
+    @Test
+    void rejectsANegativeDescriptionLength() throws IOException {
+        assertCorrupt(withFirstLength(-5));
+    }
+
+    @Test
+    void rejectsADescriptionLengthPastTheEndOfTheFile() throws IOException {
+        assertCorrupt(withFirstLength(Integer.MAX_VALUE));
+        assertCorrupt(withFirstLength(4096));
+    }
+
+    @Test
+    void restoresNothingFromAnArchiveWithACorruptRecord() throws IOException {
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory);
+        repository.createTasks(TestTaskStores.newTasks(2, "Kept"));
+        Path archive = directory.resolve("corrupt.bin");
+        Files.write(archive, withFirstLength(-1));
+
+        assertEquals(-1, repository.restoreArchive(archive));
+        assertEquals(2, repository.getAllTasks().size());
+        repository.close();
+    }
+
+    private void assertCorrupt(byte[] file) throws IOException {
+        IOException streamed = assertThrows(IOException.class,
+                () -> format.read(new ByteArrayInputStream(file), task -> { }));
+        assertTrue(streamed.getMessage().startsWith("Corrupt binary task file"), streamed.getMessage());
+
+        Path path = directory.resolve("tasks.bin");
+        Files.write(path, file);
+        IOException split = assertThrows(IOException.class,
+                () -> format.read(path, ForkJoinPool.commonPool(), task -> { }));
+        assertTrue(split.getMessage().startsWith("Corrupt binary task file"), split.getMessage());
+    }
+
+    private byte[] withFirstLength(int length) throws IOException {
+        byte[] file = encode();
+        ByteBuffer.wrap(file).putInt(FIRST_LENGTH_OFFSET, length);
+        return file;
+    }
+
+    private byte[] encode() throws IOException {
+        List<TaskEntity> tasks = TestTaskStores.newTasks(3, "Task");
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setIdTaskEntity(i + 1L);
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        format.write(output, tasks);
+        return output.toByteArray();
+    }
+}
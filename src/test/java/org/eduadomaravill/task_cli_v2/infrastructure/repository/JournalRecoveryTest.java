@@ -0,0 +1,138 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskFilter;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reopens a journaled store after the states a crash can leave behind.
+ */
+class JournalRecoveryTest {
+
+    private static final String JOURNAL = "journal.enabled=true";
+    private static final String NO_COMPACTION = "journal.compact-threshold-bytes=1000000000";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysSealedJournalWhenCrashedBeforeSnapshot() throws IOException {
+        createTasks(3);
+        Path data = TestTaskStores.dataDirectory(directory);
+        Files.move(data.resolve("tasks_cli.journal"), data.resolve("tasks_cli.journal.sealed"));
+
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, JOURNAL, NO_COMPACTION);
+        assertEquals(3, repository.getAllTasks().size());
+        repository.close();
+
+        assertFalse(Files.exists(data.resolve("tasks_cli.journal.sealed")));
+        assertEquals(3, reopen().size());
+    }
+
+    @Test
+    void keepsStateWhenCrashedAfterSnapshotBeforeSealedJournalWasDeleted() throws IOException {
+        createTasks(3);
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, JOURNAL, NO_COMPACTION);
+        repository.updateTaskByDescription(1L, "renamed");
+        List<TaskEntity> state = repository.getAllTasks();
+        repository.close();
+        Path data = TestTaskStores.dataDirectory(directory);
+        try (OutputStream output = Files.newOutputStream(data.resolve(JsonTaskFileFormat.FILE_NAME))) {
+            new JsonTaskFileFormat(TestTaskStores.objectMapper()).write(output, state);
+        }
+        Files.move(data.resolve("tasks_cli.journal"), data.resolve("tasks_cli.journal.sealed"), StandardCopyOption.ATOMIC_MOVE);
+
+        List<TaskEntity> reopened = reopen();
+
+        assertEquals(3, reopened.size());
+        assertEquals("renamed", reopened.get(0).getDescriptionTaskEntity());
+        assertEquals(2, reopened.get(0).getVersion());
+    }
+
+    @Test
+    void dropsTornLastEntryAndKeepsAppending() throws IOException {
+        createTasks(2);
+        Path journalFile = TestTaskStores.dataDirectory(directory).resolve("tasks_cli.journal");
+        Files.write(journalFile, "{\"op\":\"PUT\",\"id\":3,\"ta".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, JOURNAL, NO_COMPACTION);
+        assertEquals(2, repository.getAllTasks().size());
+        assertTrue(repository.createTask(TestTaskStores.newTasks(1, "After crash").get(0)).isPresent());
+        repository.close();
+
+        List<TaskEntity> reopened = reopen();
+        assertEquals(3, reopened.size());
+        assertEquals("After crash 0", reopened.get(2).getDescriptionTaskEntity());
+    }
+
+    @Test
+    void dropsEveryChangeOfATornBulkOperation() throws IOException {
+        createTasks(10);
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, JOURNAL, NO_COMPACTION);
+        assertEquals(10, repository.updateTasksByStatus(TaskFilter.builder().fromId(1L).toId(10L).build(), StatusTask.DONE));
+        repository.close();
+        Path journalFile = TestTaskStores.dataDirectory(directory).resolve("tasks_cli.journal");
+        byte[] written = Files.readAllBytes(journalFile);
+        Files.write(journalFile, Arrays.copyOf(written, written.length - written.length / 4));
+
+        List<TaskEntity> reopened = reopen();
+        assertEquals(10, reopened.size());
+        assertTrue(reopened.stream().allMatch(task -> task.getStatusCode() == StatusTask.NOT_STARTED.getStatus()));
+    }
+
+    @Test
+    void refusesWritesWhenAnEntryInTheMiddleIsCorrupt() throws IOException {
+        PersistenceTaskRepository writer = TestTaskStores.fileRepository(directory, JOURNAL, NO_COMPACTION);
+        TestTaskStores.newTasks(3, "Task").forEach(task -> assertTrue(writer.createTask(task).isPresent()));
+        writer.close();
+        Path journalFile = TestTaskStores.dataDirectory(directory).resolve("tasks_cli.journal");
+        List<String> lines = Files.readAllLines(journalFile);
+        lines.set(1, "}" + lines.get(1));
+        Files.write(journalFile, lines);
+        byte[] damaged = Files.readAllBytes(journalFile);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, output, JOURNAL, NO_COMPACTION);
+        assertEquals(1, repository.getAllTasks().size());
+        assertFalse(repository.createTask(TestTaskStores.newTasks(1, "Lost").get(0)).isPresent());
+        repository.close();
+
+        String printed = output.toString(StandardCharsets.UTF_8);
+        assertTrue(printed.contains("Corrupt journal entry at line 2"), printed);
+        assertTrue(printed.contains("Refusing to write"), printed);
+        assertArrayEquals(damaged, Files.readAllBytes(journalFile));
+    }
+
+    private void createTasks(int count) {
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, JOURNAL, NO_COMPACTION);
+        assertEquals(count, repository.createTasks(TestTaskStores.newTasks(count, "Task")).size());
+        repository.close();
+    }
+
+    private List<TaskEntity> reopen() {
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, JOURNAL, NO_COMPACTION);
+        try {
+            return repository.getAllTasks();
+        } finally {
+            repository.close();
+        }
+    }
+}
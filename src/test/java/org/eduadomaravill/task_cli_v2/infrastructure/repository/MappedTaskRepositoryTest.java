@@ -0,0 +1,76 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.domain.exception.InvalidCommandException;
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.domain.model.TaskFilter;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedTaskRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void refusesToOpenAStoreThatIsAlreadyOpen() throws IOException {
+        MappedTaskRepository repository = TestTaskStores.mappedRepository(directory);
+        repository.createTask(TestTaskStores.newTasks(1, "Task").get(0));
+
+        IOException error = assertThrows(IOException.class, () -> TestTaskStores.mappedRepository(directory));
+        assertTrue(error.getMessage().contains("in use"), error.getMessage());
+        assertEquals("Task 0", repository.getTaskById(1).orElseThrow().getDescriptionTaskEntity());
+
+        repository.close();
+        MappedTaskRepository reopened = TestTaskStores.mappedRepository(directory);
+        assertTrue(reopened.getTaskById(1).isPresent());
+        reopened.close();
+    }
+
+    @Test
+    void rejectsConditionalUpdates() throws IOException {
+        MappedTaskRepository repository = TestTaskStores.mappedRepository(directory);
+        MappedTaskRepositoryPortAdapter adapter = new MappedTaskRepositoryPortAdapter(repository, new TaskMetrics(true));
+        adapter.createTask("Task");
+
+        assertThrows(InvalidCommandException.class, () -> adapter.updateTaskByStatus(1L, StatusTask.DONE, 0));
+        assertThrows(InvalidCommandException.class, () -> adapter.updateTaskByDescription(1L, "Changed", 0));
+        assertEquals(StatusTask.NOT_STARTED, adapter.getTaskById(1L).orElseThrow().getStatusTask());
+        repository.close();
+    }
+
+    @Test
+    void selectsTasksFromTheSlotsInTheFilterRange() throws IOException {
+        MappedTaskRepository repository = TestTaskStores.mappedRepository(directory);
+        MappedTaskRepositoryPortAdapter adapter = new MappedTaskRepositoryPortAdapter(repository, new TaskMetrics(true));
+        for (int i = 1; i <= 10; i++) {
+            adapter.createTask("Task " + i);
+        }
+        adapter.deleteTask(5L);
+
+        List<Long> ids = new ArrayList<>();
+        repository.forEachTaskId(3, 100, (statusCode, updatedAtMillis) -> true, ids::add);
+        assertEquals(List.of(3L, 4L, 6L, 7L, 8L, 9L, 10L), ids);
+
+        TaskFilter range = TaskFilter.builder().fromId(2L).toId(6L).build();
+        assertEquals(4, adapter.updateTasksByStatus(range, StatusTask.DONE));
+        assertEquals(0, adapter.updateTasksByStatus(range, StatusTask.DONE));
+
+        TaskFilter doneBeforeNow = TaskFilter.builder().status(StatusTask.DONE).updatedBefore(LocalDateTime.now().plusMinutes(1)).build();
+        assertEquals(4, adapter.deleteTasks(doneBeforeNow));
+        TaskFilter notStartedBeforeYesterday = TaskFilter.builder().status(StatusTask.NOT_STARTED).updatedBefore(LocalDateTime.now().minusDays(1)).build();
+        assertEquals(0, adapter.deleteTasks(notStartedBeforeYesterday));
+        assertEquals(5, adapter.getAllTasks().size());
+        repository.close();
+    }
+}
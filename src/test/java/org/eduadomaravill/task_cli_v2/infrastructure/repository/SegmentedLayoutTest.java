@@ -0,0 +1,208 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Migrates stores between the single file and segmented layouts, including after a crash, reads
+ * segments replaced by another store instance and looks up single tasks before the store is loaded.
+ */
+class SegmentedLayoutTest {
+
+    private static final String SINGLE = "layout=single";
+    private static final String SEGMENTED = "layout=segmented";
+    private static final String SEGMENT_SIZE = "segment-size=10";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void migratesFromSingleFileToSegmentsAndBack() throws IOException {
+        List<String> written = createTasks(SINGLE);
+
+        assertEquals(written, describe(readAll(SEGMENTED, SEGMENT_SIZE)));
+        assertEquals(1, backups(JsonTaskFileFormat.FILE_NAME));
+        assertEquals(3, segmentFiles().size());
+
+        assertEquals(written, describe(readAll(SINGLE)));
+        assertEquals(1, backups(SegmentedSnapshotStore.DIRECTORY_NAME));
+        assertFalse(Files.exists(data().resolve(SegmentedSnapshotStore.DIRECTORY_NAME)));
+        assertEquals(written, describe(readAll(SINGLE)));
+    }
+
+    @Test
+    void migratesFromSegmentsToSingleFile() throws IOException {
+        List<String> written = createTasks(SEGMENTED, SEGMENT_SIZE);
+
+        assertEquals(written, describe(readAll(SINGLE)));
+        assertEquals(1, backups(SegmentedSnapshotStore.DIRECTORY_NAME));
+        assertEquals(written, describe(readAll(SEGMENTED, SEGMENT_SIZE)));
+        assertEquals(1, backups(JsonTaskFileFormat.FILE_NAME));
+    }
+
+    @Test
+    void readsOnlyTheSegmentsAnotherStoreReplaced() throws IOException {
+        createTasks(SEGMENTED, SEGMENT_SIZE);
+        PersistenceTaskRepository writer = TestTaskStores.fileRepository(directory, SEGMENTED, SEGMENT_SIZE);
+        PersistenceTaskRepository reader = TestTaskStores.fileRepository(directory, SEGMENTED, SEGMENT_SIZE);
+        assertEquals(25, reader.getAllTasks().size());
+
+        writer.updateTaskByStatus(3L, StatusTask.DONE);
+        writer.deleteTask(24L);
+        assertEquals(StatusTask.DONE.getStatus(), reader.getTaskById(3).orElseThrow().getStatusCode());
+        assertFalse(reader.getTaskById(24).isPresent());
+        assertEquals(24, reader.getAllTasks().size());
+        assertEquals(describe(writer.getAllTasks()), describe(reader.getAllTasks()));
+        writer.close();
+
+        PersistenceTaskRepository resized = TestTaskStores.fileRepository(directory, SEGMENTED, "segment-size=4");
+        Path archive = directory.resolve("archive.jsonl");
+        assertEquals(24, resized.exportArchive(archive));
+        assertEquals(24, resized.restoreArchive(archive));
+        resized.close();
+        assertEquals(7, segmentFiles().size());
+        assertEquals(24, reader.getAllTasks().size());
+        assertEquals(StatusTask.DONE.getStatus(), reader.getTaskById(3).orElseThrow().getStatusCode());
+        reader.close();
+    }
+
+    @Test
+    void looksUpATaskBeforeLoadingFromItsSegmentOnly() throws IOException {
+        createTasks(SEGMENTED, SEGMENT_SIZE);
+        Files.writeString(segmentFiles().get(0), "[{\"idTaskEntity\":1,");
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, output, SEGMENTED, SEGMENT_SIZE);
+        assertEquals("Renamed", repository.getTaskById(17).orElseThrow().getDescriptionTaskEntity());
+        assertEquals("Task 24", repository.getTaskById(25).orElseThrow().getDescriptionTaskEntity());
+        assertFalse(repository.getTaskById(26).isPresent());
+        assertFalse(output.toString(StandardCharsets.UTF_8).contains("Error reading"));
+
+        repository.getAllTasks();
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("Error reading"));
+        repository.close();
+    }
+
+    @Test
+    void looksUpATaskBeforeLoadingThroughTheJournal() {
+        createTasks(SEGMENTED, SEGMENT_SIZE);
+        PersistenceTaskRepository writer = TestTaskStores.fileRepository(directory, SEGMENTED, SEGMENT_SIZE, "journal.enabled=true");
+        writer.updateTaskByDescription(17L, "Journaled").orElseThrow();
+
+        PersistenceTaskRepository reader = TestTaskStores.fileRepository(directory, SEGMENTED, SEGMENT_SIZE, "journal.enabled=true");
+        assertEquals("Journaled", reader.getTaskById(17).orElseThrow().getDescriptionTaskEntity());
+        writer.close();
+        reader.close();
+    }
+
+    @Test
+    void refusesWritesWhenASegmentIsMissing() throws IOException {
+        createTasks(SEGMENTED, SEGMENT_SIZE);
+        Files.delete(segmentFiles().get(1));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, output, SEGMENTED, SEGMENT_SIZE);
+        repository.getAllTasks();
+        assertFalse(repository.createTask(TestTaskStores.newTasks(1, "Lost").get(0)).isPresent());
+        repository.close();
+
+        String printed = output.toString(StandardCharsets.UTF_8);
+        assertTrue(printed.contains("Error reading"), printed);
+        assertTrue(printed.contains("Refusing to write"), printed);
+    }
+
+    @Test
+    void redoesAMigrationInterruptedBeforeTheManifestWasWritten() throws IOException {
+        List<String> written = createTasks(SINGLE);
+        Path segments = Files.createDirectories(data().resolve(SegmentedSnapshotStore.DIRECTORY_NAME));
+        Files.writeString(segments.resolve("segment-0-1.json"), "[{\"idTaskEntity\":1,");
+        Files.writeString(segments.resolve("segment-7-1.json"), "[]");
+
+        assertEquals(written, describe(readAll(SEGMENTED, SEGMENT_SIZE)));
+        assertEquals(3, segmentFiles().size());
+        assertFalse(Files.exists(segments.resolve("segment-7-1.json")));
+        assertEquals(written, describe(readAll(SEGMENTED, SEGMENT_SIZE)));
+    }
+
+    @Test
+    void keepsTheMigratedSegmentsWhenInterruptedBeforeTheOldFileWasRetired() throws IOException {
+        List<String> written = createTasks(SINGLE);
+        assertEquals(written, describe(readAll(SEGMENTED, SEGMENT_SIZE)));
+        Path backup;
+        try (Stream<Path> files = Files.list(data())) {
+            backup = files.filter(file -> file.getFileName().toString().startsWith(JsonTaskFileFormat.FILE_NAME + ".migrated-"))
+                    .findFirst().orElseThrow();
+        }
+        Files.move(backup, data().resolve(JsonTaskFileFormat.FILE_NAME));
+
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, SEGMENTED, SEGMENT_SIZE);
+        assertEquals(written, describe(repository.getAllTasks()));
+        assertTrue(repository.createTask(TestTaskStores.newTasks(1, "After crash").get(0)).isPresent());
+        repository.close();
+        assertEquals(26, readAll(SEGMENTED, SEGMENT_SIZE).size());
+        assertEquals(0, backups(JsonTaskFileFormat.FILE_NAME));
+    }
+
+    /**
+     * Creates 25 tasks, changing some so they differ from new tasks.
+     *
+     * @return The tasks as written, described by {@link #describe(List)}.
+     */
+    private List<String> createTasks(String... settings) {
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, settings);
+        assertEquals(25, repository.createTasks(TestTaskStores.newTasks(25, "Task")).size());
+        repository.updateTaskByStatus(5L, StatusTask.IN_PROGRESS);
+        repository.updateTaskByDescription(17L, "Renamed");
+        try {
+            return describe(repository.getAllTasks());
+        } finally {
+            repository.close();
+        }
+    }
+
+    private List<TaskEntity> readAll(String... settings) {
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, settings);
+        try {
+            return repository.getAllTasks();
+        } finally {
+            repository.close();
+        }
+    }
+
+    private static List<String> describe(List<TaskEntity> tasks) {
+        return tasks.stream()
+                .map(task -> task.getIdTaskEntity() + " " + task.getDescriptionTaskEntity() + " " + task.getStatusCode()
+                        + " " + task.getVersion() + " " + task.getCreatedAt() + " " + task.getUpdatedAt())
+                .toList();
+    }
+
+    private Path data() {
+        return TestTaskStores.dataDirectory(directory);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(data().resolve(SegmentedSnapshotStore.DIRECTORY_NAME))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-")).sorted().toList();
+        }
+    }
+
+    private long backups(String name) throws IOException {
+        try (Stream<Path> files = Files.list(data())) {
+            return files.filter(file -> file.getFileName().toString().startsWith(name + ".migrated-")).count();
+        }
+    }
+}
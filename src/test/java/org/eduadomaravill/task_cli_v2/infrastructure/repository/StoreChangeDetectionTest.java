@@ -0,0 +1,153 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.domain.exception.TaskVersionConflictException;
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a store notices the writes of another store instance or process.
+ */
+class StoreChangeDetectionTest {
+
+    private static final int WORKERS = 4;
+    private static final int ROUNDS = 100;
+    private static final Pattern ROUNDS_WINDOW = Pattern.compile("rounds-millis=(\\d+)-(\\d+)");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reloadsASameLengthRewriteWithTheSameModificationTime() throws IOException {
+        PersistenceTaskRepository writer = TestTaskStores.fileRepository(directory, "format=binary");
+        PersistenceTaskRepository reader = TestTaskStores.fileRepository(directory, "format=binary");
+        writer.createTasks(TestTaskStores.newTasks(3, "Task"));
+        assertEquals("Task 0", reader.getTaskById(1).orElseThrow().getDescriptionTaskEntity());
+
+        Path snapshot = TestTaskStores.dataDirectory(directory).resolve(BinaryTaskFileFormat.FILE_NAME);
+        FileTime modified = Files.getLastModifiedTime(snapshot);
+        long length = Files.size(snapshot);
+        writer.updateTaskByDescription(1L, "Task X");
+        Files.setLastModifiedTime(snapshot, modified);
+        assertEquals(length, Files.size(snapshot));
+
+        assertEquals("Task X", reader.getTaskById(1).orElseThrow().getDescriptionTaskEntity());
+        writer.close();
+        reader.close();
+    }
+
+    @Test
+    void keepsEveryWriteOfConcurrentProcessesWithTheSnapshot() throws Exception {
+        runWorkers("false");
+    }
+
+    @Test
+    void keepsEveryWriteOfConcurrentProcessesWithTheJournal() throws Exception {
+        runWorkers("true");
+    }
+
+    /**
+     * Starts worker processes that each create tasks and increment a shared counter task with optimistic
+     * updates, then checks that no task and no increment was lost. Each worker prints when its rounds started
+     * and ended, and the test prints the combined throughput of the workers over that window.
+     */
+    private void runWorkers(String journal) throws Exception {
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, "journal.enabled=" + journal);
+        LocalDateTime now = LocalDateTime.now();
+        repository.createTask(new TaskEntity(null, "0", StatusTask.NOT_STARTED.getStatus(), now, now, 0));
+        repository.close();
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<Process> processes = new ArrayList<>();
+        for (int worker = 0; worker < WORKERS; worker++) {
+            processes.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), Worker.class.getName(),
+                    directory.toString(), journal, Integer.toString(ROUNDS))
+                    .redirectErrorStream(true)
+                    .redirectOutput(directory.resolve("worker-" + worker + ".log").toFile())
+                    .start());
+        }
+        long firstStart = Long.MAX_VALUE;
+        long lastEnd = 0;
+        for (int worker = 0; worker < WORKERS; worker++) {
+            Process process = processes.get(worker);
+            assertTrue(process.waitFor(2, TimeUnit.MINUTES), "Worker " + worker + " timed out");
+            String log = readLog(directory.resolve("worker-" + worker + ".log"));
+            assertEquals(0, process.exitValue(), log);
+            Matcher window = ROUNDS_WINDOW.matcher(log);
+            assertTrue(window.find(), log);
+            firstStart = Math.min(firstStart, Long.parseLong(window.group(1)));
+            lastEnd = Math.max(lastEnd, Long.parseLong(window.group(2)));
+        }
+        // Each round is two writes: the created task and the counter increment.
+        long operations = 2L * WORKERS * ROUNDS;
+        long elapsedMillis = Math.max(1, lastEnd - firstStart);
+        double throughput = operations * 1000.0 / elapsedMillis;
+        System.out.printf(Locale.ROOT, "%d processes, journal=%s: %d writes in %d ms, %.0f writes/s%n",
+                WORKERS, journal, operations, elapsedMillis, throughput);
+
+        PersistenceTaskRepository reopened = TestTaskStores.fileRepository(directory, "journal.enabled=" + journal);
+        List<TaskEntity> tasks = reopened.getAllTasks();
+        assertEquals(1 + WORKERS * ROUNDS, tasks.size());
+        assertEquals(1 + WORKERS * ROUNDS, tasks.stream().map(TaskEntity::getIdTaskEntity).distinct().count());
+        assertEquals(Integer.toString(WORKERS * ROUNDS), reopened.getTaskById(1).orElseThrow().getDescriptionTaskEntity());
+        reopened.close();
+    }
+
+    private static String readLog(Path log) {
+        try {
+            return Files.readString(log);
+        } catch (IOException e) {
+            return e.toString();
+        }
+    }
+
+    /**
+     * Worker process: creates a task and increments the counter task once per round.
+     */
+    static final class Worker {
+
+        public static void main(String[] args) {
+            PersistenceTaskRepository repository = TestTaskStores.fileRepository(Path.of(args[0]), System.out, "journal.enabled=" + args[1]);
+            int rounds = Integer.parseInt(args[2]);
+            repository.getAllTasks();
+            long started = System.currentTimeMillis();
+            for (int round = 0; round < rounds; round++) {
+                LocalDateTime now = LocalDateTime.now();
+                repository.createTask(new TaskEntity(null, "Worker task", StatusTask.NOT_STARTED.getStatus(), now, now, 0))
+                        .orElseThrow();
+                increment(repository);
+            }
+            System.out.println("rounds-millis=" + started + "-" + System.currentTimeMillis());
+            repository.close();
+        }
+
+        private static void increment(PersistenceTaskRepository repository) {
+            while (true) {
+                TaskEntity counter = repository.getTaskById(1).orElseThrow();
+                String next = Long.toString(Long.parseLong(counter.getDescriptionTaskEntity()) + 1);
+                try {
+                    repository.updateTaskByDescription(1L, next, counter.getVersion()).orElseThrow();
+                    return;
+                } catch (TaskVersionConflictException e) {
+                    // Another process incremented first; read the counter again.
+                }
+            }
+        }
+    }
+}
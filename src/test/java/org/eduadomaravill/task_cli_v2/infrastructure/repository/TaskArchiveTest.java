@@ -0,0 +1,122 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports archives while the store changes and restores damaged archives.
+ */
+class TaskArchiveTest {
+
+    private static final int TASKS = 200;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void exportsAPointInTimeViewWhileTasksChange() throws Exception {
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory, "journal.enabled=true");
+        repository.createTasks(TestTaskStores.newTasks(TASKS, "Task"));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread marker = new Thread(() -> {
+            try {
+                for (long idTask = 1; idTask <= TASKS; idTask++) {
+                    repository.updateTaskByStatus(idTask, StatusTask.DONE).orElseThrow();
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        marker.start();
+        List<Path> archives = new ArrayList<>();
+        while (marker.isAlive() || archives.size() < 2) {
+            Path archive = directory.resolve("export-" + archives.size() + (archives.size() % 2 == 0 ? ".jsonl.gz" : ".bin.gz"));
+            assertEquals(TASKS, repository.exportArchive(archive));
+            archives.add(archive);
+        }
+        marker.join();
+        repository.close();
+        assertNull(failure.get());
+
+        TaskArchive reader = new TaskArchive(new JsonTaskFileFormat(TestTaskStores.objectMapper()), new BinaryTaskFileFormat());
+        for (Path archive : archives) {
+            List<TaskEntity> tasks = new ArrayList<>();
+            try (InputStream inputStream = Files.newInputStream(archive)) {
+                reader.read(inputStream, tasks::add);
+            }
+            assertEquals(TASKS, tasks.size());
+            long done = tasks.stream().filter(task -> task.getStatusCode() == StatusTask.DONE.getStatus()).count();
+            for (TaskEntity task : tasks) {
+                boolean expectedDone = task.getIdTaskEntity() <= done;
+                assertEquals(expectedDone, task.getStatusCode() == StatusTask.DONE.getStatus(),
+                        archive.getFileName() + ": task " + task.getIdTaskEntity() + " with " + done + " done");
+            }
+        }
+    }
+
+    @Test
+    void leavesTheStoreUntouchedWhenATruncatedArchiveIsRestored() throws IOException {
+        for (String name : List.of("truncated.jsonl.gz", "truncated.bin.gz")) {
+            assertRestoreFails(name, bytes -> Arrays.copyOf(bytes, bytes.length / 2));
+        }
+    }
+
+    @Test
+    void leavesTheStoreUntouchedWhenAnArchiveFailsItsChecksum() throws IOException {
+        for (String name : List.of("corrupt.jsonl.gz", "corrupt.bin.gz")) {
+            assertRestoreFails(name, bytes -> {
+                byte[] damaged = bytes.clone();
+                damaged[damaged.length - 8] ^= 0x55;
+                return damaged;
+            });
+        }
+    }
+
+    /**
+     * Exports a store, damages the archive and checks that restoring it fails and leaves the store as it was.
+     */
+    private void assertRestoreFails(String name, Damage damage) throws IOException {
+        Path store = Files.createDirectories(directory.resolve(name + "-store"));
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(store);
+        repository.createTasks(TestTaskStores.newTasks(10, "Task"));
+        Path archive = directory.resolve(name);
+        assertEquals(10, repository.exportArchive(archive));
+        repository.updateTaskByStatus(1L, StatusTask.DONE);
+        Files.write(archive, damage.apply(Files.readAllBytes(archive)));
+        Path snapshot = TestTaskStores.dataDirectory(store).resolve(JsonTaskFileFormat.FILE_NAME);
+        byte[] before = Files.readAllBytes(snapshot);
+
+        assertEquals(-1, repository.restoreArchive(archive), name);
+        assertArrayEquals(before, Files.readAllBytes(snapshot));
+        assertEquals(10, repository.getAllTasks().size());
+        assertEquals(StatusTask.DONE.getStatus(), repository.getTaskById(1).orElseThrow().getStatusCode());
+        assertTrue(repository.createTask(TestTaskStores.newTasks(1, "After restore").get(0)).isPresent());
+        repository.close();
+
+        PersistenceTaskRepository reopened = TestTaskStores.fileRepository(store);
+        assertEquals(11, reopened.getAllTasks().size());
+        assertEquals(StatusTask.DONE.getStatus(), reopened.getTaskById(1).orElseThrow().getStatusCode());
+        reopened.close();
+    }
+
+    @FunctionalInterface
+    private interface Damage {
+        byte[] apply(byte[] archive);
+    }
+}
@@ -0,0 +1,74 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskIdSetTest {
+
+    private static final long LARGE_ID = 3_000_000_000L;
+
+    @Test
+    void keepsIdsOutsideTheIntRangeInOrder() {
+        TaskIdSet ids = new TaskIdSet();
+        for (long id : new long[]{LARGE_ID, 7, Long.MAX_VALUE, -4, Integer.MAX_VALUE, 1, Integer.MAX_VALUE - 1L}) {
+            ids.add(id);
+        }
+
+        assertEquals(List.of(-4L, 1L, 7L, Integer.MAX_VALUE - 1L, (long) Integer.MAX_VALUE, LARGE_ID, Long.MAX_VALUE), collect(ids, Long.MIN_VALUE));
+        assertEquals(7, ids.cardinality());
+        assertTrue(ids.contains(LARGE_ID));
+        assertFalse(ids.contains(LARGE_ID + 1));
+    }
+
+    @Test
+    void visitsOnlyIdsAfterTheGivenOne() {
+        TaskIdSet ids = new TaskIdSet();
+        for (long id : new long[]{-4, 1, 7, LARGE_ID}) {
+            ids.add(id);
+        }
+
+        assertEquals(List.of(1L, 7L, LARGE_ID), collect(ids, -4));
+        assertEquals(List.of(7L, LARGE_ID), collect(ids, 1));
+        assertEquals(List.of(LARGE_ID), collect(ids, Integer.MAX_VALUE));
+        assertEquals(List.of(), collect(ids, LARGE_ID));
+    }
+
+    @Test
+    void stopsWhenTheVisitorSaysSo() {
+        TaskIdSet ids = new TaskIdSet();
+        ids.add(1);
+        ids.add(2);
+        ids.add(LARGE_ID);
+        List<Long> visited = new ArrayList<>();
+
+        assertFalse(ids.forEach(0, id -> {
+            visited.add(id);
+            return visited.size() < 2;
+        }));
+        assertEquals(List.of(1L, 2L), visited);
+    }
+
+    @Test
+    void removesDenseAndSparseIds() {
+        TaskIdSet ids = new TaskIdSet();
+        ids.add(5);
+        ids.add(LARGE_ID);
+        ids.remove(5);
+        ids.remove(LARGE_ID);
+
+        assertTrue(ids.isEmpty());
+        assertEquals(0, ids.cardinality());
+    }
+
+    private static List<Long> collect(TaskIdSet ids, long afterId) {
+        List<Long> visited = new ArrayList<>();
+        ids.forEach(afterId, visited::add);
+        return visited;
+    }
+}
@@ -0,0 +1,36 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskIndexTest {
+
+    @Test
+    void indexesIdsBeyondTheIntRange() {
+        TaskIndex index = new TaskIndex();
+        TaskEntity large = task(3_000_000_000L, StatusTask.DONE);
+        index.add(task(2, StatusTask.DONE));
+        index.add(large);
+        index.add(task(3, StatusTask.NOT_STARTED));
+
+        List<Long> done = new ArrayList<>();
+        index.forEachIdWithStatus(StatusTask.DONE, done::add);
+        assertEquals(List.of(2L, 3_000_000_000L), done);
+        assertEquals(2, index.countWithStatus(StatusTask.DONE));
+
+        index.remove(large);
+        assertEquals(1, index.countWithStatus(StatusTask.DONE));
+    }
+
+    private static TaskEntity task(long idTask, StatusTask status) {
+        LocalDateTime now = LocalDateTime.now();
+        return new TaskEntity(idTask, "Task " + idTask, status.getStatus(), now, now, 1);
+    }
+}
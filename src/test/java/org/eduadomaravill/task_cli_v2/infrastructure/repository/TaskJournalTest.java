@@ -0,0 +1,130 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskJournalEntry;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private TaskJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        journal = new TaskJournal(directory, "tasks_cli.journal", TestTaskStores.objectMapper(),
+                new AtomicFileWriter(DurabilityLevel.FLUSH, new TaskMetrics(false)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        journal.close();
+    }
+
+    @Test
+    void replaysSealedJournalBeforeActiveJournal() throws IOException {
+        journal.append(List.of(put(1, "first"), put(2, "second")));
+        assertTrue(journal.seal());
+        journal.append(List.of(put(1, "renamed"), TaskJournalEntry.delete(2L)));
+
+        List<TaskJournalEntry> replayed = replay();
+
+        assertEquals(4, replayed.size());
+        assertEquals("first", replayed.get(0).getTask().getDescriptionTaskEntity());
+        assertEquals("renamed", replayed.get(2).getTask().getDescriptionTaskEntity());
+        assertTrue(replayed.get(3).isDelete());
+    }
+
+    @Test
+    void truncatesTornLastLine() throws IOException {
+        journal.append(List.of(put(1, "first"), put(2, "second")));
+        journal.close();
+        long committed = Files.size(journal.getJournalPath());
+        Files.write(journal.getJournalPath(), "{\"op\":\"PUT\",\"id\":3,\"task\":{\"idTask".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        assertEquals(2, replay().size());
+        assertEquals(committed, Files.size(journal.getJournalPath()));
+
+        journal.append(put(3, "third"));
+        List<TaskJournalEntry> replayed = replay();
+        assertEquals(3, replayed.size());
+        assertEquals("third", replayed.get(2).getTask().getDescriptionTaskEntity());
+    }
+
+    @Test
+    void dropsEveryEntryOfATornBatch() throws IOException {
+        journal.append(put(1, "first"));
+        journal.append(List.of(put(2, "second"), put(3, "third"), TaskJournalEntry.delete(1L)));
+        journal.close();
+        byte[] written = Files.readAllBytes(journal.getJournalPath());
+        assertEquals(2, Files.readAllLines(journal.getJournalPath()).size());
+
+        Files.write(journal.getJournalPath(), Arrays.copyOf(written, written.length - 20));
+        List<TaskJournalEntry> replayed = replay();
+        assertEquals(1, replayed.size());
+        assertEquals("first", replayed.get(0).getTask().getDescriptionTaskEntity());
+
+        Files.write(journal.getJournalPath(), written);
+        assertEquals(4, replay().size());
+    }
+
+    @Test
+    void reportsCorruptLineInTheMiddleWithoutTruncating() throws IOException {
+        journal.append(put(1, "first"));
+        journal.append(put(2, "second"));
+        journal.append(put(3, "third"));
+        journal.close();
+        List<String> lines = Files.readAllLines(journal.getJournalPath());
+        lines.set(1, "{\"op\":\"PUT\",\"id\":2,\"task\":garbage}");
+        Files.write(journal.getJournalPath(), lines);
+        byte[] damaged = Files.readAllBytes(journal.getJournalPath());
+
+        IOException error = assertThrows(IOException.class, this::replay);
+
+        assertTrue(error.getMessage().contains("line 2"), error.getMessage());
+        assertArrayEquals(damaged, Files.readAllBytes(journal.getJournalPath()));
+    }
+
+    @Test
+    void reportsCorruptLastCompleteLine() throws IOException {
+        journal.append(put(1, "first"));
+        journal.close();
+        Files.write(journal.getJournalPath(), "not json\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        long size = Files.size(journal.getJournalPath());
+
+        assertThrows(IOException.class, this::replay);
+        assertEquals(size, Files.size(journal.getJournalPath()));
+    }
+
+    private List<TaskJournalEntry> replay() throws IOException {
+        List<TaskJournalEntry> replayed = new ArrayList<>();
+        journal.replay(replayed::add);
+        return replayed;
+    }
+
+    private static TaskJournalEntry put(long idTask, String description) {
+        LocalDateTime now = LocalDateTime.now();
+        return TaskJournalEntry.put(new TaskEntity(idTask, description, 1, now, now, 1));
+    }
+}
@@ -0,0 +1,95 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskSearchIndexTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void ranksByMatchedTermsThenWeight() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.add(task(1, "Buy milk"));
+        index.add(task(2, "Buy milk and bread"));
+        index.add(task(3, "Bake bread"));
+        index.add(task(3_000_000_000L, "Canción de cuna"));
+
+        assertEquals(List.of(2L, 3L, 1L), index.search("bread buy", 10));
+        assertEquals(List.of(3_000_000_000L), index.search("cancion", 10));
+        assertEquals(List.of(2L), index.search("bread buy", 1));
+    }
+
+    @Test
+    void keepsPostingsCorrectWhileTheyGrowAndShrink() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        List<Long> order = new ArrayList<>(LongStream.rangeClosed(1, 3000).boxed().toList());
+        Collections.shuffle(order, new Random(7));
+        for (long idTask : order) {
+            index.add(task(idTask, "common " + (idTask % 3 == 0 ? "third" : "other") + " t" + idTask));
+        }
+        assertEquals(3000, index.search("common", 5000).size());
+        assertEquals(1000, index.search("third", 5000).size());
+        assertEquals(List.of(1234L), index.search("t1234", 10));
+
+        for (long idTask : order.subList(0, 2900)) {
+            index.remove(task(idTask, "common " + (idTask % 3 == 0 ? "third" : "other") + " t" + idTask));
+        }
+        List<Long> left = order.subList(2900, 3000).stream().sorted(Comparator.reverseOrder()).toList();
+        assertEquals(left, index.search("common", 5000));
+        assertEquals(left.stream().filter(idTask -> idTask % 3 == 0).toList(), index.search("third", 5000));
+        assertEquals(List.of(), index.search("t" + order.get(0), 10));
+    }
+
+    @Test
+    void followsChangesAfterTheFirstSearch() {
+        PersistenceTaskRepository repository = TestTaskStores.fileRepository(directory);
+        repository.createTasks(TestTaskStores.newTasks(3, "Report"));
+        assertEquals(3, repository.searchTasks("report", 10).size());
+
+        repository.updateTaskByDescription(2L, "Invoice");
+        repository.deleteTask(3L);
+        repository.createTask(TestTaskStores.newTasks(1, "Invoice").get(0));
+
+        assertEquals(List.of(1L), ids(repository.searchTasks("report", 10)));
+        assertEquals(2, repository.searchTasks("invoice", 10).size());
+        repository.close();
+    }
+
+    @Test
+    void seesChangesFromAnotherRepository() {
+        PersistenceTaskRepository first = TestTaskStores.fileRepository(directory);
+        first.createTasks(TestTaskStores.newTasks(2, "Report"));
+        assertEquals(2, first.searchTasks("report", 10).size());
+
+        PersistenceTaskRepository second = TestTaskStores.fileRepository(directory);
+        second.updateTaskByDescription(1L, "Invoice");
+        second.close();
+
+        assertEquals(List.of(2L), ids(first.searchTasks("report", 10)));
+        assertEquals(List.of(1L), ids(first.searchTasks("invoice", 10)));
+        first.close();
+    }
+
+    private static List<Long> ids(List<TaskEntity> tasks) {
+        return tasks.stream().map(TaskEntity::getIdTaskEntity).toList();
+    }
+
+    private static TaskEntity task(long idTask, String description) {
+        LocalDateTime now = LocalDateTime.now();
+        return new TaskEntity(idTask, description, 1, now, now, 1);
+    }
+}
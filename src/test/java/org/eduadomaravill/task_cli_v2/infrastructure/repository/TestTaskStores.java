@@ -0,0 +1,161 @@
+package org.eduadomaravill.task_cli_v2.infrastructure.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eduadomaravill.task_cli_v2.domain.model.StatusTask;
+import org.eduadomaravill.task_cli_v2.infrastructure.config.AppConfig;
+import org.eduadomaravill.task_cli_v2.infrastructure.entity.TaskEntity;
+import org.eduadomaravill.task_cli_v2.infrastructure.metrics.TaskMetrics;
+import org.jline.terminal.Terminal;
+import org.jline.terminal.impl.DumbTerminal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Builds task stores in a directory for the repository tests and benchmarks. Settings use the names of
+ * {@code application.properties} without the {@code task-cli.save.task.} prefix, such as {@code "format=binary"}.
+ */
+final class TestTaskStores {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("journal.enabled", "false"),
+            Map.entry("journal.compact-threshold-bytes", "4194304"),
+            Map.entry("durability", "flush"),
+            Map.entry("format", "json"),
+            Map.entry("id-block-size", "32"),
+            Map.entry("async.enabled", "false"),
+            Map.entry("async.flush-interval-ms", "200"),
+            Map.entry("async.max-batch", "1000"),
+            Map.entry("load.threads", "0"),
+            Map.entry("load.parallel-threshold-bytes", "67108864"),
+            Map.entry("layout", "single"),
+            Map.entry("segment-size", "10000"));
+
+    private TestTaskStores() {
+    }
+
+    /**
+     * @return An object mapper configured like the application's.
+     */
+    static ObjectMapper objectMapper() {
+        return new AppConfig().createMapper();
+    }
+
+    /**
+     * @param output Receives what the repository prints.
+     * @return A terminal without input.
+     */
+    static Terminal terminal(OutputStream output) {
+        try {
+            return new DumbTerminal(InputStream.nullInputStream(), output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Opens the file engine on a store directory.
+     *
+     * @param directory The value of {@code task-cli.save.task.path}.
+     * @param settings  Settings that differ from the defaults, as {@code name=value}.
+     * @return The repository; close it when done.
+     */
+    static PersistenceTaskRepository fileRepository(Path directory, String... settings) {
+        return fileRepository(directory, OutputStream.nullOutputStream(), settings);
+    }
+
+    /**
+     * Opens the file engine on a store directory, printing its messages to the given stream.
+     *
+     * @param directory The value of {@code task-cli.save.task.path}.
+     * @param output    Receives what the repository prints.
+     * @param settings  Settings that differ from the defaults, as {@code name=value}.
+     * @return The repository; close it when done.
+     */
+    static PersistenceTaskRepository fileRepository(Path directory, OutputStream output, String... settings) {
+        Map<String, String> values = new HashMap<>(DEFAULTS);
+        for (String setting : settings) {
+            int separator = setting.indexOf('=');
+            if (separator < 0 || !values.containsKey(setting.substring(0, separator))) {
+                throw new IllegalArgumentException("Unknown setting: " + setting);
+            }
+            values.put(setting.substring(0, separator), setting.substring(separator + 1));
+        }
+        return new PersistenceTaskRepository(objectMapper(), directory.toString(), terminal(output), new TaskMetrics(true),
+                Boolean.parseBoolean(values.get("journal.enabled")),
+                Long.parseLong(values.get("journal.compact-threshold-bytes")),
+                values.get("durability"),
+                values.get("format"),
+                Integer.parseInt(values.get("id-block-size")),
+                Boolean.parseBoolean(values.get("async.enabled")),
+                Long.parseLong(values.get("async.flush-interval-ms")),
+                Integer.parseInt(values.get("async.max-batch")),
+                Integer.parseInt(values.get("load.threads")),
+                Long.parseLong(values.get("load.parallel-threshold-bytes")),
+                values.get("layout"),
+                Long.parseLong(values.get("segment-size")));
+    }
+
+    /**
+     * Opens the mapped engine on a store directory.
+     *
+     * @param directory The value of {@code task-cli.save.task.path}.
+     * @return The repository; close it when done.
+     * @throws IOException If the store could not be opened.
+     */
+    static MappedTaskRepository mappedRepository(Path directory) throws IOException {
+        return new MappedTaskRepository(directory.toString(), terminal(OutputStream.nullOutputStream()), "flush");
+    }
+
+    /**
+     * @param directory The value of {@code task-cli.save.task.path}.
+     * @return The directory holding the store files.
+     */
+    static Path dataDirectory(Path directory) {
+        return Path.of(StorePaths.dataDirectory(directory.toString()));
+    }
+
+    /**
+     * Builds tasks to be created, without IDs.
+     *
+     * @param count  The number of tasks.
+     * @param prefix Start of each description, followed by the task's position.
+     * @return The tasks, all in the {@code todo} status.
+     */
+    static List<TaskEntity> newTasks(int count, String prefix) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskEntity> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(new TaskEntity(null, prefix + " " + i, StatusTask.NOT_STARTED.getStatus(), now, now, 0));
+        }
+        return tasks;
+    }
+
+    /**
+     * Deletes a directory and everything below it, for callers without {@code @TempDir}.
+     *
+     * @param directory The directory to delete.
+     * @throws IOException If a file cannot be deleted.
+     */
+    static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}